@@ -65,6 +65,7 @@ final class BaseListeners {
     @Handler
     public void joining(final ChannelJoinEvent e) {
         if (!e.getActor().getNick().equals(e.getClient().getNick()) || e.getClient().getMessageDelay() == 1) return;
+        // Lines are paced by the OutboundQueue instead
         e.getClient().setMessageDelay(1);
         this.humanity.getLogger().info("Set message delay to 1ms.");
     }
@@ -1,6 +1,7 @@
 package org.royaldev.thehumanity;
 
 import org.kitteh.irc.client.library.element.User;
+import org.kitteh.irc.client.library.event.channel.ChannelJoinEvent;
 import org.kitteh.irc.client.library.event.channel.ChannelKickEvent;
 import org.kitteh.irc.client.library.event.channel.ChannelMessageEvent;
 import org.kitteh.irc.client.library.event.channel.ChannelPartEvent;
@@ -19,46 +20,65 @@ public class GameListeners {
         this.humanity = instance;
     }
 
+    @Handler
+    public void onJoin(final ChannelJoinEvent event) {
+        final Game g = this.humanity.getGameFor(event.getChannel());
+        if (g == null) return;
+        final String nick = event.getActor().getNick();
+        g.execute(() -> g.addAntiPingNick(nick));
+    }
+
     @Handler
     public void onKick(final ChannelKickEvent event) {
         final User u = event.getActor();
+        final Game channelGame = this.humanity.getGameFor(event.getChannel());
+        if (channelGame != null) channelGame.execute(() -> channelGame.removeAntiPingNick(u.getNick()));
         final Game g = this.humanity.getGameFor(u);
         if (g == null || !g.getChannel().getName().equalsIgnoreCase(event.getChannel().getName())) return;
-        final Player p = g.getPlayer(event.getActor());
-        if (p == null) return;
-        g.removePlayer(p);
+        g.execute(() -> {
+            final Player p = g.getPlayer(u);
+            if (p == null) return;
+            g.removePlayer(p);
+        });
     }
 
     @Handler
     public void onNick(final UserNickChangeEvent event) {
+        this.humanity.getGameRegistry().renamePlayer(event.getActor().getNick(), event.getNewUser().getNick());
         this.humanity.getGames().values().stream().forEach(
-            game -> {
+            game -> game.execute(() -> {
+                if (game.removeAntiPingNick(event.getActor().getNick())) game.addAntiPingNick(event.getNewUser().getNick());
                 game.updateChannel();
-                game.getHistoricPlayers().stream()
-                    .filter(p -> p.getUser().getNick().equals(event.getActor().getNick()))
-                    .forEach(p -> p.setUser(event.getNewUser()));
-            }
+                game.renamePlayer(event.getActor().getNick(), event.getNewUser());
+            })
         );
     }
 
     @Handler
     public void onPart(final ChannelPartEvent event) {
         final User u = event.getActor();
+        final Game channelGame = this.humanity.getGameFor(event.getChannel());
+        if (channelGame != null) channelGame.execute(() -> channelGame.removeAntiPingNick(u.getNick()));
         final Game g = this.humanity.getGameFor(u);
         if (g == null || !g.getChannel().getName().equalsIgnoreCase(event.getChannel().getName())) return;
-        final Player p = g.getPlayer(event.getActor());
-        if (p == null) return;
-        g.removePlayer(p);
+        g.execute(() -> {
+            final Player p = g.getPlayer(u);
+            if (p == null) return;
+            g.removePlayer(p);
+        });
     }
 
     @Handler
     public void onQuit(final UserQuitEvent event) {
         final User u = event.getActor();
+        this.humanity.getGames().values().forEach(game -> game.execute(() -> game.removeAntiPingNick(u.getNick())));
         final Game g = this.humanity.getGameFor(u);
         if (g == null) return;
-        final Player p = g.getPlayer(u);
-        if (p == null) return;
-        g.removePlayer(p);
+        g.execute(() -> {
+            final Player p = g.getPlayer(u);
+            if (p == null) return;
+            g.removePlayer(p);
+        });
     }
 
     @Handler
@@ -66,10 +86,12 @@ public class GameListeners {
         final User u = event.getActor();
         final Game g = this.humanity.getGameFor(u);
         if (g == null) return;
-        final Player p = g.getPlayer(u);
-        final CurrentRound r = g.getCurrentRound();
-        if (p == null || r == null || !p.equals(r.getCzar())) return;
-        // This can't prematurely cancel, since the task is only made when the stage switches to waiting for czar.
-        r.cancelReminderTask();
+        g.execute(() -> {
+            final Player p = g.getPlayer(u);
+            final CurrentRound r = g.getCurrentRound();
+            if (p == null || r == null || !p.equals(r.getCzar())) return;
+            // This can't prematurely cancel, since the task is only made when the stage switches to waiting for czar.
+            r.cancelReminderTask();
+        });
     }
 }
@@ -3,6 +3,11 @@ package org.royaldev.thehumanity;
 import com.google.common.collect.Maps;
 import org.royaldev.thehumanity.game.Game.GameEndCause;
 
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
 public class ShutdownHook implements Runnable {
 
     private final TheHumanity humanity;
@@ -13,7 +18,32 @@ public class ShutdownHook implements Runnable {
 
     @Override
     public void run() {
-        Maps.newHashMap(this.humanity.getGames()).values().forEach(game -> game.stop(GameEndCause.JAVA_SHUTDOWN));
+        // Stop each game on its own executor, after whatever it was already doing
+        final CompletableFuture<?>[] stops = Maps.newHashMap(this.humanity.getGames()).values().stream()
+            .map(game -> CompletableFuture.runAsync(() -> game.stop(GameEndCause.JAVA_SHUTDOWN), game.getExecutor()))
+            .toArray(CompletableFuture<?>[]::new);
+        try {
+            CompletableFuture.allOf(stops).get(10L, TimeUnit.SECONDS);
+        } catch (final InterruptedException | ExecutionException | TimeoutException ex) {
+            this.humanity.getLogger().warning("Not every game could be stopped: " + ex.getMessage());
+        }
+        try {
+            // Let the games' last lines out before disconnecting
+            this.humanity.getOutboundQueue().awaitEmpty(10L, TimeUnit.SECONDS);
+            // Whatever did not get out in time is dropped
+            this.humanity.getOutboundQueue().stop();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        try {
+            // Games queue their history when they stop; make sure it reaches the disk
+            if (!this.humanity.getHistory().getWriter().awaitEmpty(10L, TimeUnit.SECONDS)) {
+                this.humanity.getLogger().warning("Not all history could be written");
+            }
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.humanity.getHistory().close();
         this.humanity.getBot().shutdown("TooManyCardsException (See you!)");
         this.humanity.getPingRegistry().save();
     }
@@ -4,6 +4,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.mashape.unirest.http.HttpResponse;
 import com.mashape.unirest.http.JsonNode;
 import com.mashape.unirest.http.Unirest;
@@ -28,7 +29,9 @@ import org.kohsuke.args4j.spi.StringArrayOptionHandler;
 import org.kohsuke.args4j.spi.StringOptionHandler;
 import org.royaldev.thehumanity.cards.cardcast.CardcastFetcher;
 import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.CardPackDiff;
 import org.royaldev.thehumanity.cards.packs.CardPackParser;
+import org.royaldev.thehumanity.cards.packs.CardPackWatcher;
 import org.royaldev.thehumanity.cards.packs.CardcastCardPack;
 import org.royaldev.thehumanity.commands.impl.CardCountsCommand;
 import org.royaldev.thehumanity.commands.impl.CardsCommand;
@@ -51,25 +54,34 @@ import org.royaldev.thehumanity.commands.impl.WhoCommand;
 import org.royaldev.thehumanity.commands.impl.game.GameCommand;
 import org.royaldev.thehumanity.commands.impl.ping.PingListCommand;
 import org.royaldev.thehumanity.game.Game;
+import org.royaldev.thehumanity.game.GameRegistry;
+import org.royaldev.thehumanity.game.RoundLog;
 import org.royaldev.thehumanity.handlers.CommandHandler;
 import org.royaldev.thehumanity.history.History;
+import org.royaldev.thehumanity.outbound.OutboundQueue;
 import org.royaldev.thehumanity.ping.PingRegistry;
 import org.royaldev.thehumanity.ping.WhoX;
 import org.royaldev.thehumanity.ping.task.SavePingRegistryTask;
 import org.royaldev.thehumanity.server.GameServer;
 import org.royaldev.thehumanity.server.configurations.HumanityConfiguration;
+import org.royaldev.thehumanity.util.HashedWheelTimer;
 import org.royaldev.thehumanity.util.Pair;
 
 import java.io.IOException;
 import java.io.StringWriter;
 import java.net.URL;
+import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.jar.Attributes;
 import java.util.jar.Manifest;
@@ -85,15 +97,26 @@ public class TheHumanity {
     private final List<CardPack> loadedCardPacks = Collections.synchronizedList(new ArrayList<>());
     private final Client bot;
     private final CommandHandler ch = new CommandHandler();
-    private final Map<Channel, Game> games = new HashMap<>();
+    private final GameRegistry games = new GameRegistry(this);
     private final Cache<String, Pair<String, String>> gistCache = CacheBuilder.newBuilder().build();
     private final Logger l = Logger.getLogger("org.royaldev.thehumanity");
     private final ScheduledThreadPoolExecutor stpe = new ScheduledThreadPoolExecutor(1);
+    private final ExecutorService gameExecutor = Executors.newFixedThreadPool(
+        Runtime.getRuntime().availableProcessors(),
+        new ThreadFactoryBuilder().setNameFormat("TheHumanity-game-%d").setDaemon(true).build()
+    );
+    private final HashedWheelTimer gameTimer = new HashedWheelTimer("TheHumanity-timer", 100L, TimeUnit.MILLISECONDS, 512, this.l);
+    private final ThreadPoolExecutor ioExecutor = new ThreadPoolExecutor(
+        2, 2, 60L, TimeUnit.SECONDS,
+        new LinkedBlockingQueue<>(),
+        new ThreadFactoryBuilder().setNameFormat("TheHumanity-io-%d").setDaemon(true).build()
+    );
     private final PingRegistry pingRegistry;
     private final WhoX whoX = new WhoX(this);
     private final History history = new History(this);
     @Nullable
     private final GameServer gameServer;
+    private final OutboundQueue outboundQueue;
     @Option(name = "-c", usage = "Channels to join.", required = true, handler = StringArrayOptionHandler.class)
     private String[] channels;
     @Option(name = "-s", usage = "Server to connect to.", required = true, handler = StringOptionHandler.class)
@@ -126,11 +149,18 @@ public class TheHumanity {
     private boolean runOnlyWebServer = false;
     @Option(name = "-X", usage = "Do not run the web server.", handler = BooleanOptionHandler.class)
     private boolean doNotRunWebServer = false;
+    @Option(name = "-R", usage = "Do not reload card packs when their files change.", handler = BooleanOptionHandler.class)
+    private boolean doNotWatchCardPacks = false;
+    @Option(name = "-b", usage = "Lines the bot may send at once before it starts pacing them.", handler = IntOptionHandler.class)
+    private int messageBurst = 8;
+    @Option(name = "-r", usage = "Lines per second the bot sends once pacing.", handler = IntOptionHandler.class)
+    private int messageRate = 2;
 
     private TheHumanity(@NotNull final String[] args) {
         Preconditions.checkNotNull(args, "args was null");
         this.setUpLogger();
         this.parseArguments(args);
+        this.outboundQueue = new OutboundQueue(this, this.messageBurst, this.messageRate);
         if (!this.doNotRunWebServer) {
             HumanityConfiguration.setHumanity(this);
             this.gameServer = new GameServer(this.webServerHostname, this.webServerPort);
@@ -142,10 +172,17 @@ public class TheHumanity {
         } else {
             this.gameServer = null;
         }
+        // Round logs of a bot that did not shut down cleanly are never read again
+        final int staleRoundLogs = RoundLog.clearStale(RoundLog.DIRECTORY, this.getLogger());
+        if (staleRoundLogs > 0) this.getLogger().info("Deleted " + staleRoundLogs + " stale round logs.");
         this.pingRegistry = PingRegistry.deserializeOrMakePingRegistry();
         // Schedule a repeatedly running saver task, just in case we're not shut down properly
-        this.stpe.scheduleAtFixedRate(new SavePingRegistryTask(this.pingRegistry), 5L, 10L, TimeUnit.MINUTES);
+        final SavePingRegistryTask savePingRegistry = new SavePingRegistryTask(this.pingRegistry);
+        this.stpe.scheduleAtFixedRate(() -> this.ioExecutor.execute(savePingRegistry), 5L, 10L, TimeUnit.MINUTES);
         this.loadCardPacks();
+        if (!this.doNotWatchCardPacks) {
+            CardPackWatcher.start(this, Paths.get("cardpacks"));
+        }
         this.registerCommands();
         final ClientBuilder cb = new ClientBuilder();
         cb
@@ -171,6 +208,7 @@ public class TheHumanity {
         final EventManager em = this.bot.getEventManager();
         em.registerEventListener(new BaseListeners(this));
         em.registerEventListener(new GameListeners(this));
+        this.outboundQueue.start();
         this.addShutdownHook(); // The shutdown hook relies on everything being made.
     }
 
@@ -196,7 +234,10 @@ public class TheHumanity {
     }
 
     private void loadCardPacks() {
-        new CardPackParser(this).parseCardPacks(this.cardPacks).forEach(this::addCardPack);
+        final long start = System.nanoTime();
+        final Collection<CardPack> parsed = new CardPackParser(this).parseCardPacks(this.cardPacks);
+        parsed.forEach(this::addCardPack);
+        this.getLogger().info(String.format("Loaded %d card packs in %d ms.", parsed.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)));
     }
 
     private void parseArguments(final String[] args) {
@@ -254,6 +295,31 @@ public class TheHumanity {
         }
     }
 
+    /**
+     * Replaces a loaded CardPack with a new version of itself, then updates the decks of all running games to match.
+     * If the old pack was not loaded, the new pack is simply added. The old pack's cards are released from the
+     * registry, though cards shared with the new pack stay registered.
+     *
+     * @param oldPack The loaded version of the pack
+     * @param newPack The version to replace it with
+     * @return Difference between the two versions
+     */
+    @NotNull
+    public CardPackDiff replaceCardPack(@NotNull final CardPack oldPack, @NotNull final CardPack newPack) {
+        Preconditions.checkNotNull(oldPack, "oldPack was null");
+        Preconditions.checkNotNull(newPack, "newPack was null");
+        final CardPackDiff diff = CardPackDiff.between(oldPack, newPack);
+        CardPack replaced = null;
+        synchronized (this.loadedCardPacks) {
+            final int index = this.loadedCardPacks.indexOf(oldPack);
+            if (index < 0) this.loadedCardPacks.add(newPack);
+            else replaced = this.loadedCardPacks.set(index, newPack);
+        }
+        this.games.asMap().values().forEach(g -> g.execute(() -> g.getDeck().replaceCardPack(oldPack, newPack, diff)));
+        if (replaced != null && replaced != newPack) replaced.release();
+        return diff;
+    }
+
     public boolean areCardcastPacksKept() {
         return this.keepCardcastPacks;
     }
@@ -336,16 +402,35 @@ public class TheHumanity {
     @Nullable
     public Game getGameFor(@NotNull final User u) {
         Preconditions.checkNotNull(u, "u was null");
-        return this.getGames().values().stream()
-            .filter(g -> g.hasPlayer(u.getNick()))
-            .findFirst()
-            .orElse(null);
+        return this.games.getGameFor(u);
     }
 
     @Nullable
     public Game getGameFor(@NotNull final Channel c) {
         Preconditions.checkNotNull(c, "c was null");
-        return this.getGames().get(c);
+        return this.games.get(c);
+    }
+
+    /**
+     * Gets the pool shared by the executors of every game. Tasks for one game should go through
+     * {@link Game#execute(Runnable)} instead, which keeps them in order.
+     *
+     * @return Shared game pool
+     */
+    @NotNull
+    public ExecutorService getGameExecutor() {
+        return this.gameExecutor;
+    }
+
+    /**
+     * Gets the timer for game countdowns and reminders. Its tasks run on the timer's own thread, so they should only
+     * hand work off to {@link Game#execute(Runnable)}.
+     *
+     * @return Game timer
+     */
+    @NotNull
+    public HashedWheelTimer getGameTimer() {
+        return this.gameTimer;
     }
 
     @Nullable
@@ -354,10 +439,15 @@ public class TheHumanity {
     }
 
     @NotNull
-    public Map<Channel, Game> getGames() {
+    public GameRegistry getGameRegistry() {
         return this.games;
     }
 
+    @NotNull
+    public Map<Channel, Game> getGames() {
+        return this.games.asMap();
+    }
+
     public History getHistory() {
         return this.history;
     }
@@ -369,6 +459,17 @@ public class TheHumanity {
         }
     }
 
+    /**
+     * Gets the executor for disk and network work, so that slow I/O never holds up game timers. Its two threads work
+     * through a queue with no limit, so tasks are never dropped, and submitting never blocks.
+     *
+     * @return I/O executor
+     */
+    @NotNull
+    public ThreadPoolExecutor getIOExecutor() {
+        return this.ioExecutor;
+    }
+
     @NotNull
     public Logger getLogger() {
         return this.l;
@@ -383,6 +484,17 @@ public class TheHumanity {
         return new CardcastFetcher(name.substring(3)).getCardPack();
     }
 
+    /**
+     * Gets the queue that paces lines sent to the server. Game output should go through this instead of straight to the
+     * client.
+     *
+     * @return Outbound queue
+     */
+    @NotNull
+    public OutboundQueue getOutboundQueue() {
+        return this.outboundQueue;
+    }
+
     public PingRegistry getPingRegistry() {
         return this.pingRegistry;
     }
@@ -473,9 +585,12 @@ public class TheHumanity {
 
     public void removeCardPack(@NotNull final CardPack cp) {
         Preconditions.checkNotNull(cp, "cp was null");
+        CardPack removed = null;
         synchronized (this.loadedCardPacks) {
-            this.loadedCardPacks.remove(cp);
+            final int index = this.loadedCardPacks.indexOf(cp);
+            if (index >= 0) removed = this.loadedCardPacks.remove(index);
         }
+        if (removed != null) removed.release();
     }
 
     public boolean usersMatch(@NotNull final User u, @NotNull final User u2) {
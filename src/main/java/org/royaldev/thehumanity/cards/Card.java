@@ -12,6 +12,7 @@ public abstract class Card {
     protected final CardPack cardPack;
     protected final String rawText;
     protected final String processedText;
+    private volatile int id = -1;
 
     /**
      * Constructs a new card for the given pack with the given text.
@@ -37,7 +38,8 @@ public abstract class Card {
     protected abstract String processText(@NotNull final String rawText);
 
     /**
-     * Checks to see if the cards have the same text and belong to the same pack.
+     * Checks to see if the cards have the same text and belong to the same pack. If both cards have been
+     * {@link CardRegistry registered}, only their IDs are compared.
      *
      * @param obj Other card
      * @return true if equal, false if otherwise
@@ -47,9 +49,21 @@ public abstract class Card {
         if (this == obj) return true;
         if (!(obj instanceof Card)) return false;
         final Card c = (Card) obj;
+        if (this.id >= 0 && c.id >= 0) return this.id == c.id;
         return this.getText().equals(c.getText()) && this.getCardPack().equals(c.getCardPack());
     }
 
+    /**
+     * Gets the hash code of this card, which is the hash code of its text. Equal cards always have equal text, so this
+     * is consistent with {@link #equals(Object)} whether or not the cards are registered.
+     *
+     * @return Hash code
+     */
+    @Override
+    public int hashCode() {
+        return this.getText().hashCode();
+    }
+
     /**
      * Returns {@link #getText}.
      *
@@ -71,6 +85,35 @@ public abstract class Card {
         return this.cardPack;
     }
 
+    /**
+     * Gets the ID given to this card by the {@link CardRegistry}. If this card has not been registered, this will
+     * return -1.
+     *
+     * @return ID or -1
+     */
+    public int getID() {
+        return this.id;
+    }
+
+    /**
+     * Gets the text of this card as it was written in its pack, before processing.
+     *
+     * @return Raw text
+     */
+    @NotNull
+    public String getRawText() {
+        return this.rawText;
+    }
+
+    /**
+     * Sets the ID of this card. Only the {@link CardRegistry} should call this.
+     *
+     * @param id ID
+     */
+    void setID(final int id) {
+        this.id = id;
+    }
+
     /**
      * Gets the public-viewable text of this card.
      *
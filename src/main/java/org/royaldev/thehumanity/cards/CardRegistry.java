@@ -0,0 +1,149 @@
+package org.royaldev.thehumanity.cards;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.CardcastCardPack;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Gives every parsed card a dense, stable int ID. Cards with the same type, pack and text always receive the same ID,
+ * even if their pack is parsed again, so IDs may be compared in place of the cards themselves. Only the ID is shared:
+ * every registered instance stays bound to its own pack, so a reloaded pack never holds cards of the pack it replaced.
+ * <p/>
+ * Packs {@link #release(Card) release} their cards when they are unloaded. Once every instance registered under an ID
+ * has been released, the registry forgets it. The ID is never given out again, so a card still held somewhere keeps an
+ * ID that names no other card.
+ * <p/>
+ * Registering and releasing are synchronized. Looking up a card by its ID never locks.
+ */
+public final class CardRegistry {
+
+    private static final Object registerLock = new Object();
+    private static final Map<String, Integer> ids = new HashMap<>();
+    // Instances registered under an ID other than the newest one. Guarded by registerLock
+    private static final Map<Integer, List<Card>> older = new HashMap<>();
+    // The newest registered instance of each ID
+    private static volatile Card[] cards = new Card[1024];
+    private static volatile int size = 0;
+
+    private CardRegistry() {}
+
+    /**
+     * Makes the key that identifies a card in the registry.
+     *
+     * @param card Card to make key for
+     * @return Key
+     */
+    @NotNull
+    private static String makeKey(@NotNull final Card card) {
+        final CardPack cp = card.getCardPack();
+        final String packKey = cp instanceof CardcastCardPack ? "cc:" + ((CardcastCardPack) cp).getID() : cp.getName();
+        return card.getClass().getName() + '\u0000' + packKey + '\u0000' + card.getText();
+    }
+
+    private static boolean removeInstance(@NotNull final List<Card> list, @NotNull final Card card) {
+        for (int i = list.size() - 1; i >= 0; i--) {
+            if (list.get(i) != card) continue;
+            list.remove(i);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the card registered under the given ID. If the ID has never been given out, or its card was released, null
+     * is returned. If a card with the same identity has been registered more than once, the newest instance that has not
+     * been released is returned.
+     *
+     * @param id ID of the card
+     * @return Card or null
+     */
+    @Nullable
+    public static Card getCard(final int id) {
+        // Read the size first so that every card registered before it was written is visible
+        if (id < 0 || id >= CardRegistry.size) return null;
+        return CardRegistry.cards[id];
+    }
+
+    /**
+     * Registers a card, giving it an ID. If an equal card is already registered, the given card is given the same ID.
+     * The given card is always returned, still belonging to its own pack.
+     *
+     * @param card Card to register
+     * @param <T>  Type of card
+     * @return The given card
+     */
+    @NotNull
+    public static <T extends Card> T register(@NotNull final T card) {
+        Preconditions.checkNotNull(card, "card was null");
+        final String key = CardRegistry.makeKey(card);
+        synchronized (CardRegistry.registerLock) {
+            final Integer existing = CardRegistry.ids.get(key);
+            if (existing != null) {
+                // The newest instance is the one lookups should find, since older packs are about to be released
+                CardRegistry.older.computeIfAbsent(existing, k -> new ArrayList<>(1)).add(CardRegistry.cards[existing]);
+                CardRegistry.cards[existing] = card;
+                card.setID(existing);
+                return card;
+            }
+            final int id = CardRegistry.size;
+            CardRegistry.ids.put(key, id);
+            if (id >= CardRegistry.cards.length) {
+                CardRegistry.cards = Arrays.copyOf(CardRegistry.cards, CardRegistry.cards.length * 2);
+            }
+            CardRegistry.cards[id] = card;
+            card.setID(id);
+            CardRegistry.size = id + 1;
+        }
+        return card;
+    }
+
+    /**
+     * Releases one registration of a card. The registry stops holding that instance. Once every instance registered
+     * under its ID has been released, the ID is forgotten, and {@link #getCard(int)} returns null for it. The card keeps
+     * its ID.
+     *
+     * @param card Card to release
+     * @return true if the ID was forgotten, false if otherwise
+     */
+    public static boolean release(@NotNull final Card card) {
+        Preconditions.checkNotNull(card, "card was null");
+        final int id = card.getID();
+        if (id < 0) return false;
+        synchronized (CardRegistry.registerLock) {
+            if (id >= CardRegistry.size || CardRegistry.cards[id] == null) return false;
+            final List<Card> instances = CardRegistry.older.get(id);
+            if (CardRegistry.cards[id] != card) {
+                // An older instance; forget it by identity, since equal cards of other packs are still registered
+                if (instances == null || !CardRegistry.removeInstance(instances, card)) return false;
+                if (instances.isEmpty()) CardRegistry.older.remove(id);
+                return false;
+            }
+            if (instances != null) {
+                // Fall back to the newest instance still registered
+                CardRegistry.cards[id] = instances.remove(instances.size() - 1);
+                if (instances.isEmpty()) CardRegistry.older.remove(id);
+                return false;
+            }
+            CardRegistry.ids.remove(CardRegistry.makeKey(card));
+            CardRegistry.cards[id] = null;
+            return true;
+        }
+    }
+
+    /**
+     * Gets the amount of IDs that have been given out. All IDs are below this number.
+     *
+     * @return Amount of IDs
+     */
+    public static int size() {
+        return CardRegistry.size;
+    }
+}
@@ -5,16 +5,22 @@ import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.CardPackDiff;
 import org.royaldev.thehumanity.cards.packs.MemoryCardPack;
 import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 import org.royaldev.thehumanity.player.Hand;
+import org.royaldev.thehumanity.player.PrimitiveHand;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Predicate;
 
 /**
  * Deck class. A deck is a collection of {@link MemoryCardPack CardPacks}. When playing, the Deck pays no heed to which pack a
@@ -27,16 +33,21 @@ import java.util.stream.Collectors;
 public class Deck {
 
     private final List<CardPack> cardPacks = Collections.synchronizedList(new ArrayList<>());
-    private final List<WhiteCard> whiteCards = Collections.synchronizedList(new ArrayList<>());
-    private final List<BlackCard> blackCards = Collections.synchronizedList(new ArrayList<>());
+    private final DrawPile<WhiteCard> whiteCards;
+    private final DrawPile<BlackCard> blackCards;
 
     /**
-     * Creates a new Deck with the given card packs as sources.
+     * Creates a new Deck with the given card packs as sources. Cards will be drawn using the given Random, which allows
+     * for seeded, repeatable draws.
      *
      * @param cardPacks Card packs to add to this deck
+     * @param random    Random to draw cards with
      */
-    public Deck(@NotNull final Collection<CardPack> cardPacks) {
+    public Deck(@NotNull final Collection<CardPack> cardPacks, @NotNull final Random random) {
         Preconditions.checkNotNull(cardPacks, "cardPacks was null");
+        Preconditions.checkNotNull(random, "random was null");
+        this.whiteCards = new DrawPile<>(random);
+        this.blackCards = new DrawPile<>(random);
         synchronized (this.cardPacks) {
             this.cardPacks.addAll(cardPacks);
         }
@@ -44,6 +55,48 @@ public class Deck {
         this.repopulateWhiteCards();
     }
 
+    /**
+     * Creates a new Deck with the given card packs as sources.
+     *
+     * @param cardPacks Card packs to add to this deck
+     */
+    public Deck(@NotNull final Collection<CardPack> cardPacks) {
+        this(cardPacks, new Random());
+    }
+
+    /**
+     * Makes a filter matching every card held in the given Hands. Registered cards are matched by their ID, which is
+     * read straight out of {@link PrimitiveHand PrimitiveHands}; any other card is matched by identity. If there are no
+     * Hands, the filter matches nothing.
+     *
+     * @param hands Hands to collect cards from, or null
+     * @return Filter of cards in the Hands
+     */
+    @NotNull
+    private static Predicate<Card> getExclusionFilter(@Nullable final Collection<Hand> hands) {
+        if (hands == null || hands.isEmpty()) return card -> false;
+        final BitSet excludedIDs = new BitSet(CardRegistry.size());
+        final Set<Card> excluded = Collections.newSetFromMap(new IdentityHashMap<>());
+        int[] ids = new int[PrimitiveHand.DEFAULT_CAPACITY];
+        for (final Hand h : hands) {
+            if (h instanceof PrimitiveHand) {
+                final PrimitiveHand<?> ph = (PrimitiveHand<?>) h;
+                if (ids.length < ph.getCapacity()) ids = new int[ph.getCapacity()];
+                final int copied = ph.copyCardIDs(ids);
+                for (int i = 0; i < copied; i++) {
+                    excludedIDs.set(ids[i]);
+                }
+                continue;
+            }
+            for (final Object o : h.getCards()) {
+                final Card card = (Card) o;
+                if (card.getID() >= 0) excludedIDs.set(card.getID());
+                else excluded.add(card);
+            }
+        }
+        return card -> card.getID() >= 0 ? excludedIDs.get(card.getID()) : excluded.contains(card);
+    }
+
     /**
      * Adds a CardPack to this Deck. All cards in the pack will be added to this Deck.
      *
@@ -53,8 +106,8 @@ public class Deck {
     public boolean addCardPack(@NotNull final CardPack cp) {
         Preconditions.checkNotNull(cp, "cp was null");
         if (!this.cardPacks.add(cp)) return false;
-        cp.getWhiteCards().forEach(this.whiteCards::add);
-        cp.getBlackCards().forEach(this.blackCards::add);
+        this.whiteCards.addAll(cp.getWhiteCards());
+        this.blackCards.addAll(cp.getBlackCards());
         return true;
     }
 
@@ -64,7 +117,7 @@ public class Deck {
      * @return Total amount of black cards
      */
     public int getBlackCardCount() {
-        return this.cardPacks.stream().mapToInt(cp -> cp.getBlackCards().size()).sum();
+        return this.cardPacks.stream().mapToInt(CardPack::blackCount).sum();
     }
 
     /**
@@ -88,11 +141,7 @@ public class Deck {
      */
     @Nullable
     public BlackCard getRandomBlackCard() {
-        synchronized (this.blackCards) {
-            if (this.blackCards.size() < 1) return null;
-            Collections.shuffle(this.blackCards);
-            return this.blackCards.remove(0);
-        }
+        return this.blackCards.draw();
     }
 
     /**
@@ -105,10 +154,16 @@ public class Deck {
      */
     @NotNull
     public WhiteCard getRandomWhiteCard(@Nullable final Collection<Hand> repopulateExcludes) {
-        synchronized (this.whiteCards) {
-            if (this.whiteCards.size() < 1) this.repopulateWhiteCards(repopulateExcludes);
-            Collections.shuffle(this.whiteCards);
-            return this.whiteCards.remove(0);
+        final WhiteCard drawn = this.whiteCards.draw();
+        if (drawn != null) return drawn;
+        // The packs are always locked before the pile, as in repopulateWhiteCards and replaceCardPack
+        synchronized (this.cardPacks) {
+            synchronized (this.whiteCards) {
+                if (this.whiteCards.isEmpty()) this.repopulateWhiteCards(repopulateExcludes);
+                final WhiteCard wc = this.whiteCards.draw();
+                if (wc == null) throw new IllegalStateException("There are no white cards to draw");
+                return wc;
+            }
         }
     }
 
@@ -136,7 +191,7 @@ public class Deck {
      * @return Total amount of white cards
      */
     public int getWhiteCardCount() {
-        return this.cardPacks.stream().mapToInt(cp -> cp.getWhiteCards().size()).sum();
+        return this.cardPacks.stream().mapToInt(CardPack::whiteCount).sum();
     }
 
     /**
@@ -147,7 +202,41 @@ public class Deck {
      */
     public boolean removeCardPack(@NotNull final CardPack cp) {
         Preconditions.checkNotNull(cp, "cp was null");
-        return !(!this.cardPacks.contains(cp) || !this.cardPacks.remove(cp)) && this.whiteCards.removeAll(this.whiteCards.stream().filter(wc -> wc.getCardPack().equals(cp)).collect(Collectors.toCollection(ArrayList::new)));
+        return !(!this.cardPacks.contains(cp) || !this.cardPacks.remove(cp)) && this.whiteCards.removeIf(wc -> wc.getCardPack().equals(cp));
+    }
+
+    /**
+     * Replaces a CardPack in this Deck with a new version of itself. Cards removed from the pack are taken out of the
+     * draw piles, and added cards are put in. Cards already in players' hands are left alone.
+     *
+     * @param oldPack The version of the pack in this Deck
+     * @param newPack The version to replace it with
+     * @param diff    Difference between the two versions
+     * @return true if this Deck had the pack, false if otherwise
+     */
+    public boolean replaceCardPack(@NotNull final CardPack oldPack, @NotNull final CardPack newPack, @NotNull final CardPackDiff diff) {
+        Preconditions.checkNotNull(oldPack, "oldPack was null");
+        Preconditions.checkNotNull(newPack, "newPack was null");
+        Preconditions.checkNotNull(diff, "diff was null");
+        // The piles hold the old pack's own instances, so removed cards are looked up by identity
+        final Set<Card> removedWhite = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedWhite.addAll(diff.getRemovedWhiteCards());
+        final Set<Card> removedBlack = Collections.newSetFromMap(new IdentityHashMap<>());
+        removedBlack.addAll(diff.getRemovedBlackCards());
+        synchronized (this.cardPacks) {
+            final int index = this.cardPacks.indexOf(oldPack);
+            if (index < 0) return false;
+            this.cardPacks.set(index, newPack);
+            synchronized (this.whiteCards) {
+                this.whiteCards.removeIf(removedWhite::contains);
+                this.whiteCards.addAll(diff.getAddedWhiteCards());
+            }
+            synchronized (this.blackCards) {
+                this.blackCards.removeIf(removedBlack::contains);
+                this.blackCards.addAll(diff.getAddedBlackCards());
+            }
+        }
+        return true;
     }
 
     /**
@@ -164,20 +253,19 @@ public class Deck {
     /**
      * Adds all the white cards from the card packs back into the draw pile, excluding any in the given collection of
      * Hands.
+     * <p/>
+     * The cards held in the excluded Hands are gathered into one filter before the packs are walked, so each card in
+     * the packs is checked in constant time.
      *
      * @param exclude Hands of Cards to exclude
      */
     public void repopulateWhiteCards(@Nullable final Collection<Hand> exclude) {
+        final Predicate<Card> excluded = Deck.getExclusionFilter(exclude);
         synchronized (this.cardPacks) {
             synchronized (this.whiteCards) {
                 for (final CardPack cp : this.cardPacks) {
-                    thisCard:
                     for (final WhiteCard wc : cp.getWhiteCards()) {
-                        if (exclude != null && !exclude.isEmpty()) {
-                            for (final Hand h : exclude) {
-                                if (h.getCards().contains(wc)) continue thisCard;
-                            }
-                        }
+                        if (excluded.test(wc)) continue;
                         this.whiteCards.add(wc);
                     }
                 }
@@ -0,0 +1,122 @@
+package org.royaldev.thehumanity.cards;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * A pile of cards to draw from. Drawing picks a random card and swaps the last card into its slot, so every draw is
+ * constant time and the pile never needs to be shuffled as a whole.
+ * <p/>
+ * All methods synchronize on the pile itself, so callers needing several operations to happen atomically may
+ * synchronize on it as well.
+ *
+ * @param <T> Type of card in this pile
+ */
+public class DrawPile<T extends Card> {
+
+    private final List<T> cards = new ArrayList<>();
+    private final Random random;
+
+    /**
+     * Creates a new, empty pile using the given source of randomness.
+     *
+     * @param random Random to draw with
+     */
+    public DrawPile(@NotNull final Random random) {
+        Preconditions.checkNotNull(random, "random was null");
+        this.random = random;
+    }
+
+    /**
+     * Creates a new, empty pile.
+     */
+    public DrawPile() {
+        this(new Random());
+    }
+
+    /**
+     * Adds a card to this pile.
+     *
+     * @param card Card to add
+     */
+    public synchronized void add(@NotNull final T card) {
+        Preconditions.checkNotNull(card, "card was null");
+        this.cards.add(card);
+    }
+
+    /**
+     * Adds all of the given cards to this pile.
+     *
+     * @param cards Cards to add
+     */
+    public synchronized void addAll(@NotNull final Collection<? extends T> cards) {
+        Preconditions.checkNotNull(cards, "cards was null");
+        this.cards.addAll(cards);
+    }
+
+    /**
+     * Removes every card from this pile.
+     */
+    public synchronized void clear() {
+        this.cards.clear();
+    }
+
+    /**
+     * Draws a random card from this pile, removing it. If the pile is empty, null is returned.
+     *
+     * @return Random card or null
+     */
+    @Nullable
+    public synchronized T draw() {
+        final int size = this.cards.size();
+        if (size < 1) return null;
+        final int index = this.random.nextInt(size);
+        final T last = this.cards.remove(size - 1);
+        if (index == size - 1) return last;
+        return this.cards.set(index, last);
+    }
+
+    /**
+     * Checks if this pile has no cards left.
+     *
+     * @return true if empty, false if otherwise
+     */
+    public synchronized boolean isEmpty() {
+        return this.cards.isEmpty();
+    }
+
+    /**
+     * Removes every card matching the given filter from this pile.
+     *
+     * @param filter Filter of cards to remove
+     * @return true if any cards were removed, false if otherwise
+     */
+    public synchronized boolean removeIf(@NotNull final Predicate<? super T> filter) {
+        Preconditions.checkNotNull(filter, "filter was null");
+        return this.cards.removeIf(filter);
+    }
+
+    /**
+     * Gets the amount of cards left in this pile.
+     *
+     * @return Amount of cards
+     */
+    public synchronized int size() {
+        return this.cards.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("size", this.cards.size())
+            .toString();
+    }
+}
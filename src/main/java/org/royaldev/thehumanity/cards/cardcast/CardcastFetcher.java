@@ -15,6 +15,7 @@ import org.jetbrains.annotations.Nullable;
 import org.json.JSONArray;
 import org.json.JSONObject;
 import org.royaldev.thehumanity.cards.Card;
+import org.royaldev.thehumanity.cards.CardRegistry;
 import org.royaldev.thehumanity.cards.packs.CardPack;
 import org.royaldev.thehumanity.cards.packs.CardcastCardPack;
 import org.royaldev.thehumanity.cards.types.BlackCard;
@@ -77,6 +78,7 @@ public class CardcastFetcher {
         cp.setAuthor(this.author);
         this.addCards(cp, this.getWhiteCards(cp, root.getJSONArray("responses")));
         this.addCards(cp, this.getBlackCards(cp, root.getJSONArray("calls")));
+        cp.freeze();
         return cp;
     }
 
@@ -120,7 +122,7 @@ public class CardcastFetcher {
         final List<Card> blackCards = new ArrayList<>();
         for (int i = 0; i < calls.length(); i++) {
             final JSONObject call = calls.getJSONObject(i);
-            blackCards.add(new BlackCard(cp, this.getBlackCardText(call.getJSONArray("text"))));
+            blackCards.add(CardRegistry.register(new BlackCard(cp, this.getBlackCardText(call.getJSONArray("text")))));
         }
         return blackCards;
     }
@@ -173,7 +175,7 @@ public class CardcastFetcher {
         final List<Card> whiteCards = new ArrayList<>();
         for (int i = 0; i < responses.length(); i++) {
             final JSONObject response = responses.getJSONObject(i);
-            whiteCards.add(new WhiteCard(cp, response.getJSONArray("text").getString(0).replaceAll("\\.$", "")));
+            whiteCards.add(CardRegistry.register(new WhiteCard(cp, response.getJSONArray("text").getString(0).replaceAll("\\.$", ""))));
         }
         return whiteCards;
     }
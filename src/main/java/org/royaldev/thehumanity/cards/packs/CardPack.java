@@ -12,11 +12,29 @@ public interface CardPack {
 
     void addCard(@NotNull Card c);
 
+    /**
+     * Gets the amount of black cards in this pack without copying them.
+     *
+     * @return Amount of black cards
+     */
+    int blackCount();
+
+    /**
+     * Stops any more cards from being added to this pack. Once frozen, the lists returned by {@link #getBlackCards()}
+     * and {@link #getWhiteCards()} never change, so they can be shared freely.
+     */
+    void freeze();
+
     @Nullable
     String getAuthor();
 
     void setAuthor(@Nullable String author);
 
+    /**
+     * Gets an unmodifiable view of the black cards in this pack.
+     *
+     * @return Unmodifiable list of black cards
+     */
     @NotNull
     List<BlackCard> getBlackCards();
 
@@ -28,6 +46,24 @@ public interface CardPack {
     @NotNull
     String getName();
 
+    /**
+     * Gets an unmodifiable view of the white cards in this pack.
+     *
+     * @return Unmodifiable list of white cards
+     */
     @NotNull
     List<WhiteCard> getWhiteCards();
+
+    /**
+     * Releases the {@link org.royaldev.thehumanity.cards.CardRegistry CardRegistry} IDs of the cards this pack
+     * registered, once it is unloaded. Releasing a pack more than once does nothing.
+     */
+    void release();
+
+    /**
+     * Gets the amount of white cards in this pack without copying them.
+     *
+     * @return Amount of white cards
+     */
+    int whiteCount();
 }
@@ -0,0 +1,120 @@
+package org.royaldev.thehumanity.cards.packs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.royaldev.thehumanity.cards.Card;
+import org.royaldev.thehumanity.cards.types.BlackCard;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The cards added and removed between two versions of the same CardPack. Cards are matched by their raw text.
+ */
+public final class CardPackDiff {
+
+    private final Set<BlackCard> addedBlackCards;
+    private final Set<BlackCard> removedBlackCards;
+    private final Set<WhiteCard> addedWhiteCards;
+    private final Set<WhiteCard> removedWhiteCards;
+
+    private CardPackDiff(@NotNull final CardPack oldPack, @NotNull final CardPack newPack) {
+        this.addedBlackCards = CardPackDiff.missingFrom(newPack.getBlackCards(), oldPack.getBlackCards());
+        this.removedBlackCards = CardPackDiff.missingFrom(oldPack.getBlackCards(), newPack.getBlackCards());
+        this.addedWhiteCards = CardPackDiff.missingFrom(newPack.getWhiteCards(), oldPack.getWhiteCards());
+        this.removedWhiteCards = CardPackDiff.missingFrom(oldPack.getWhiteCards(), newPack.getWhiteCards());
+    }
+
+    /**
+     * Compares two versions of a CardPack.
+     *
+     * @param oldPack The version being replaced
+     * @param newPack The version replacing it
+     * @return Difference between the packs
+     */
+    @NotNull
+    public static CardPackDiff between(@NotNull final CardPack oldPack, @NotNull final CardPack newPack) {
+        Preconditions.checkNotNull(oldPack, "oldPack was null");
+        Preconditions.checkNotNull(newPack, "newPack was null");
+        return new CardPackDiff(oldPack, newPack);
+    }
+
+    /**
+     * Gets the cards in the first list whose raw text is not on any card in the second list.
+     *
+     * @param cards Cards to check
+     * @param other Cards to check against
+     * @param <T>   Type of card
+     * @return Unmodifiable set of cards
+     */
+    @NotNull
+    private static <T extends Card> Set<T> missingFrom(@NotNull final List<T> cards, @NotNull final List<T> other) {
+        final Set<String> otherTexts = other.stream().map(Card::getRawText).collect(Collectors.toCollection(HashSet::new));
+        final Set<T> missing = cards.stream().filter(c -> !otherTexts.contains(c.getRawText())).collect(Collectors.toCollection(HashSet::new));
+        return Collections.unmodifiableSet(missing);
+    }
+
+    /**
+     * Gets the black cards only in the new pack.
+     *
+     * @return Unmodifiable set of cards
+     */
+    @NotNull
+    public Set<BlackCard> getAddedBlackCards() {
+        return this.addedBlackCards;
+    }
+
+    /**
+     * Gets the white cards only in the new pack.
+     *
+     * @return Unmodifiable set of cards
+     */
+    @NotNull
+    public Set<WhiteCard> getAddedWhiteCards() {
+        return this.addedWhiteCards;
+    }
+
+    /**
+     * Gets the black cards only in the old pack.
+     *
+     * @return Unmodifiable set of cards
+     */
+    @NotNull
+    public Set<BlackCard> getRemovedBlackCards() {
+        return this.removedBlackCards;
+    }
+
+    /**
+     * Gets the white cards only in the old pack.
+     *
+     * @return Unmodifiable set of cards
+     */
+    @NotNull
+    public Set<WhiteCard> getRemovedWhiteCards() {
+        return this.removedWhiteCards;
+    }
+
+    /**
+     * Checks if the packs had the same cards.
+     *
+     * @return true if no cards were added or removed, false if otherwise
+     */
+    public boolean isEmpty() {
+        return this.addedBlackCards.isEmpty() && this.removedBlackCards.isEmpty() && this.addedWhiteCards.isEmpty() && this.removedWhiteCards.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("addedBlackCards", this.addedBlackCards.size())
+            .add("removedBlackCards", this.removedBlackCards.size())
+            .add("addedWhiteCards", this.addedWhiteCards.size())
+            .add("removedWhiteCards", this.removedWhiteCards.size())
+            .toString();
+    }
+}
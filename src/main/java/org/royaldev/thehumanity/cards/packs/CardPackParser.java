@@ -7,20 +7,28 @@ import com.google.common.collect.Lists;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.royaldev.thehumanity.TheHumanity;
+import org.royaldev.thehumanity.cards.CardRegistry;
 import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.File;
-import java.io.FileReader;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
-import java.util.stream.Collectors;
 
 /**
  * A parser for CardPack files.
@@ -76,9 +84,48 @@ public class CardPackParser {
         return Joiner.on('.').join(parts.subList(0, parts.size() - 1));
     }
 
+    /**
+     * Gets the file a text card pack is compiled into. Compiled packs are kept in a "compiled" directory next to the
+     * text pack.
+     *
+     * @param f Text card pack file
+     * @return Compiled card pack file
+     */
+    @NotNull
+    public static File getCompiledFile(@NotNull final File f) {
+        Preconditions.checkNotNull(f, "f was null");
+        return new File(new File(f.getAbsoluteFile().getParentFile(), "compiled"), f.getName() + CompiledCardPack.EXTENSION);
+    }
+
+    /**
+     * Opens the compiled version of a text card pack, if one exists and has the text pack's name. Whether it is up to
+     * date is left to the caller. If it doesn't exist or could not be opened, null is returned.
+     *
+     * @param f Text card pack file
+     * @return CompiledCardPack or null
+     */
+    @Nullable
+    private CompiledCardPack openCompiled(@NotNull final File f) {
+        final File compiled = CardPackParser.getCompiledFile(f);
+        if (!compiled.isFile()) return null;
+        try {
+            final CompiledCardPack cp = CompiledCardPack.open(compiled);
+            if (!cp.getName().equals(getNameFromFileName(f.getName()))) return null;
+            return cp;
+        } catch (final IOException ex) {
+            this.humanity.getLogger().warning("Could not open " + compiled.getName() + ": " + ex.getMessage());
+            return null;
+        }
+    }
+
     /**
      * Parses one CardPack given the name of the file that contains it. If there is any IOException while processing, or
      * if the file cannot be read, null will be returned.
+     * <p/>
+     * Text packs are compiled the first time they are parsed, and later calls map the compiled pack instead of parsing
+     * the text again. If the text pack's size and modification time are the ones the compiled pack was stamped with, the
+     * text pack is not read at all. Otherwise its contents are compared, and the compiled pack is only written again if
+     * they changed. Compiled pack files may also be given directly.
      *
      * @param name Name of the file the CardPack is contained in
      * @return CardPack or null
@@ -95,8 +142,37 @@ public class CardPackParser {
             this.humanity.getLogger().warning("Cannot read " + f.getName() + ".");
             return null;
         }
+        if (f.getName().endsWith(CompiledCardPack.EXTENSION)) {
+            try {
+                return CompiledCardPack.open(f);
+            } catch (final IOException ex) {
+                this.humanity.getLogger().warning(ex.getMessage());
+                return null;
+            }
+        }
+        // Taken before reading, so a change made while reading leaves the stamp stale rather than hiding the change
+        final long modified = f.lastModified();
+        final CompiledCardPack compiled = this.openCompiled(f);
+        if (compiled != null && compiled.isStampedWith(f.length(), modified)) return compiled;
+        // Read once, so the compiled pack is stamped with exactly what was parsed
+        final byte[] source;
+        try {
+            source = Files.readAllBytes(f.toPath());
+        } catch (final IOException ex) {
+            this.humanity.getLogger().warning(ex.getMessage());
+            return null;
+        }
+        if (compiled != null && compiled.isCompiledFrom(source)) {
+            // Only touched; stamp the new time so the next start does not read it again
+            try {
+                CompiledCardPack.restamp(CardPackParser.getCompiledFile(f), modified);
+            } catch (final IOException ex) {
+                this.humanity.getLogger().warning("Could not restamp " + f.getName() + ": " + ex.getMessage());
+            }
+            return compiled;
+        }
         final CardPack cp = new MemoryCardPack(getNameFromFileName(f.getName()));
-        try (final BufferedReader br = new BufferedReader(new FileReader(f))) {
+        try (final BufferedReader br = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(source), Charset.defaultCharset()))) {
             String line;
             ParseStage ps = ParseStage.METADATA;
             while ((line = br.readLine()) != null) {
@@ -108,12 +184,38 @@ public class CardPackParser {
             this.humanity.getLogger().warning(ex.getMessage());
             return null;
         }
+        cp.freeze();
+        try {
+            CompiledCardPack.compile(cp, CardPackParser.getCompiledFile(f), source, modified);
+        } catch (final IOException ex) {
+            this.humanity.getLogger().warning("Could not compile " + f.getName() + ": " + ex.getMessage());
+        }
+        return cp;
+    }
+
+    /**
+     * Parses one CardPack, logging how long it took to parse.
+     *
+     * @param name Name of the file the CardPack is contained in
+     * @return CardPack or null
+     */
+    @Nullable
+    private CardPack parseCardPackTimed(@NotNull final String name) {
+        final long start = System.nanoTime();
+        final CardPack cp = this.parseCardPack(name);
+        final long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        if (cp != null) {
+            this.humanity.getLogger().info(String.format("Parsed %s (%d black, %d white) in %d ms.", name, cp.blackCount(), cp.whiteCount(), millis));
+        }
         return cp;
     }
 
     /**
      * Returns a Collection of CardPacks given an array of their file names. This calls the {@link #parseCardPack}
      * method, but all null results are filtered out of the returned Collection.
+     * <p/>
+     * The packs are parsed in parallel on a pool with at most one thread per processor. The returned Collection is
+     * always in the same order as the given names, and the time taken to parse each pack is logged.
      *
      * @param names Array of names of files CardPacks are contained in
      * @return Collection not containing null
@@ -121,7 +223,30 @@ public class CardPackParser {
     @NotNull
     public Collection<CardPack> parseCardPacks(@NotNull final String[] names) {
         Preconditions.checkNotNull(names, "names was null");
-        return Arrays.stream(names).map(this::parseCardPack).filter(cp -> cp != null).collect(Collectors.toCollection(ArrayList::new));
+        if (names.length < 1) return new ArrayList<>();
+        final int threads = Math.min(names.length, Runtime.getRuntime().availableProcessors());
+        final ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<CardPack>> futures = new ArrayList<>(names.length);
+            for (final String name : names) {
+                futures.add(pool.submit(() -> this.parseCardPackTimed(name)));
+            }
+            final List<CardPack> cardPacks = new ArrayList<>(names.length);
+            for (int i = 0; i < names.length; i++) {
+                try {
+                    final CardPack cp = futures.get(i).get();
+                    if (cp != null) cardPacks.add(cp);
+                } catch (final ExecutionException ex) {
+                    this.humanity.getLogger().warning("Could not parse " + names[i] + ": " + ex.getCause());
+                }
+            }
+            return cardPacks;
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while parsing card packs", ex);
+        } finally {
+            pool.shutdownNow();
+        }
     }
 
     /**
@@ -161,7 +286,7 @@ public class CardPackParser {
             ParseStage parseInternal(@NotNull final CardPack cp, @NotNull final String line) {
                 Preconditions.checkNotNull(cp, "cp was null");
                 Preconditions.checkNotNull(line, "line was null");
-                cp.addCard(new BlackCard(cp, line));
+                cp.addCard(CardRegistry.register(new BlackCard(cp, line)));
                 return this;
             }
         },
@@ -174,7 +299,7 @@ public class CardPackParser {
             ParseStage parseInternal(@NotNull final CardPack cp, @NotNull final String line) {
                 Preconditions.checkNotNull(cp, "cp was null");
                 Preconditions.checkNotNull(line, "line was null");
-                cp.addCard(new WhiteCard(cp, line));
+                cp.addCard(CardRegistry.register(new WhiteCard(cp, line)));
                 return this;
             }
         };
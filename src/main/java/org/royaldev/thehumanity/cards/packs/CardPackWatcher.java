@@ -0,0 +1,124 @@
+package org.royaldev.thehumanity.cards.packs;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.royaldev.thehumanity.TheHumanity;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches the card pack directory and reloads any loaded pack whose file changes. Reloading happens on the watcher's
+ * own thread, and the new pack is swapped in with {@link TheHumanity#replaceCardPack(CardPack, CardPack)}, so running
+ * games pick up added cards straight away.
+ */
+public class CardPackWatcher implements Runnable {
+
+    /**
+     * How long the directory must go without changes before changed packs are reloaded, in milliseconds.
+     */
+    private static final long QUIET_PERIOD = 500L;
+    private final TheHumanity humanity;
+    private final Path directory;
+
+    /**
+     * Creates a watcher for the given directory.
+     *
+     * @param humanity  Instance to reload packs for
+     * @param directory Directory containing card pack files
+     */
+    public CardPackWatcher(@NotNull final TheHumanity humanity, @NotNull final Path directory) {
+        Preconditions.checkNotNull(humanity, "humanity was null");
+        Preconditions.checkNotNull(directory, "directory was null");
+        this.humanity = humanity;
+        this.directory = directory;
+    }
+
+    /**
+     * Starts a daemon thread running a new watcher for the given directory.
+     *
+     * @param humanity  Instance to reload packs for
+     * @param directory Directory containing card pack files
+     * @return The started thread
+     */
+    @NotNull
+    public static Thread start(@NotNull final TheHumanity humanity, @NotNull final Path directory) {
+        final Thread t = new Thread(new CardPackWatcher(humanity, directory), "CardPackWatcher");
+        t.setDaemon(true);
+        t.start();
+        return t;
+    }
+
+    /**
+     * Adds the names of all changed card pack files in a key's events to the given set, then resets the key.
+     *
+     * @param key     Key to poll events from
+     * @param changed Set of file names to add to
+     */
+    private void collect(@NotNull final WatchKey key, @NotNull final Set<String> changed) {
+        for (final WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) continue;
+            final String fileName = event.context().toString();
+            if (fileName.endsWith(".cards")) changed.add(fileName);
+        }
+        key.reset();
+    }
+
+    /**
+     * Parses a changed card pack file again and swaps it in for the loaded pack of the same name. Packs that are not
+     * loaded are ignored.
+     *
+     * @param fileName Name of the changed file
+     */
+    private void reload(@NotNull final String fileName) {
+        final CardPack oldPack = this.humanity.getCardPack(CardPackParser.getNameFromFileName(fileName));
+        if (oldPack == null) return;
+        final CardPack newPack = new CardPackParser(this.humanity).parseCardPack(fileName);
+        if (newPack == null) return;
+        final CardPackDiff diff = this.humanity.replaceCardPack(oldPack, newPack);
+        this.humanity.getLogger().info(String.format(
+            "Reloaded %s: +%d/-%d black, +%d/-%d white.",
+            newPack.getName(),
+            diff.getAddedBlackCards().size(),
+            diff.getRemovedBlackCards().size(),
+            diff.getAddedWhiteCards().size(),
+            diff.getRemovedWhiteCards().size()
+        ));
+    }
+
+    @Override
+    public void run() {
+        try (final WatchService ws = FileSystems.getDefault().newWatchService()) {
+            this.directory.register(ws, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<String> changed = new LinkedHashSet<>();
+                this.collect(ws.take(), changed);
+                // Editors often save in several writes, so wait for the directory to settle before parsing
+                WatchKey key;
+                while ((key = ws.poll(CardPackWatcher.QUIET_PERIOD, TimeUnit.MILLISECONDS)) != null) {
+                    this.collect(key, changed);
+                }
+                for (final String fileName : changed) {
+                    try {
+                        this.reload(fileName);
+                    } catch (final RuntimeException ex) {
+                        this.humanity.getLogger().warning("Could not reload " + fileName + ": " + ex);
+                    }
+                }
+            }
+        } catch (final IOException ex) {
+            this.humanity.getLogger().warning("Could not watch " + this.directory + ": " + ex.getMessage());
+        } catch (final InterruptedException | ClosedWatchServiceException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,400 @@
+package org.royaldev.thehumanity.cards.packs;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.cards.Card;
+import org.royaldev.thehumanity.cards.CardRegistry;
+import org.royaldev.thehumanity.cards.types.BlackCard;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.BiFunction;
+import java.util.zip.CRC32;
+
+/**
+ * A CardPack backed by a memory-mapped file in the compiled card pack format. Nothing but the header is read when the
+ * pack is opened; the text of a card is decoded and the card is created the first time it is accessed.
+ * <p/>
+ * The format is big-endian and laid out as follows:
+ * <ol>
+ * <li>Header: magic number and format version as ints, the size, modification time and CRC-32 of the text pack it was
+ * compiled from as longs, then black card count and white card count as ints</li>
+ * <li>Offset table: one int per string plus one, giving where each string starts in the body</li>
+ * <li>Body: the UTF-8 bytes of the name, description, author, black cards and white cards, in that order</li>
+ * </ol>
+ * Compiled packs cannot have cards added to them. Whether one is still up to date with its text pack is checked first
+ * with {@link #isStampedWith(long, long)}, which needs only the text pack's size and modification time. Only if those
+ * differ does {@link #isCompiledFrom(byte[])} need to compare the contents.
+ */
+public class CompiledCardPack implements CardPack {
+
+    /**
+     * The extension used for compiled card pack files.
+     */
+    public static final String EXTENSION = ".cardsb";
+    private static final int MAGIC = 0x54484350;
+    private static final int VERSION = 3;
+    private static final int HEADER_SIZE = 40;
+    private static final int SOURCE_MODIFIED = 16;
+    private static final int NAME = 0;
+    private static final int DESCRIPTION = 1;
+    private static final int AUTHOR = 2;
+    private static final int METADATA_STRINGS = 3;
+    private final MappedByteBuffer buffer;
+    private final long sourceSize;
+    private final long sourceModified;
+    private final long sourceChecksum;
+    private final int blackCount;
+    private final int whiteCount;
+    private final int bodyStart;
+    private final String name;
+    private final LazyCardList<BlackCard> blackCards;
+    private final LazyCardList<WhiteCard> whiteCards;
+    private volatile String description;
+    private volatile String author;
+    // Guarded by this
+    private boolean released;
+
+    private CompiledCardPack(@NotNull final MappedByteBuffer buffer, @NotNull final File f) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < CompiledCardPack.HEADER_SIZE || buffer.getInt(0) != CompiledCardPack.MAGIC) {
+            throw new IOException(f.getName() + " is not a compiled card pack.");
+        }
+        if (buffer.getInt(4) != CompiledCardPack.VERSION) {
+            throw new IOException(f.getName() + " was compiled with an unsupported version.");
+        }
+        this.sourceSize = buffer.getLong(8);
+        this.sourceModified = buffer.getLong(CompiledCardPack.SOURCE_MODIFIED);
+        this.sourceChecksum = buffer.getLong(24);
+        this.blackCount = buffer.getInt(32);
+        this.whiteCount = buffer.getInt(36);
+        final long strings = (long) CompiledCardPack.METADATA_STRINGS + this.blackCount + this.whiteCount;
+        final long bodyStart = CompiledCardPack.HEADER_SIZE + (strings + 1) * 4;
+        if (this.blackCount < 0 || this.whiteCount < 0 || bodyStart > buffer.capacity()) {
+            throw new IOException(f.getName() + " has a corrupt header.");
+        }
+        this.bodyStart = (int) bodyStart;
+        if (this.bodyStart + this.getOffset((int) strings) != buffer.capacity()) {
+            throw new IOException(f.getName() + " is truncated.");
+        }
+        this.name = this.decodeString(CompiledCardPack.NAME);
+        this.description = this.decodeNullableString(CompiledCardPack.DESCRIPTION);
+        this.author = this.decodeNullableString(CompiledCardPack.AUTHOR);
+        this.blackCards = new LazyCardList<>(CompiledCardPack.METADATA_STRINGS, this.blackCount, BlackCard::new);
+        this.whiteCards = new LazyCardList<>(CompiledCardPack.METADATA_STRINGS + this.blackCount, this.whiteCount, WhiteCard::new);
+    }
+
+    /**
+     * Gets the CRC-32 of the given bytes.
+     *
+     * @param bytes Bytes to check
+     * @return CRC-32
+     */
+    private static long checksum(@NotNull final byte[] bytes) {
+        final CRC32 crc = new CRC32();
+        crc.update(bytes);
+        return crc.getValue();
+    }
+
+    /**
+     * Writes the given CardPack to a file in the compiled format. The pack is written to a temporary file first, which
+     * then replaces the destination, so readers never see a partially written pack.
+     *
+     * @param cp             CardPack to compile
+     * @param destination    File to write to
+     * @param source         Contents of the text pack the CardPack was parsed from
+     * @param sourceModified Modification time of the text pack, in milliseconds since the epoch
+     * @throws IOException If the file could not be written
+     */
+    public static void compile(@NotNull final CardPack cp, @NotNull final File destination, @NotNull final byte[] source, final long sourceModified) throws IOException {
+        Preconditions.checkNotNull(cp, "cp was null");
+        Preconditions.checkNotNull(destination, "destination was null");
+        Preconditions.checkNotNull(source, "source was null");
+        final List<BlackCard> blackCards = cp.getBlackCards();
+        final List<WhiteCard> whiteCards = cp.getWhiteCards();
+        final List<byte[]> strings = new ArrayList<>(CompiledCardPack.METADATA_STRINGS + blackCards.size() + whiteCards.size());
+        strings.add(CompiledCardPack.encode(cp.getName()));
+        strings.add(CompiledCardPack.encode(cp.getDescription()));
+        strings.add(CompiledCardPack.encode(cp.getAuthor()));
+        blackCards.forEach(bc -> strings.add(CompiledCardPack.encode(bc.getRawText())));
+        whiteCards.forEach(wc -> strings.add(CompiledCardPack.encode(wc.getRawText())));
+        final File parent = destination.getAbsoluteFile().getParentFile();
+        if (!parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Could not create " + parent.getPath());
+        }
+        final File temp = new File(parent, destination.getName() + ".tmp");
+        try (final DataOutputStream dos = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            dos.writeInt(CompiledCardPack.MAGIC);
+            dos.writeInt(CompiledCardPack.VERSION);
+            dos.writeLong(source.length);
+            dos.writeLong(sourceModified);
+            dos.writeLong(CompiledCardPack.checksum(source));
+            dos.writeInt(blackCards.size());
+            dos.writeInt(whiteCards.size());
+            int offset = 0;
+            for (final byte[] string : strings) {
+                dos.writeInt(offset);
+                offset += string.length;
+            }
+            dos.writeInt(offset);
+            for (final byte[] string : strings) {
+                dos.write(string);
+            }
+        }
+        Files.move(temp.toPath(), destination.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @NotNull
+    private static byte[] encode(@Nullable final String string) {
+        return string == null ? new byte[0] : string.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Opens a compiled card pack by mapping its file into memory.
+     *
+     * @param f File containing the compiled pack
+     * @return CompiledCardPack
+     * @throws IOException If the file could not be mapped or is not a valid compiled pack
+     */
+    @NotNull
+    public static CompiledCardPack open(@NotNull final File f) throws IOException {
+        Preconditions.checkNotNull(f, "f was null");
+        try (final FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new CompiledCardPack(fc.map(FileChannel.MapMode.READ_ONLY, 0, fc.size()), f);
+        }
+    }
+
+    /**
+     * Records a new modification time for the text pack a compiled pack was compiled from, without writing the rest of
+     * the file again. Used when the text pack was touched but its contents did not change. Packs already opened keep
+     * the time they were opened with.
+     *
+     * @param f              File containing the compiled pack
+     * @param sourceModified Modification time of the text pack, in milliseconds since the epoch
+     * @throws IOException If the file could not be written
+     */
+    public static void restamp(@NotNull final File f, final long sourceModified) throws IOException {
+        Preconditions.checkNotNull(f, "f was null");
+        try (final FileChannel fc = FileChannel.open(f.toPath(), StandardOpenOption.WRITE)) {
+            final ByteBuffer stamp = ByteBuffer.allocate(8).putLong(0, sourceModified);
+            while (stamp.hasRemaining()) {
+                fc.write(stamp, CompiledCardPack.SOURCE_MODIFIED + stamp.position());
+            }
+        }
+    }
+
+    @Nullable
+    private String decodeNullableString(final int index) {
+        final String string = this.decodeString(index);
+        return string.isEmpty() ? null : string;
+    }
+
+    @NotNull
+    private String decodeString(final int index) {
+        final ByteBuffer slice = this.buffer.duplicate();
+        slice.limit(this.bodyStart + this.getOffset(index + 1));
+        slice.position(this.bodyStart + this.getOffset(index));
+        return StandardCharsets.UTF_8.decode(slice).toString();
+    }
+
+    private int getOffset(final int index) {
+        return this.buffer.getInt(CompiledCardPack.HEADER_SIZE + index * 4);
+    }
+
+    /**
+     * Compiled card packs are read-only, so this always throws.
+     *
+     * @param c Card that would be added
+     * @throws UnsupportedOperationException Always
+     */
+    @Override
+    public void addCard(@NotNull final Card c) {
+        throw new UnsupportedOperationException("Cards cannot be added to a compiled CardPack");
+    }
+
+    @Override
+    public int blackCount() {
+        return this.blackCount;
+    }
+
+    /**
+     * Compiled card packs are always frozen, so this does nothing.
+     */
+    @Override
+    public void freeze() {}
+
+    @Override
+    @Nullable
+    public String getAuthor() {
+        return this.author;
+    }
+
+    @Override
+    public void setAuthor(@Nullable final String author) {
+        this.author = author;
+    }
+
+    @Override
+    @NotNull
+    public List<BlackCard> getBlackCards() {
+        return this.blackCards;
+    }
+
+    @Override
+    @Nullable
+    public String getDescription() {
+        return this.description;
+    }
+
+    @Override
+    public void setDescription(@Nullable final String description) {
+        this.description = description;
+    }
+
+    @Override
+    @NotNull
+    public String getName() {
+        return this.name;
+    }
+
+    @Override
+    @NotNull
+    public List<WhiteCard> getWhiteCards() {
+        return this.whiteCards;
+    }
+
+    /**
+     * Checks if the text pack still has the size and modification time recorded when this pack was compiled. This needs
+     * no reading of the text pack, but a false result does not mean its contents changed; check
+     * {@link #isCompiledFrom(byte[])} then.
+     *
+     * @param sourceSize     Size of the text pack in bytes
+     * @param sourceModified Modification time of the text pack, in milliseconds since the epoch
+     * @return true if both match, false if otherwise
+     */
+    public boolean isStampedWith(final long sourceSize, final long sourceModified) {
+        return this.sourceSize == sourceSize && this.sourceModified == sourceModified;
+    }
+
+    /**
+     * Checks if this pack was compiled from the given text pack, by comparing its size and CRC-32 to the ones recorded
+     * when compiling.
+     *
+     * @param source Contents of the text pack
+     * @return true if up to date, false if the text pack has changed
+     */
+    public boolean isCompiledFrom(@NotNull final byte[] source) {
+        Preconditions.checkNotNull(source, "source was null");
+        return this.sourceSize == source.length && this.sourceChecksum == CompiledCardPack.checksum(source);
+    }
+
+    /**
+     * Releases the cards that have been created so far. Cards are registered as they are created, so the rest were
+     * never registered.
+     */
+    @Override
+    public void release() {
+        synchronized (this) {
+            if (this.released) return;
+            this.released = true;
+        }
+        this.blackCards.release();
+        this.whiteCards.release();
+    }
+
+    @Override
+    public int whiteCount() {
+        return this.whiteCount;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) return true;
+        if (!(obj instanceof CardPack)) return false;
+        final CardPack cp = (CardPack) obj;
+        return cp.getName().equals(this.getName());
+    }
+
+    @Override
+    public int hashCode() {
+        return this.name.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .omitNullValues()
+            .add("name", this.name)
+            .add("description", this.description)
+            .add("author", this.author)
+            .add("blackCards", this.blackCount)
+            .add("whiteCards", this.whiteCount)
+            .toString();
+    }
+
+    /**
+     * A read-only list of cards that creates each card from the mapped file the first time it is accessed. Once
+     * created, the same card is always returned for an index.
+     *
+     * @param <T> Type of card
+     */
+    private final class LazyCardList<T extends Card> extends AbstractList<T> implements RandomAccess {
+
+        private final int firstString;
+        private final AtomicReferenceArray<T> cards;
+        private final BiFunction<CardPack, String, T> factory;
+
+        private LazyCardList(final int firstString, final int size, @NotNull final BiFunction<CardPack, String, T> factory) {
+            this.firstString = firstString;
+            this.cards = new AtomicReferenceArray<>(size);
+            this.factory = factory;
+        }
+
+        @Override
+        public T get(final int index) {
+            final T card = this.cards.get(index);
+            if (card != null) return card;
+            synchronized (this) {
+                final T existing = this.cards.get(index);
+                if (existing != null) return existing;
+                final String rawText = CompiledCardPack.this.decodeString(this.firstString + index);
+                final T created = CardRegistry.register(this.factory.apply(CompiledCardPack.this, rawText));
+                this.cards.set(index, created);
+                return created;
+            }
+        }
+
+        private void release() {
+            synchronized (this) {
+                for (int i = 0; i < this.cards.length(); i++) {
+                    final T card = this.cards.get(i);
+                    if (card != null) CardRegistry.release(card);
+                }
+            }
+        }
+
+        @Override
+        public int size() {
+            return this.cards.length();
+        }
+    }
+}
@@ -2,13 +2,16 @@ package org.royaldev.thehumanity.cards.packs;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableList;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.royaldev.thehumanity.cards.Card;
+import org.royaldev.thehumanity.cards.CardRegistry;
 import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 /**
@@ -17,8 +20,10 @@ import java.util.List;
 public class MemoryCardPack implements CardPack {
 
     private final String name;
-    private final List<BlackCard> blackCards = new ArrayList<>();
-    private final List<WhiteCard> whiteCards = new ArrayList<>();
+    private volatile List<BlackCard> blackCards = new ArrayList<>();
+    private volatile List<WhiteCard> whiteCards = new ArrayList<>();
+    private volatile boolean frozen = false;
+    private boolean released = false;
     private String description;
     private String author;
 
@@ -38,10 +43,14 @@ public class MemoryCardPack implements CardPack {
      * @param c Card to add
      * @throws IllegalArgumentException If card wasn't a white card or black card.
      * @throws IllegalArgumentException If card didn't belong to this pack
+     * @throws IllegalStateException    If this pack has been frozen
      */
     @Override
-    public void addCard(@NotNull final Card c) {
+    public synchronized void addCard(@NotNull final Card c) {
         Preconditions.checkNotNull(c, "c was null");
+        if (this.frozen) {
+            throw new IllegalStateException("Cards cannot be added to a frozen CardPack");
+        }
         if (!c.getCardPack().equals(this)) {
             throw new IllegalArgumentException("Card did not belong to this CardPack");
         }
@@ -50,6 +59,27 @@ public class MemoryCardPack implements CardPack {
         else throw new IllegalArgumentException("Unknown card type!");
     }
 
+    /**
+     * Gets the amount of black cards in this pack.
+     *
+     * @return Amount of black cards
+     */
+    @Override
+    public int blackCount() {
+        return this.blackCards.size();
+    }
+
+    /**
+     * Freezes this pack, after which no more cards may be added. Freezing a frozen pack does nothing.
+     */
+    @Override
+    public synchronized void freeze() {
+        if (this.frozen) return;
+        this.blackCards = ImmutableList.copyOf(this.blackCards);
+        this.whiteCards = ImmutableList.copyOf(this.whiteCards);
+        this.frozen = true;
+    }
+
     /**
      * Gets the author of this pack. If no author was specified in the pack's metadata, this will return null.
      *
@@ -72,15 +102,15 @@ public class MemoryCardPack implements CardPack {
     }
 
     /**
-     * Gets all the black cards contained in this pack. Note that the list returned is a clone. Modifying it will not
-     * modify the pack.
+     * Gets all the black cards contained in this pack. The list returned is an unmodifiable view, not a copy. Until
+     * this pack is frozen, it reflects any cards added later.
      *
-     * @return Cloned list of black cards
+     * @return Unmodifiable list of black cards
      */
     @Override
     @NotNull
     public List<BlackCard> getBlackCards() {
-        return new ArrayList<>(this.blackCards);
+        return this.frozen ? this.blackCards : Collections.unmodifiableList(this.blackCards);
     }
 
     /**
@@ -116,15 +146,36 @@ public class MemoryCardPack implements CardPack {
     }
 
     /**
-     * Gets all the white cards contained in this pack. Note that the list return is a clone. Modifying it will not
-     * modify the pack.
+     * Gets all the white cards contained in this pack. The list returned is an unmodifiable view, not a copy. Until
+     * this pack is frozen, it reflects any cards added later.
      *
-     * @return Cloned list of white cards
+     * @return Unmodifiable list of white cards
      */
     @Override
     @NotNull
     public List<WhiteCard> getWhiteCards() {
-        return new ArrayList<>(this.whiteCards);
+        return this.frozen ? this.whiteCards : Collections.unmodifiableList(this.whiteCards);
+    }
+
+    /**
+     * Releases every card in this pack, which are taken to have been registered once each as they were added.
+     */
+    @Override
+    public synchronized void release() {
+        if (this.released) return;
+        this.released = true;
+        this.blackCards.forEach(CardRegistry::release);
+        this.whiteCards.forEach(CardRegistry::release);
+    }
+
+    /**
+     * Gets the amount of white cards in this pack.
+     *
+     * @return Amount of white cards
+     */
+    @Override
+    public int whiteCount() {
+        return this.whiteCards.size();
     }
 
     /**
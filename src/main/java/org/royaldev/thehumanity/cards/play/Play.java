@@ -29,7 +29,7 @@ public class Play implements Snapshottable<PlaySnapshot> {
     public Play(final Player player, final List<WhiteCard> whiteCards) {
         this.player = player;
         this.whiteCards.addAll(whiteCards);
-        this.handIndices = whiteCards.stream().mapToInt(wc -> this.player.getHand().getCards().indexOf(wc) + 1).toArray();
+        this.handIndices = whiteCards.stream().mapToInt(wc -> this.player.getHand().indexOf(wc) + 1).toArray();
     }
 
     public Play(final Player player, final List<WhiteCard> whiteCards, final int[] handIndices) {
@@ -7,7 +7,7 @@ import org.royaldev.thehumanity.cards.Card;
 import org.royaldev.thehumanity.cards.packs.CardPack;
 import org.royaldev.thehumanity.cards.play.Play;
 
-import java.util.regex.Matcher;
+import java.util.List;
 import java.util.regex.Pattern;
 
 /**
@@ -17,6 +17,12 @@ public class BlackCard extends Card {
 
     private static final Pattern blankPattern = Pattern.compile("((?<!\\\\)_)");
 
+    /**
+     * The literal pieces of the raw text around each blank, with escaped underscores unescaped. There is always one more
+     * segment than there are blanks.
+     */
+    private final String[] segments;
+
     /**
      * Constructs a new black card for the given pack with the given text. All blanks should be one underscore ("_").
      * Multiple underscores will result in multiple blanks.
@@ -26,42 +32,37 @@ public class BlackCard extends Card {
      */
     public BlackCard(final CardPack cardPack, final String rawText) {
         super(cardPack, rawText);
+        this.segments = BlackCard.blankPattern.split(this.rawText, -1);
+        for (int i = 0; i < this.segments.length; i++) {
+            this.segments[i] = this.segments[i].replace("\\_", "_");
+        }
     }
 
     /**
-     * Counts the matches found by applying a pattern to a string.
-     *
-     * @param p       Pattern to apply
-     * @param toCount String to count matche sin
-     * @return Number of matches
-     */
-    private int countMatches(@NotNull final Pattern p, @NotNull final String toCount) {
-        Preconditions.checkNotNull(p, "p was null");
-        Preconditions.checkNotNull(toCount, "toCount was null");
-        final Matcher m = p.matcher(toCount);
-        int count = 0;
-        while (m.find()) count++;
-        return count;
-    }
-
-    /**
-     * Returns a String with the blanks filled in by the given play.
+     * Returns a String with the blanks filled in by the given play. Extra white cards are ignored, and blanks without a
+     * white card are left as they are.
      *
      * @param p Play containing cards to fill blanks in with.
      * @return Filled in black card text
      */
     public String fillInBlanks(@NotNull final Play p) {
         Preconditions.checkNotNull(p, "p was null");
-        String filled = this.rawText;
-        for (final WhiteCard wc : p.getWhiteCards()) {
-            final Matcher m = BlackCard.blankPattern.matcher(filled);
-            try {
-                filled = m.replaceFirst(IRCFormat.BOLD + wc.getText().replaceAll("([\\\\\\$])", "\\\\$1") + IRCFormat.RESET);
-            } catch (final IndexOutOfBoundsException ex) {
-                ex.printStackTrace();
+        final List<WhiteCard> whiteCards = p.getWhiteCards();
+        final int blanks = this.getBlanks();
+        int capacity = this.rawText.length();
+        for (int i = 0; i < blanks && i < whiteCards.size(); i++) {
+            capacity += whiteCards.get(i).getText().length() + 2;
+        }
+        final StringBuilder sb = new StringBuilder(capacity);
+        for (int i = 0; i < blanks; i++) {
+            sb.append(this.segments[i]);
+            if (i < whiteCards.size()) {
+                sb.append(IRCFormat.BOLD).append(whiteCards.get(i).getText()).append(IRCFormat.RESET);
+            } else {
+                sb.append('_');
             }
         }
-        return filled;
+        return sb.append(this.segments[blanks]).toString();
     }
 
     /**
@@ -70,7 +71,7 @@ public class BlackCard extends Card {
      * @return Number of blanks
      */
     public int getBlanks() {
-        return this.countMatches(BlackCard.blankPattern, this.rawText);
+        return this.segments.length - 1;
     }
 
     /**
@@ -82,7 +82,8 @@ public abstract class InGameCommand extends NoticeableCommand {
 
     /**
      * Checks to see if the User performing this command is in a Game. If not, the User will be noticed and the method
-     * will return. If the User is in a game, {@link #onInGameCommand onInGameCommand()} is called.
+     * will return. If the User is in a game, {@link #onInGameCommand onInGameCommand()} is queued on the Game's
+     * executor, so it runs in order with everything else happening in that Game.
      *
      * @param event Event of receiving command
      * @param ci    Information received when this command was called
@@ -91,11 +92,24 @@ public abstract class InGameCommand extends NoticeableCommand {
     @Override
     public final void onCommand(@NotNull final ActorEvent<User> event, @NotNull final CallInfo ci, @NotNull final String[] args) {
         final Game g = this.getGame(event.getActor());
-        final Player p;
-        if (g == null || (p = g.getPlayer(event.getActor())) == null) {
+        if (g == null) {
             this.notice(event.getActor(), "You're not in a game.");
             return;
         }
-        this.onInGameCommand(event, ci, g, p, args);
+        g.execute(() -> {
+            // The User may have left between the lookup and now
+            final Player p = g.getPlayer(event.getActor());
+            if (p == null) {
+                this.notice(event.getActor(), "You're not in a game.");
+                return;
+            }
+            try {
+                this.onInGameCommand(event, ci, g, p, args);
+            } catch (final RuntimeException ex) {
+                final String message = "Unhandled command exception! " + ex.getClass().getSimpleName() + ": " + ex.getMessage();
+                this.notice(event.getActor(), message);
+                throw ex;
+            }
+        });
     }
 }
@@ -6,6 +6,7 @@ import org.kitteh.irc.client.library.element.User;
 import org.kitteh.irc.client.library.event.ActorEvent;
 import org.kitteh.irc.client.library.event.channel.ChannelMessageEvent;
 import org.royaldev.thehumanity.game.Game;
+import org.royaldev.thehumanity.game.Game.GameStatus;
 import org.royaldev.thehumanity.TheHumanity;
 import org.royaldev.thehumanity.commands.CallInfo;
 import org.royaldev.thehumanity.commands.Command;
@@ -32,25 +33,28 @@ public class JoinGameCommand extends NoticeableCommand {
         if (!(event instanceof ChannelMessageEvent)) return;
         final ChannelMessageEvent e = (ChannelMessageEvent) event;
         final User u = e.getActor();
-        final Game g = this.humanity.getGames().get(e.getChannel());
+        final Game g = this.humanity.getGameFor(e.getChannel());
         if (g == null) {
             this.notice(u, "There's no game right now. Start one with " + IRCFormat.BOLD + this.humanity.getPrefix() + "start" + IRCFormat.RESET + ".");
             return;
         }
-        if (g.hasPlayer(u.getNick())) {
+        final Game current = this.humanity.getGameFor(u);
+        if (current == g) {
             this.notice(u, "You can't join a game you're already in!");
             return;
         }
-        for (final Game game : this.humanity.getGames().values()) {
-            if (!game.hasPlayer(u.getNick())) continue;
+        if (current != null) {
             this.notice(u, "You can't be in more than one game at a time!");
             return;
         }
-        final Player p = g.createPlayer(u);
-        if (p == null) {
-            this.notice(u, "Could not join due to an internal error.");
-            return;
-        }
-        g.addPlayer(p);
+        g.execute(() -> {
+            if (g.getGameStatus() == GameStatus.ENDED) return;
+            final Player p = g.createPlayer(u);
+            if (p == null) {
+                this.notice(u, "Could not join due to an internal error.");
+                return;
+            }
+            g.addPlayer(p);
+        });
     }
 }
@@ -12,7 +12,6 @@ import org.royaldev.thehumanity.commands.NoticeableCommand;
 import org.royaldev.thehumanity.util.ConversionHelper;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Command(
     name = "loadcardpack",
@@ -36,18 +35,17 @@ public class LoadCardPackCommand extends NoticeableCommand {
         }
         // Get the names of the requested packs
         final List<String> names = CardPackParser.getListOfCardPackNames(args, this.humanity.getDefaultPacks());
-        // Get the corresponding card packs, filter out the nulls, then remove them
-        names.stream()
-            .map(this.humanity::getCardPack)
-            .filter(pack -> pack != null)
-            .forEach(this.humanity::removeCardPack);
-        // Download or parse each pack again, filter out the null packs
-        final List<CardPack> packs = names.stream()
-            .map(this.humanity::parseOrDownloadCardPack)
-            .filter(pack -> pack != null)
-            .collect(Collectors.toList());
-        // Re-add them
-        packs.forEach(this.humanity::addCardPack);
-        ConversionHelper.respond(event, "Loaded " + packs.size() + " pack" + (packs.size() == 1 ? "" : "s") + ".");
+        int loaded = 0;
+        for (final String name : names) {
+            // Download or parse the pack again, skipping it if that failed
+            final CardPack pack = this.humanity.parseOrDownloadCardPack(name);
+            if (pack == null) continue;
+            // Swap it in for the old version, which also updates running games, or add it if it's new
+            final CardPack old = this.humanity.getCardPack(name);
+            if (old == null) this.humanity.addCardPack(pack);
+            else this.humanity.replaceCardPack(old, pack);
+            loaded++;
+        }
+        ConversionHelper.respond(event, "Loaded " + loaded + " pack" + (loaded == 1 ? "" : "s") + ".");
     }
 }
@@ -40,8 +40,8 @@ public class PacksCommand extends IRCCommand {
      */
     private String generateCardPackMarkdown(final CardPack cp) {
         final StringBuilder sb = new StringBuilder();
-        final int blackCards = cp.getBlackCards().size();
-        final int whiteCards = cp.getWhiteCards().size();
+        final int blackCards = cp.blackCount();
+        final int whiteCards = cp.whiteCount();
         final int totalCards = blackCards + whiteCards;
         sb.append("## ").append(cp.getName()).append("\n");
         final String description = cp.getDescription();
@@ -64,10 +64,10 @@ public class PacksCommand extends IRCCommand {
         sb.append("|Total cards|").append(totalCards).append("|\n");
         sb.append("|Black cards|").append(blackCards).append(" (").append(PacksCommand.df.format((double) blackCards / (double) totalCards)).append(")|\n");
         sb.append("|White cards|").append(whiteCards).append(" (").append(PacksCommand.df.format((double) whiteCards / (double) totalCards)).append(")|\n");
-        if (cp.getBlackCards().size() > 0) {
+        if (blackCards > 0) {
             sb.append("|Random black card|").append("```").append(cp.getBlackCards().get(PacksCommand.r.nextInt(blackCards))).append("```|\n");
         }
-        if (cp.getWhiteCards().size() > 0) {
+        if (whiteCards > 0) {
             sb.append("|Random white card|").append("```").append(cp.getWhiteCards().get(PacksCommand.r.nextInt(whiteCards))).append("```|\n");
         }
         return sb.toString();
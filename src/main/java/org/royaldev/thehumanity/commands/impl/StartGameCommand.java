@@ -54,12 +54,14 @@ public class StartGameCommand extends NoticeableCommand {
             this.notice(u, "There is no game in this channel.");
             return;
         }
-        final Player p = g.getPlayer(u);
-        if (p == null || !p.equals(g.getHost()) && !this.humanity.hasChannelMode(g.getChannel(), p.getUser(), 'o')) {
-            this.notice(u, "There is already a game in this channel.");
-            return;
-        }
-        this.notice(u, "The countdown was" + (g.skipCountdown() ? "" : " not") + " skipped.");
+        g.execute(() -> {
+            final Player p = g.getPlayer(u);
+            if (p == null || !p.equals(g.getHost()) && !this.humanity.hasChannelMode(g.getChannel(), p.getUser(), 'o')) {
+                this.notice(u, "There is already a game in this channel.");
+                return;
+            }
+            this.notice(u, "The countdown was" + (g.skipCountdown() ? "" : " not") + " skipped.");
+        });
     }
 
     @Override
@@ -80,13 +82,18 @@ public class StartGameCommand extends NoticeableCommand {
             this.addDefaults(cardPacks);
         }
         final Game g = new Game(this.humanity, e.getChannel(), cardPacks);
-        this.humanity.getGames().put(e.getChannel(), g);
-        g.start();
-        final Player p = g.createPlayer(u);
-        if (p == null) {
-            this.notice(u, "You could not be set as host due to an internal error.");
+        if (!this.humanity.getGameRegistry().add(e.getChannel(), g)) {
+            this.rush(e, u);
             return;
         }
-        g.setHost(p);
+        g.execute(() -> {
+            g.start();
+            final Player p = g.createPlayer(u);
+            if (p == null) {
+                this.notice(u, "You could not be set as host due to an internal error.");
+                return;
+            }
+            g.setHost(p);
+        });
     }
 }
@@ -11,6 +11,7 @@ import org.royaldev.thehumanity.commands.IRCCommand.CommandType;
 import org.royaldev.thehumanity.commands.NoticeableCommand;
 import org.royaldev.thehumanity.game.Game;
 import org.royaldev.thehumanity.game.Game.GameEndCause;
+import org.royaldev.thehumanity.game.Game.GameStatus;
 import org.royaldev.thehumanity.player.Player;
 
 @Command(
@@ -37,11 +38,15 @@ public class StopGameCommand extends NoticeableCommand {
             this.notice(u, "No game in this channel!");
             return;
         }
-        final Player p = g.getPlayer(u);
-        if (!g.getHost().equals(p) && !this.humanity.hasChannelMode(g.getChannel(), u, 'o')) {
-            this.notice(u, "You're not an op or the host!");
-            return;
-        }
-        g.stop(GameEndCause.STOPPED_BY_COMMAND);
+        g.execute(() -> {
+            // Another stop may have been queued first
+            if (g.getGameStatus() == GameStatus.ENDED) return;
+            final Player p = g.getPlayer(u);
+            if (!g.getHost().equals(p) && !this.humanity.hasChannelMode(g.getChannel(), u, 'o')) {
+                this.notice(u, "You're not an op or the host!");
+                return;
+            }
+            g.stop(GameEndCause.STOPPED_BY_COMMAND);
+        });
     }
 }
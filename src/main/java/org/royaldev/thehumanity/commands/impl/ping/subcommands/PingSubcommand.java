@@ -62,7 +62,7 @@ public class PingSubcommand extends PingListSubcommand {
         }
         final PingRegistry pr = this.humanity.getPingRegistry();
         this.updateLastUsedTime();
-        pr.sendNotifications(u, event.getChannel(), this.humanity.getBot(), whoX);
+        pr.sendNotifications(u, event.getChannel(), this.humanity.getOutboundQueue(), whoX);
         this.notice(u, "Notices sent.");
     }
 }
@@ -19,20 +19,24 @@ import org.royaldev.thehumanity.game.round.Round;
 import org.royaldev.thehumanity.game.round.Round.RoundEndCause;
 import org.royaldev.thehumanity.game.round.Round.RoundStage;
 import org.royaldev.thehumanity.game.round.RoundSnapshot;
+import org.royaldev.thehumanity.outbound.Priority;
 import org.royaldev.thehumanity.player.Hand;
 import org.royaldev.thehumanity.player.Player;
 import org.royaldev.thehumanity.util.DescendingValueComparator;
 import org.royaldev.thehumanity.util.FakeUser;
+import org.royaldev.thehumanity.util.HashedWheelTimer.Timeout;
+import org.royaldev.thehumanity.util.NickMatcher;
+import org.royaldev.thehumanity.util.SerialExecutor;
 import org.royaldev.thehumanity.util.Snapshottable;
 import org.royaldev.thehumanity.util.json.JSONSerializable;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -49,12 +53,28 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     private final List<Player> historicPlayers = Collections.synchronizedList(new ArrayList<>());
     private final Deck deck;
     private final List<HouseRule> houseRules = Lists.newArrayList();
-    private final List<RoundSnapshot> previousRounds = Lists.newArrayList();
+    /**
+     * The finished rounds of this game. Only the last few are kept in memory.
+     */
+    private final RoundLog previousRounds;
     private final Player randoCardrissian = new Player(new FakeUser("Rando Cardrissian"));
+    /**
+     * Runs every command, timer and membership event for this game, one at a time.
+     */
+    private final SerialExecutor executor;
+    /**
+     * Sends the lifecycle of this game to anyone watching it on the web.
+     */
+    private final GameFeed feed;
+    private final PlayerIndex playerIndex = new PlayerIndex();
     private Channel channel;
     private CurrentRound currentRound = null;
     private Player host = null;
-    private ScheduledFuture countdownTask;
+    private Timeout countdownTask;
+    /**
+     * Matches the nicks in the channel. It is built from the channel snapshot, then kept up to date by membership events.
+     */
+    private volatile NickMatcher antiPingMatcher = null;
     private GameStatus gameStatus = GameStatus.IDLE;
     private boolean hostWasVoiced = false;
     private long startTime, endTime;
@@ -66,7 +86,10 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         Preconditions.checkNotNull(cardPacks, "cardPacks was null");
         this.humanity = humanity;
         this.channel = channel;
+        this.previousRounds = new RoundLog(5, humanity.getLogger());
         this.deck = new Deck(cardPacks);
+        this.executor = new SerialExecutor(humanity.getGameExecutor(), humanity.getLogger());
+        this.feed = new GameFeed(humanity.getGameTimer(), humanity.getLogger());
         this.addHouseRule(HouseRule.REBOOTING_THE_UNIVERSE);
     }
 
@@ -80,10 +103,21 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         switch (hr) {
             case RANDO_CARDRISSIAN:
                 this.historicPlayers.add(this.randoCardrissian);
+                this.playerIndex.addHistoric(this.randoCardrissian);
                 break;
         }
     }
 
+    /**
+     * Tells anyone watching who is playing and who the host is.
+     */
+    private void publishPlayers() {
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("players", this.getPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()));
+        data.put("host", this.host == null ? null : this.host.getUser().getNick());
+        this.feed.publish("players", data);
+    }
+
     /**
      * Adds a CardPack to this Game.
      *
@@ -124,9 +158,11 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
             synchronized (this.historicPlayers) {
                 this.historicPlayers.add(player);
             }
+            this.playerIndex.add(player, this.humanity.getWhoX().getAccount(player.getUser().getNick()));
         }
+        this.humanity.getGameRegistry().indexPlayer(this, player);
         this.update();
-        final int totalCards = this.getDeck().getCardPacks().stream().mapToInt(cp -> cp.getWhiteCards().size()).sum();
+        final int totalCards = this.getDeck().getCardPacks().stream().mapToInt(CardPack::whiteCount).sum();
         if (this.players.size() * 10 >= totalCards) {
             this.sendMessage(IRCFormat.BOLD + "Not enough white cards to play!");
             this.stop(GameEndCause.NOT_ENOUGH_WHITE_CARDS);
@@ -134,7 +170,8 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         }
         this.deal(player);
         if (this.gameStatus != GameStatus.JOINING) this.showCards(player);
-        this.sendMessage(IRCFormat.BOLD + player.getUser().getNick() + IRCFormat.RESET + " has joined the game!");
+        this.sendMessage(IRCFormat.BOLD + player.getUser().getNick() + IRCFormat.RESET + " has joined the game!", Priority.COSMETIC);
+        this.publishPlayers();
     }
 
     /**
@@ -159,13 +196,19 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * @return Reformatted message
      */
     @NotNull
-    public String antiPing(@NotNull String message) {
+    public String antiPing(@NotNull final String message) {
         Preconditions.checkNotNull(message, "message was null");
-        for (final String nickname : this.channel.getNicknames()) {
-            if (nickname.length() <= 1) continue;
-            message = message.replace(nickname, nickname.substring(0, 1) + "\u200b" + nickname.substring(1));
-        }
-        return message;
+        return this.getAntiPingMatcher().antiPing(message);
+    }
+
+    /**
+     * Adds a nick that joined the channel to the anti-ping matcher.
+     *
+     * @param nick Nick that joined
+     */
+    public void addAntiPingNick(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        this.antiPingMatcher = this.getAntiPingMatcher().with(nick);
     }
 
     /**
@@ -203,6 +246,17 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         }
     }
 
+    /**
+     * Queues a task on this game's executor. Tasks run one at a time, in the order they were queued, so anything that
+     * changes the game or its current round should go through here.
+     *
+     * @param task Task to run
+     */
+    public void execute(@NotNull final Runnable task) {
+        Preconditions.checkNotNull(task, "task was null");
+        this.executor.execute(task);
+    }
+
     /**
      * Creates a String with the current card counts.
      *
@@ -233,6 +287,24 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     private void setChannel(@NotNull final Channel channel) {
         Preconditions.checkNotNull(channel, "channel was null");
         this.channel = channel;
+        // Membership events keep the matcher current, so only rebuild it if it has clearly missed some
+        final NickMatcher matcher = this.antiPingMatcher;
+        if (matcher != null && matcher.getNicks().size() != channel.getNicknames().size()) this.antiPingMatcher = null;
+    }
+
+    /**
+     * Gets the matcher for the nicks in the channel, building it from the channel snapshot if needed.
+     *
+     * @return NickMatcher
+     */
+    @NotNull
+    private NickMatcher getAntiPingMatcher() {
+        NickMatcher matcher = this.antiPingMatcher;
+        if (matcher == null) {
+            matcher = NickMatcher.of(this.channel.getNicknames());
+            this.antiPingMatcher = matcher;
+        }
+        return matcher;
     }
 
     /**
@@ -269,6 +341,26 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         return this.endTime;
     }
 
+    /**
+     * Gets the live feed of this game.
+     *
+     * @return GameFeed
+     */
+    @NotNull
+    public GameFeed getFeed() {
+        return this.feed;
+    }
+
+    /**
+     * Gets the executor that runs this game's tasks in order.
+     *
+     * @return SerialExecutor
+     */
+    @NotNull
+    public SerialExecutor getExecutor() {
+        return this.executor;
+    }
+
     /**
      * Gets the current status of this game.
      *
@@ -352,10 +444,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     @Nullable
     public Player getPlayer(final User u) {
         if (u == null) return null;
-        return this.getPlayers().stream()
-            .filter(p -> this.humanity.usersMatch(u, p.getUser()))
-            .findFirst()
-            .orElse(null);
+        return this.playerIndex.get(u.getNick());
     }
 
     /**
@@ -367,9 +456,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     @Nullable
     public Player getPlayer(final Player p) {
         if (p == null) return null;
-        final int index = this.getPlayers().indexOf(p);
-        if (index < 0) return null;
-        return this.getPlayers().get(index);
+        return this.playerIndex.get(p.getUser().getNick());
     }
 
     /**
@@ -381,12 +468,30 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     @Nullable
     public Player getPlayer(final String name) {
         if (name == null) return null;
-        return this.getPlayer(
-            this.channel.getUsers().stream()
-                .filter(user -> user.getNick().equalsIgnoreCase(name))
-                .findFirst()
-                .orElse(null)
-        );
+        return this.playerIndex.get(name);
+    }
+
+    /**
+     * Gets a Player that has played in this game while identified to the given services account.
+     *
+     * @param account Services account of the Player
+     * @return Player or null
+     */
+    @Nullable
+    public Player getPlayerByAccount(@NotNull final String account) {
+        Preconditions.checkNotNull(account, "account was null");
+        return this.playerIndex.getByAccount(account);
+    }
+
+    /**
+     * Gets the number of players in this game, without copying the list.
+     *
+     * @return Player count
+     */
+    public int getPlayerCount() {
+        synchronized (this.players) {
+            return this.players.size();
+        }
     }
 
     /**
@@ -402,7 +507,8 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     }
 
     /**
-     * Gets an unmodifiable list of previous rounds as snapshots.
+     * Gets an unmodifiable list of previous rounds as snapshots. Older rounds are read from the disk as they are
+     * accessed, so callers should not hold on to the list after the game has ended.
      *
      * @return Unmodifiable list of previous round snapshots
      */
@@ -425,6 +531,18 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         return this.startTime;
     }
 
+    /**
+     * Gets the score of every player that has played in this game.
+     *
+     * @return Map of nicks to scores
+     */
+    @NotNull
+    public Map<String, Integer> getScores() {
+        synchronized (this.historicPlayers) {
+            return this.historicPlayers.stream().collect(Collectors.toMap(p -> p.getUser().getNick(), Player::getScore));
+        }
+    }
+
     /**
      * Checks to see if the game has enough players to continue. If it does not, the game will end.
      *
@@ -466,7 +584,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * @return true if player is in the game, false if otherwise
      */
     public boolean hasPlayer(final Player p) {
-        return this.players.contains(p);
+        return this.getPlayer(p) != null;
     }
 
     /**
@@ -491,11 +609,13 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
     public void processStatus(final GameStatus newStatus) {
         if (newStatus == GameStatus.IDLE) return;
         else if (newStatus == GameStatus.JOINING) {
-            this.countdownTask = this.humanity.getThreadPool().scheduleAtFixedRate(new GameCountdown(), 0L, 15L, TimeUnit.SECONDS);
+            final GameCountdown countdown = new GameCountdown();
+            this.countdownTask = this.humanity.getGameTimer().scheduleAtFixedRate(() -> this.execute(countdown), 0L, 15L, TimeUnit.SECONDS);
         }
         switch (newStatus) {
             case JOINING:
                 this.startTime = System.currentTimeMillis();
+                this.feed.publish("status", Collections.singletonMap("status", GameStatus.JOINING));
                 final StringBuilder sb = new StringBuilder();
                 sb.append(IRCFormat.BOLD).append("Card packs for this game:").append(IRCFormat.RESET).append(" ");
                 this.getDeck().getCardPacks().stream().forEach(cp -> sb.append(cp.getName()).append(", "));
@@ -508,6 +628,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
                 if (!this.hasEnoughPlayers()) return;
                 final CurrentRound currentRound = this.getCurrentRound();
                 final boolean hadRound = currentRound != null;
+                if (!hadRound) this.feed.publish("status", Collections.singletonMap("status", GameStatus.PLAYING));
                 if (hadRound) {
                     this.previousRounds.add(currentRound.takeSnapshot());
                     this.showScores();
@@ -531,21 +652,37 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
                 if (hadRound) currentRound.cancelReminderTask();
                 this.currentRound = new CurrentRound(this, !hadRound ? 1 : currentRound.getNumber() + 1, blackCard, this.hasHouseRule(HouseRule.GOD_IS_DEAD) ? null : this.getPlayers().get(index));
                 this.deal();
-                this.sendMessage(" ");
-                this.sendMessage(IRCFormat.BOLD + "Round " + this.getCurrentRound().getNumber() + IRCFormat.RESET + "!");
+                // The whole round announcement is critical, so it is never reordered
+                this.sendMessage(" ", Priority.CRITICAL);
+                this.sendMessage(IRCFormat.BOLD + "Round " + this.getCurrentRound().getNumber() + IRCFormat.RESET + "!", Priority.CRITICAL);
                 if (!this.hasHouseRule(HouseRule.GOD_IS_DEAD)) {
                     final Player czar = this.getCurrentRound().getCzar();
                     if (czar == null) {
                         throw new MissingCzarException();
                     }
-                    this.sendMessage(IRCFormat.BOLD + czar.getUser().getNick() + IRCFormat.RESET + " is the card czar.");
+                    this.sendMessage(IRCFormat.BOLD + czar.getUser().getNick() + IRCFormat.RESET + " is the card czar.", Priority.CRITICAL);
                 }
-                this.sendMessage(IRCFormat.BOLD + this.getCurrentRound().getBlackCard().getText());
+                this.sendMessage(IRCFormat.BOLD + this.getCurrentRound().getBlackCard().getText(), Priority.CRITICAL);
                 this.getCurrentRound().advanceStage();
                 break;
         }
     }
 
+    /**
+     * Removes a nick that left the channel from the anti-ping matcher. The nick is matched ignoring case.
+     *
+     * @param nick Nick that left
+     * @return true if the nick was in the matcher, false if otherwise
+     */
+    public boolean removeAntiPingNick(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        final NickMatcher matcher = this.getAntiPingMatcher();
+        final NickMatcher without = matcher.without(nick);
+        if (without == matcher) return false;
+        this.antiPingMatcher = without;
+        return true;
+    }
+
     /**
      * Removes a CardPack from this Game. If sweep is true, any cards in players' hands will be removed if they belonged
      * to the removed pack. If cards are removed, new cards will be dealt, and the affected players will have their
@@ -561,7 +698,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         this.historicPlayers.forEach(p -> {
             if (!p.getHand().removeCards(cp.getWhiteCards())) return;
             this.deal(p);
-            p.getUser().sendNotice("Your hand has changed as a result of card pack changes. Here's your new hand!");
+            this.sendNotice(p, "Your hand has changed as a result of card pack changes. Here's your new hand!", Priority.CRITICAL);
             this.showCards(p);
         });
         return true;
@@ -587,9 +724,13 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         synchronized (this.players) {
             if (!this.players.remove(p)) return;
         }
-        this.sendMessage(IRCFormat.BOLD + p.getUser().getNick() + IRCFormat.RESET + " has left the game.");
+        this.playerIndex.remove(p);
+        if (this.getCurrentRound() != null) this.getCurrentRound().playerLeft(p);
+        this.humanity.getGameRegistry().unindexPlayer(this, p);
+        this.sendMessage(IRCFormat.BOLD + p.getUser().getNick() + IRCFormat.RESET + " has left the game.", Priority.COSMETIC);
         if (this.host.equals(p)) this.nextHost();
         this.update();
+        this.publishPlayers();
         if (this.getCurrentRound() != null) {
             if (!this.hasEnoughPlayers()) return;
             if (p.equals(this.getCurrentRound().getCzar())) {
@@ -615,13 +756,67 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         this.removePlayer(this.getPlayer(name));
     }
 
+    /**
+     * Updates a Player, current or not, that has changed its nick.
+     *
+     * @param oldNick Nick the Player had
+     * @param newUser User with the new nick
+     */
+    public void renamePlayer(@NotNull final String oldNick, @NotNull final User newUser) {
+        Preconditions.checkNotNull(oldNick, "oldNick was null");
+        Preconditions.checkNotNull(newUser, "newUser was null");
+        final Player p = this.playerIndex.getHistoric(oldNick);
+        if (p == null) return;
+        p.setUser(newUser);
+        this.playerIndex.rename(oldNick, p);
+    }
+
     /**
      * Sends a message parsed through {@link #antiPing(String)} to the channel.
      *
      * @param message Message to send
      */
     public void sendMessage(final String message) {
-        this.channel.sendMessage(this.antiPing(message));
+        this.sendMessage(message, Priority.NORMAL);
+    }
+
+    /**
+     * Sends a message parsed through {@link #antiPing(String)} to the channel, with the given priority.
+     *
+     * @param message  Message to send
+     * @param priority Priority of the message
+     */
+    public void sendMessage(@NotNull final String message, @NotNull final Priority priority) {
+        this.humanity.getOutboundQueue().sendMessage(this.channel.getName(), this.antiPing(message), priority);
+    }
+
+    /**
+     * Sends messages parsed through {@link #antiPing(String)} to the channel. The messages may be packed into fewer
+     * lines.
+     *
+     * @param messages Messages to send, in order
+     * @param priority Priority of the messages
+     */
+    public void sendPackedMessages(@NotNull final List<String> messages, @NotNull final Priority priority) {
+        Preconditions.checkNotNull(messages, "messages was null");
+        this.humanity.getOutboundQueue().sendPackedMessages(
+            this.channel.getName(),
+            messages.stream().map(this::antiPing).collect(Collectors.toList()),
+            priority
+        );
+    }
+
+    /**
+     * Sends a notice to a Player. Nothing is sent to fake players, such as Rando Cardrissian.
+     *
+     * @param p        Player to send to
+     * @param notice   Notice to send
+     * @param priority Priority of the notice
+     */
+    public void sendNotice(@NotNull final Player p, @NotNull final String notice, @NotNull final Priority priority) {
+        Preconditions.checkNotNull(p, "p was null");
+        if (p.getUser() instanceof FakeUser) return;
+        this.humanity.getOutboundQueue().sendNotice(p.getUser().getNick(), notice, priority);
     }
 
     /**
@@ -631,20 +826,18 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * @return true if data was applied, false if otherwise
      */
     public boolean setOldUserData(final Player newPlayer) {
-        final Player oldPlayer;
-        synchronized (this.historicPlayers) {
-            if (this.historicPlayers.contains(newPlayer)) {
-                oldPlayer = this.historicPlayers.get(this.historicPlayers.indexOf(newPlayer));
-            } else return false;
-        }
+        final Player oldPlayer = this.playerIndex.getHistoric(newPlayer.getUser().getNick());
+        if (oldPlayer == null) return false;
         final Hand<WhiteCard> hand = newPlayer.getHand();
         hand.clearHand();
-        hand.addCards(oldPlayer.getHand().getCards());
+        hand.addCards(oldPlayer.getHand());
         newPlayer.clearWins();
         oldPlayer.getWins().forEach(newPlayer::addWin);
         synchronized (this.players) {
             this.players.add(oldPlayer);
         }
+        this.playerIndex.add(oldPlayer, this.humanity.getWhoX().getAccount(oldPlayer.getUser().getNick()));
+        if (this.getCurrentRound() != null) this.getCurrentRound().playerRejoined(oldPlayer);
         return true;
     }
 
@@ -652,7 +845,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * Displays the current card counts.
      */
     public void showCardCounts() {
-        this.sendMessage(this.getCardCounts());
+        this.sendMessage(this.getCardCounts(), Priority.COSMETIC);
     }
 
     /**
@@ -668,7 +861,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
             final WhiteCard wc = hand.getCard(i);
             sb.append(i + 1).append(". ").append(IRCFormat.BOLD).append(wc.getText()).append(IRCFormat.RESET).append(" ");
         }
-        p.getUser().sendNotice(sb.toString());
+        this.sendNotice(p, sb.toString(), Priority.CRITICAL);
     }
 
     /**
@@ -684,7 +877,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * Sends a message to the game channel, declaring who the host is.
      */
     public void showHost() {
-        this.sendMessage("The host is " + IRCFormat.BOLD + this.host.getUser().getNick() + IRCFormat.RESET + ".");
+        this.sendMessage("The host is " + IRCFormat.BOLD + this.host.getUser().getNick() + IRCFormat.RESET + ".", Priority.COSMETIC);
     }
 
     /**
@@ -711,10 +904,10 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * @return true if countdown was skipped, false if otherwise
      */
     public boolean skipCountdown() {
-        if (this.countdownTask == null || this.countdownTask.isCancelled() || this.countdownTask.isDone()) return false;
+        if (this.countdownTask == null || this.countdownTask.isDone()) return false;
         if (this.getPlayers().size() < 3) return false;
         this.advanceStage();
-        this.countdownTask.cancel(false);
+        this.countdownTask.cancel();
         return true;
     }
 
@@ -736,11 +929,11 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
             this.getCurrentRound().setEndCause(RoundEndCause.GAME_ENDED);
             this.previousRounds.add(this.getCurrentRound().takeSnapshot());
         }
-        this.humanity.getGames().remove(this.channel);
+        this.humanity.getGameRegistry().remove(this);
         if (this.host != null && !this.hostWasVoiced) {
             this.getChannel().newModeCommand().addModeChange(false, 'v', this.host.getUser()).execute();
         }
-        if (this.countdownTask != null) this.countdownTask.cancel(false);
+        if (this.countdownTask != null) this.countdownTask.cancel();
         if (this.getCurrentRound() != null) {
             this.getCurrentRound().cancelReminderTask();
         }
@@ -752,6 +945,12 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
         this.endTime = System.currentTimeMillis();
         this.gameStatus = GameStatus.ENDED;
         this.humanity.getHistory().saveGameSnapshot(this.takeSnapshot());
+        this.previousRounds.close();
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("endCause", this.endCause);
+        data.put("scores", this.getScores());
+        this.feed.publish("end", data);
+        this.feed.close();
     }
 
     @NotNull
@@ -767,7 +966,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
             this.getHouseRules().stream().map(HouseRule::getFriendlyName).collect(Collectors.toList()),
             this.getDeck().getCardPacks().stream().map(CardPack::getName).collect(Collectors.toList()),
             this.getPreviousRounds(),
-            this.getHistoricPlayers().stream().collect(Collectors.toMap(p -> p.getUser().getNick(), Player::getScore)),
+            this.getScores(),
             this.getHost().getUser().getNick(),
             this.getCurrentRound() == null ? 0 : this.getCurrentRound().getNumber()
         );
@@ -817,17 +1016,10 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
      * Updates the Users stored in all Players.
      */
     public void updateUsers() {
-        this.getHistoricPlayers().stream()
-            .forEach(p -> {
-                    final User newUser = this.channel.getUsers().stream()
-                        .filter(u -> u.getNick().equalsIgnoreCase(p.getUser().getNick()))
-                        .findFirst()
-                        .orElse(null);
-                    if (newUser == null) return;
-                    p.setUser(newUser);
-                }
-            );
-
+        for (final User u : this.channel.getUsers()) {
+            final Player p = this.playerIndex.getHistoric(u.getNick());
+            if (p != null) p.setUser(u);
+        }
     }
 
     public enum GameStatus {
@@ -864,9 +1056,11 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
 
         @Override
         public void run() {
+            // A tick may have been queued before the countdown was skipped or the game was stopped
+            if (Game.this.gameStatus != GameStatus.JOINING) return;
             final int seconds = this.runCount * 15;
             if (seconds > 0) {
-                Game.this.sendMessage(IRCFormat.BOLD.toString() + (this.runCount * 15) + IRCFormat.RESET + " seconds remain to join the game!");
+                Game.this.sendMessage(IRCFormat.BOLD.toString() + (this.runCount * 15) + IRCFormat.RESET + " seconds remain to join the game!", Priority.COSMETIC);
             }
             if (this.runCount-- < 1) {
                 if (Game.this.getPlayers().size() >= 3) {
@@ -875,7 +1069,7 @@ public class Game implements JSONSerializable, Snapshottable<GameSnapshot> {
                     Game.this.sendMessage(IRCFormat.BOLD + "Not enough players." + IRCFormat.RESET + " At least three people are required for the game to begin.");
                     Game.this.stop(GameEndCause.NOT_ENOUGH_PLAYERS);
                 }
-                Game.this.countdownTask.cancel(false);
+                Game.this.countdownTask.cancel();
             }
         }
     }
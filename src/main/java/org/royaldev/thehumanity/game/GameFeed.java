@@ -0,0 +1,190 @@
+package org.royaldev.thehumanity.game;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.royaldev.thehumanity.util.HashedWheelTimer;
+import org.royaldev.thehumanity.util.HashedWheelTimer.Timeout;
+import org.royaldev.thehumanity.util.json.JSONMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A live feed of what happens in one {@link Game}, sent to its watchers as Server-Sent Events. Each event is encoded
+ * once, then handed to every subscriber, which must accept it without blocking.
+ * <p/>
+ * While anyone is watching, a comment is sent every {@link #HEARTBEAT_SECONDS} seconds, so dead connections are found
+ * and proxies do not time out the stream. Between events, the feed costs nothing but that.
+ */
+public class GameFeed {
+
+    /**
+     * Seconds between heartbeats.
+     */
+    public static final long HEARTBEAT_SECONDS = 20L;
+    private static final byte[] HEARTBEAT = ":\n\n".getBytes(StandardCharsets.UTF_8);
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+    private final AtomicLong nextId = new AtomicLong(1L);
+    private final HashedWheelTimer timer;
+    private final Logger logger;
+    private Timeout heartbeatTask;
+    private boolean closed;
+
+    /**
+     * Creates a feed with no subscribers.
+     *
+     * @param timer  Timer to send heartbeats on
+     * @param logger Logger to report encoding failures to
+     */
+    public GameFeed(@NotNull final HashedWheelTimer timer, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(timer, "timer was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        this.timer = timer;
+        this.logger = logger;
+    }
+
+    /**
+     * Makes the bytes of one event.
+     *
+     * @param id    Id of the event
+     * @param event Name of the event
+     * @param json  Data of the event, which must be on one line
+     * @return Encoded event
+     */
+    @NotNull
+    static byte[] encode(final long id, @NotNull final String event, @NotNull final String json) {
+        return ("id: " + id + "\nevent: " + event + "\ndata: " + json + "\n\n").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private void send(@NotNull final byte[] frame) {
+        for (final Subscriber s : this.subscribers) {
+            // A subscriber that cannot keep up has to go
+            if (!s.offer(frame)) this.unsubscribe(s);
+        }
+    }
+
+    /**
+     * Ends the feed. Every subscriber is closed, and no new ones are accepted.
+     */
+    public void close() {
+        final List<Subscriber> closing;
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+            if (this.heartbeatTask != null) this.heartbeatTask.cancel();
+            closing = new ArrayList<>(this.subscribers);
+            this.subscribers.clear();
+        }
+        // Outside the lock, since subscribers may unsubscribe themselves while closing
+        closing.forEach(Subscriber::close);
+    }
+
+    /**
+     * Makes an event that is only sent to one subscriber, such as the state it starts from.
+     *
+     * @param event Name of the event
+     * @param json  Data of the event, which must be on one line
+     * @return Encoded event
+     */
+    @NotNull
+    public byte[] encodeEvent(@NotNull final String event, @NotNull final String json) {
+        Preconditions.checkNotNull(event, "event was null");
+        Preconditions.checkNotNull(json, "json was null");
+        return GameFeed.encode(this.nextId.getAndIncrement(), event, json);
+    }
+
+    /**
+     * Gets the number of subscribers.
+     *
+     * @return Subscribers
+     */
+    public int getSubscriberCount() {
+        return this.subscribers.size();
+    }
+
+    /**
+     * Sends an event to every subscriber. Nothing is encoded if nobody is watching.
+     *
+     * @param event Name of the event
+     * @param data  Data of the event, which will be converted to JSON
+     */
+    public void publish(@NotNull final String event, @NotNull final Object data) {
+        Preconditions.checkNotNull(event, "event was null");
+        Preconditions.checkNotNull(data, "data was null");
+        if (this.subscribers.isEmpty()) return;
+        final String json;
+        try {
+            json = JSONMapper.getWriter().writeValueAsString(data);
+        } catch (final JsonProcessingException ex) {
+            this.logger.log(Level.WARNING, "Could not encode " + event + " event", ex);
+            return;
+        }
+        this.send(this.encodeEvent(event, json));
+    }
+
+    /**
+     * Adds a subscriber.
+     *
+     * @param s Subscriber to add
+     * @return true if added, false if the feed was closed
+     */
+    public synchronized boolean subscribe(@NotNull final Subscriber s) {
+        Preconditions.checkNotNull(s, "s was null");
+        if (this.closed) return false;
+        this.subscribers.add(s);
+        if (this.heartbeatTask == null) {
+            this.heartbeatTask = this.timer.scheduleAtFixedRate(() -> this.send(GameFeed.HEARTBEAT), GameFeed.HEARTBEAT_SECONDS, GameFeed.HEARTBEAT_SECONDS, TimeUnit.SECONDS);
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("subscribers", this.subscribers.size())
+            .add("nextId", this.nextId.get())
+            .toString();
+    }
+
+    /**
+     * Removes a subscriber. It is not closed.
+     *
+     * @param s Subscriber to remove
+     */
+    public synchronized void unsubscribe(@NotNull final Subscriber s) {
+        Preconditions.checkNotNull(s, "s was null");
+        this.subscribers.remove(s);
+        if (this.subscribers.isEmpty() && this.heartbeatTask != null) {
+            this.heartbeatTask.cancel();
+            this.heartbeatTask = null;
+        }
+    }
+
+    /**
+     * Something watching a feed, usually an HTTP connection.
+     */
+    public interface Subscriber {
+
+        /**
+         * Queues an event to be sent. This must not block. If the event cannot be queued, the subscriber should close
+         * itself and return false, and it will be removed.
+         *
+         * @param frame Encoded event
+         * @return true if queued, false if otherwise
+         */
+        boolean offer(@NotNull byte[] frame);
+
+        /**
+         * Closes the subscriber, because the feed ended.
+         */
+        void close();
+    }
+}
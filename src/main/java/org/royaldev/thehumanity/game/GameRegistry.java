@@ -0,0 +1,172 @@
+package org.royaldev.thehumanity.game;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.kitteh.irc.client.library.element.Channel;
+import org.kitteh.irc.client.library.element.User;
+import org.royaldev.thehumanity.TheHumanity;
+import org.royaldev.thehumanity.player.Player;
+import org.royaldev.thehumanity.util.CaseMapping;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Keeps track of every running game by channel, along with an index of which game each player's nick and services
+ * account is in. All methods are safe to call from any thread, and lookups never scan the games.
+ * <p/>
+ * {@link Game} keeps the index up to date as players join and leave, and {@link org.royaldev.thehumanity.GameListeners}
+ * does as they change nicks.
+ */
+public class GameRegistry {
+
+    private final TheHumanity humanity;
+    private final ConcurrentMap<Channel, Game> games = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Game> byNick = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Game> byAccount = new ConcurrentHashMap<>();
+
+    public GameRegistry(@NotNull final TheHumanity humanity) {
+        Preconditions.checkNotNull(humanity, "humanity was null");
+        this.humanity = humanity;
+    }
+
+    /**
+     * Registers a game for a channel, unless the channel already has one.
+     *
+     * @param channel Channel the game is in
+     * @param game    Game to register
+     * @return true if registered, false if the channel already had a game
+     */
+    public boolean add(@NotNull final Channel channel, @NotNull final Game game) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        Preconditions.checkNotNull(game, "game was null");
+        return this.games.putIfAbsent(channel, game) == null;
+    }
+
+    /**
+     * Gets an unmodifiable, live view of all games, keyed by channel.
+     *
+     * @return Unmodifiable map of games
+     */
+    @NotNull
+    public Map<Channel, Game> asMap() {
+        return Collections.unmodifiableMap(this.games);
+    }
+
+    /**
+     * Gets the game in the given channel.
+     *
+     * @param channel Channel to get game for
+     * @return Game or null
+     */
+    @Nullable
+    public Game get(@NotNull final Channel channel) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        return this.games.get(channel);
+    }
+
+    /**
+     * Gets the game the given user is playing in, by the user's nick.
+     *
+     * @param u User to get game for
+     * @return Game or null
+     */
+    @Nullable
+    public Game getGameFor(@NotNull final User u) {
+        Preconditions.checkNotNull(u, "u was null");
+        return this.getGameForNick(u.getNick());
+    }
+
+    /**
+     * Gets the game a player identified to the given services account is in. Accounts are indexed when players join,
+     * if their account is known by then.
+     *
+     * @param account Services account of the player
+     * @return Game or null
+     */
+    @Nullable
+    public Game getGameForAccount(@NotNull final String account) {
+        Preconditions.checkNotNull(account, "account was null");
+        return this.byAccount.get(CaseMapping.fold(account));
+    }
+
+    /**
+     * Gets the game the player with the given nick is in.
+     *
+     * @param nick Nick of the player
+     * @return Game or null
+     */
+    @Nullable
+    public Game getGameForNick(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        return this.byNick.get(CaseMapping.fold(nick));
+    }
+
+    /**
+     * Indexes a player as playing in a game.
+     *
+     * @param game   Game the player joined
+     * @param player Player that joined
+     */
+    public void indexPlayer(@NotNull final Game game, @NotNull final Player player) {
+        Preconditions.checkNotNull(game, "game was null");
+        Preconditions.checkNotNull(player, "player was null");
+        final String nick = player.getUser().getNick();
+        this.byNick.put(CaseMapping.fold(nick), game);
+        final String account = this.humanity.getWhoX().getAccount(nick);
+        if (account != null) this.byAccount.put(CaseMapping.fold(account), game);
+    }
+
+    /**
+     * Removes a game and every index entry pointing to it.
+     *
+     * @param game Game to remove
+     */
+    public void remove(@NotNull final Game game) {
+        Preconditions.checkNotNull(game, "game was null");
+        this.games.values().removeIf(g -> g == game);
+        this.byNick.values().removeIf(g -> g == game);
+        this.byAccount.values().removeIf(g -> g == game);
+    }
+
+    /**
+     * Moves a player's index entry from an old nick to a new one.
+     *
+     * @param oldNick Nick the player had
+     * @param newNick Nick the player has now
+     */
+    public void renamePlayer(@NotNull final String oldNick, @NotNull final String newNick) {
+        Preconditions.checkNotNull(oldNick, "oldNick was null");
+        Preconditions.checkNotNull(newNick, "newNick was null");
+        final Game game = this.byNick.remove(CaseMapping.fold(oldNick));
+        if (game != null) this.byNick.put(CaseMapping.fold(newNick), game);
+    }
+
+    /**
+     * Removes a player from the index of a game.
+     *
+     * @param game   Game the player left
+     * @param player Player that left
+     */
+    public void unindexPlayer(@NotNull final Game game, @NotNull final Player player) {
+        Preconditions.checkNotNull(game, "game was null");
+        Preconditions.checkNotNull(player, "player was null");
+        final String nick = player.getUser().getNick();
+        this.byNick.remove(CaseMapping.fold(nick), game);
+        final String account = this.humanity.getWhoX().getAccount(nick);
+        if (account != null) this.byAccount.remove(CaseMapping.fold(account), game);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("games", this.games.size())
+            .add("indexedNicks", this.byNick.size())
+            .add("indexedAccounts", this.byAccount.size())
+            .toString();
+    }
+}
@@ -0,0 +1,147 @@
+package org.royaldev.thehumanity.game;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.player.Player;
+import org.royaldev.thehumanity.util.CaseMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Indexes the players of one {@link Game} by case-folded nick, and by services account where known. It tracks both the
+ * current players and every player that has ever been in the game, so that rejoining players can be found without
+ * scanning.
+ * <p/>
+ * Every player is given a slot the first time it is indexed. Slots start at zero and are never reused, so rounds can
+ * keep per-player state in bitmaps.
+ * <p/>
+ * The game changes the index on its own executor, but lookups are safe from any thread.
+ */
+public class PlayerIndex {
+
+    private final Map<String, Player> current = new ConcurrentHashMap<>();
+    private final Map<String, Player> historic = new ConcurrentHashMap<>();
+    private final Map<String, Player> byAccount = new ConcurrentHashMap<>();
+    private final AtomicInteger nextSlot = new AtomicInteger();
+
+    @NotNull
+    private static String key(@NotNull final Player player) {
+        return CaseMapping.fold(player.getUser().getNick());
+    }
+
+    private void assignSlot(@NotNull final Player player) {
+        if (player.getSlot() < 0) player.setSlot(this.nextSlot.getAndIncrement());
+    }
+
+    /**
+     * Adds a player to the current and historic players.
+     *
+     * @param player  Player to add
+     * @param account Services account of the player, or null if unknown
+     */
+    public void add(@NotNull final Player player, @Nullable final String account) {
+        Preconditions.checkNotNull(player, "player was null");
+        this.assignSlot(player);
+        final String key = PlayerIndex.key(player);
+        this.current.put(key, player);
+        this.historic.put(key, player);
+        if (account != null) this.byAccount.put(CaseMapping.fold(account), player);
+    }
+
+    /**
+     * Adds a player that only counts towards history, like Rando Cardrissian.
+     *
+     * @param player Player to add
+     */
+    public void addHistoric(@NotNull final Player player) {
+        Preconditions.checkNotNull(player, "player was null");
+        this.assignSlot(player);
+        this.historic.put(PlayerIndex.key(player), player);
+    }
+
+    /**
+     * Gets the current player with the given nick.
+     *
+     * @param nick Nick of the player
+     * @return Player or null
+     */
+    @Nullable
+    public Player get(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        return this.current.get(CaseMapping.fold(nick));
+    }
+
+    /**
+     * Gets the player, current or not, that was identified to the given services account when it joined.
+     *
+     * @param account Services account
+     * @return Player or null
+     */
+    @Nullable
+    public Player getByAccount(@NotNull final String account) {
+        Preconditions.checkNotNull(account, "account was null");
+        return this.byAccount.get(CaseMapping.fold(account));
+    }
+
+    /**
+     * Gets the number of slots given out so far. Every slot is lower than this.
+     *
+     * @return Slot count
+     */
+    public int getSlotCount() {
+        return this.nextSlot.get();
+    }
+
+    /**
+     * Gets the player with the given nick that has ever been in the game.
+     *
+     * @param nick Nick of the player
+     * @return Player or null
+     */
+    @Nullable
+    public Player getHistoric(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        return this.historic.get(CaseMapping.fold(nick));
+    }
+
+    /**
+     * Removes a player from the current players. It stays in the historic players.
+     *
+     * @param player Player to remove
+     * @return true if the player was a current player, false if otherwise
+     */
+    public boolean remove(@NotNull final Player player) {
+        Preconditions.checkNotNull(player, "player was null");
+        return this.current.remove(PlayerIndex.key(player)) != null;
+    }
+
+    /**
+     * Moves the player with the old nick to the new nick. The player's user must already have been updated.
+     *
+     * @param oldNick Nick the player had
+     * @param player  Player that changed its nick
+     */
+    public void rename(@NotNull final String oldNick, @NotNull final Player player) {
+        Preconditions.checkNotNull(oldNick, "oldNick was null");
+        Preconditions.checkNotNull(player, "player was null");
+        final String oldKey = CaseMapping.fold(oldNick);
+        final String newKey = PlayerIndex.key(player);
+        if (oldKey.equals(newKey)) return;
+        if (this.current.remove(oldKey, player)) this.current.put(newKey, player);
+        if (this.historic.remove(oldKey, player)) this.historic.put(newKey, player);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("current", this.current.size())
+            .add("historic", this.historic.size())
+            .add("accounts", this.byAccount.size())
+            .add("slots", this.nextSlot.get())
+            .toString();
+    }
+}
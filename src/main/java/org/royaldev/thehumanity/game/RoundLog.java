@@ -0,0 +1,216 @@
+package org.royaldev.thehumanity.game;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+import org.royaldev.thehumanity.util.json.JSONMapper;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * The finished rounds of one {@link Game}. Only the most recent rounds are kept in memory. Older rounds are appended to
+ * a temporary file as JSON and read back when asked for, so long games do not keep every round on the heap.
+ * <p/>
+ * If a round cannot be written, it is kept in memory instead. The file is deleted when the log is closed. Files left
+ * behind by a bot that did not shut down cleanly are removed by {@link #clearStale(File, Logger)} at startup.
+ * <p/>
+ * The game appends on its own executor, but rounds can be read from any thread.
+ */
+public class RoundLog extends AbstractList<RoundSnapshot> implements Closeable {
+
+    /**
+     * The directory round logs are written to by default.
+     */
+    public static final File DIRECTORY = new File(System.getProperty("java.io.tmpdir"), "thehumanity-rounds");
+    private static final String PREFIX = "thehumanity-rounds-";
+    private static final String SUFFIX = ".log";
+    private static final ObjectReader reader = JSONMapper.getReader(RoundSnapshot.class);
+    private final File directory;
+    private final int window;
+    private final Logger logger;
+    // Null once a round has been written to the file
+    private final List<RoundSnapshot> rounds = new ArrayList<>();
+    private long[] offsets = new long[16];
+    private int[] lengths = new int[16];
+    private File file;
+    private RandomAccessFile raf;
+    private int spilled;
+    private boolean closed;
+
+    /**
+     * Creates an empty log, writing to {@link #DIRECTORY}.
+     *
+     * @param window Number of recent rounds to keep in memory
+     * @param logger Logger to report write failures to
+     */
+    public RoundLog(final int window, @NotNull final Logger logger) {
+        this(RoundLog.DIRECTORY, window, logger);
+    }
+
+    /**
+     * Creates an empty log.
+     *
+     * @param directory Directory to write the file to, created when the first round is written
+     * @param window    Number of recent rounds to keep in memory
+     * @param logger    Logger to report write failures to
+     */
+    public RoundLog(@NotNull final File directory, final int window, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(directory, "directory was null");
+        Preconditions.checkArgument(window >= 0, "window must not be negative");
+        Preconditions.checkNotNull(logger, "logger was null");
+        this.directory = directory;
+        this.window = window;
+        this.logger = logger;
+    }
+
+    /**
+     * Deletes the round log files in a directory. Only call this before any game has started, since it does not know
+     * which files are still in use.
+     *
+     * @param directory Directory round logs are written to
+     * @param logger    Logger to report files that could not be deleted to
+     * @return Number of files deleted
+     */
+    public static int clearStale(@NotNull final File directory, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(directory, "directory was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        final File[] stale = directory.listFiles((dir, name) -> name.startsWith(RoundLog.PREFIX) && name.endsWith(RoundLog.SUFFIX));
+        if (stale == null) return 0;
+        int deleted = 0;
+        for (final File f : stale) {
+            if (f.delete()) deleted++;
+            else logger.warning("Could not delete the stale round log " + f);
+        }
+        return deleted;
+    }
+
+    private void spill(final int index) {
+        final RoundSnapshot rs = this.rounds.get(index);
+        if (rs == null) return;
+        try {
+            if (this.raf == null) {
+                Files.createDirectories(this.directory.toPath());
+                this.file = Files.createTempFile(this.directory.toPath(), RoundLog.PREFIX, RoundLog.SUFFIX).toFile();
+                this.raf = new RandomAccessFile(this.file, "rw");
+            }
+            final byte[] json = JSONMapper.getWriter().writeValueAsBytes(rs);
+            final long offset = this.raf.length();
+            this.raf.seek(offset);
+            this.raf.write(json);
+            if (index >= this.offsets.length) {
+                this.offsets = Arrays.copyOf(this.offsets, Math.max(index + 1, this.offsets.length * 2));
+                this.lengths = Arrays.copyOf(this.lengths, this.offsets.length);
+            }
+            this.offsets[index] = offset;
+            this.lengths[index] = json.length;
+            this.rounds.set(index, null);
+            this.spilled++;
+        } catch (final IOException ex) {
+            this.logger.log(Level.WARNING, "Could not write round " + rs.getNumber() + " to the round log; keeping it in memory", ex);
+        }
+    }
+
+    /**
+     * Adds a finished round. If this pushes a round out of the in-memory window, that round is written to the file.
+     * Rounds added after the log was closed are kept in memory.
+     *
+     * @param rs Round to add
+     * @return true
+     */
+    @Override
+    public synchronized boolean add(@NotNull final RoundSnapshot rs) {
+        Preconditions.checkNotNull(rs, "rs was null");
+        this.rounds.add(rs);
+        final int oldest = this.rounds.size() - 1 - this.window;
+        if (oldest >= 0 && !this.closed) this.spill(oldest);
+        return true;
+    }
+
+    /**
+     * Closes the file and deletes it. Rounds that were written to the file can no longer be read.
+     */
+    @Override
+    public synchronized void close() {
+        if (this.closed) return;
+        this.closed = true;
+        if (this.raf == null) return;
+        try {
+            this.raf.close();
+        } catch (final IOException ex) {
+            this.logger.log(Level.WARNING, "Could not close the round log", ex);
+        }
+        if (!this.file.delete()) this.logger.warning("Could not delete the round log " + this.file);
+    }
+
+    /**
+     * Gets a round, reading it from the file if it is no longer in memory.
+     *
+     * @param index Index of the round
+     * @return Round
+     * @throws IllegalStateException If the round was written to the file and the log was closed
+     * @throws UncheckedIOException  If the round could not be read
+     */
+    @NotNull
+    @Override
+    public synchronized RoundSnapshot get(final int index) {
+        final RoundSnapshot rs = this.rounds.get(index);
+        if (rs != null) return rs;
+        Preconditions.checkState(!this.closed, "log was closed");
+        final byte[] json = new byte[this.lengths[index]];
+        try {
+            this.raf.seek(this.offsets[index]);
+            this.raf.readFully(json);
+            return RoundLog.reader.readValue(json);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Gets the file older rounds are written to.
+     *
+     * @return File, or null if no rounds have been written
+     */
+    @Nullable
+    public synchronized File getFile() {
+        return this.file;
+    }
+
+    /**
+     * Gets the number of rounds that were written to the file.
+     *
+     * @return Spilled rounds
+     */
+    public synchronized int getSpilled() {
+        return this.spilled;
+    }
+
+    @Override
+    public synchronized int size() {
+        return this.rounds.size();
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("size", this.rounds.size())
+            .add("spilled", this.spilled)
+            .add("window", this.window)
+            .add("file", this.file)
+            .toString();
+    }
+}
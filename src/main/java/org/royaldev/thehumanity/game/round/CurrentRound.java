@@ -2,9 +2,6 @@ package org.royaldev.thehumanity.game.round;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.Preconditions;
-import com.google.common.collect.HashMultiset;
-import com.google.common.collect.Multiset;
-import com.google.common.collect.Multisets;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.kitteh.irc.client.library.IRCFormat;
@@ -13,16 +10,21 @@ import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 import org.royaldev.thehumanity.game.Game;
 import org.royaldev.thehumanity.game.HouseRule;
+import org.royaldev.thehumanity.outbound.Priority;
 import org.royaldev.thehumanity.player.Player;
+import org.royaldev.thehumanity.util.HashedWheelTimer.Timeout;
 import org.royaldev.thehumanity.util.Snapshottable;
 import org.royaldev.thehumanity.util.json.JSONSerializable;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
 
@@ -37,9 +39,14 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
     private final Player czar;
     private final Set<Player> skippedPlayers = Collections.synchronizedSet(new HashSet<>());
     private final List<Play> plays = Collections.synchronizedList(new ArrayList<>());
-    private final Multiset<Play> votes = HashMultiset.create();
     private final Set<Player> voters = new HashSet<>();
-    private ScheduledFuture reminderTask;
+    private volatile VoteTally voteTally;
+    // Guarded by plays. Indexed by player slot
+    private final BitSet played = new BitSet();
+    private final BitSet skipped = new BitSet();
+    // Guarded by plays. Only players still in the game are counted
+    private int activePlays, activeSkips;
+    private Timeout reminderTask;
     private RoundStage currentStage = RoundStage.IDLE;
     private Play winningPlay;
     private long startTime, endTime;
@@ -67,16 +74,20 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      * seconds after the initial period. This will return null if there is no czar. The task is canceled by a listener,
      * which is fired when the czar speaks.
      *
-     * @return ScheduledFuture or null
+     * @return Timeout or null
      */
     @Nullable
-    private ScheduledFuture makeReminderTask() {
+    private Timeout makeReminderTask() {
         final Player czar = this.getCzar();
         if (czar == null) {
             return null;
         }
-        return this.getGame().getHumanity().getThreadPool().scheduleAtFixedRate(
-            () -> this.getGame().getChannel().sendMessage(czar.getUser().getNick() + ": Wake up! You're the czar!"),
+        return this.getGame().getHumanity().getGameTimer().scheduleAtFixedRate(
+            () -> this.getGame().execute(() -> {
+                // The czar may have picked while this reminder was queued
+                if (this.currentStage != RoundStage.WAITING_FOR_CZAR) return;
+                this.getGame().getHumanity().getOutboundQueue().sendMessage(this.getGame().getChannel().getName(), czar.getUser().getNick() + ": Wake up! You're the czar!", Priority.CRITICAL);
+            }),
             45000L,
             22500L,
             TimeUnit.MILLISECONDS
@@ -102,6 +113,31 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
         }
     }
 
+    /**
+     * Tells anyone watching the game that this round entered a new stage. Only what changed is sent.
+     */
+    private void publishStage() {
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("number", this.number);
+        data.put("stage", this.currentStage);
+        switch (this.currentStage) {
+            case WAITING_FOR_PLAYERS:
+                data.put("czar", this.czar == null ? null : this.czar.getUser().getNick());
+                data.put("blackCard", this.blackCard.getText());
+                break;
+            case WAITING_FOR_CZAR:
+                // In the order they are shown in the channel, so they can be matched to picks
+                data.put("plays", this.getPlays().stream().map(p -> p.getWhiteCards().stream().map(WhiteCard::getText).collect(Collectors.toList())).collect(Collectors.toList()));
+                break;
+            case ENDED:
+                data.put("winner", this.winningPlay == null ? null : this.winningPlay.getPlayer().getUser().getNick());
+                data.put("endCause", this.endCause);
+                data.put("scores", this.game.getScores());
+                break;
+        }
+        this.game.getFeed().publish("stage", data);
+    }
+
     /**
      * Processes various tasks for each new stage the round enters.
      */
@@ -111,23 +147,27 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
             case WAITING_FOR_PLAYERS:
                 this.startTime = System.currentTimeMillis();
                 this.processHouseRules();
+                this.publishStage();
                 this.game.showCards();
                 break;
             case WAITING_FOR_CZAR:
                 Collections.shuffle(this.plays);
+                this.publishStage();
                 if (this.game.hasHouseRule(HouseRule.GOD_IS_DEAD)) {
+                    this.voteTally = new VoteTally(this.plays.size());
                     this.displayPlays();
-                    this.getGame().sendMessage("Send " + IRCFormat.BOLD + this.getGame().getHumanity().getPrefix() + "pick" + IRCFormat.RESET + " followed by the number you think should win.");
+                    this.getGame().sendMessage("Send " + IRCFormat.BOLD + this.getGame().getHumanity().getPrefix() + "pick" + IRCFormat.RESET + " followed by the number you think should win.", Priority.CRITICAL);
                 }
                 final Player czar = this.getCzar();
                 if (czar == null) break;
                 this.displayPlays();
-                this.getGame().sendMessage(IRCFormat.BOLD + czar.getUser().getNick() + IRCFormat.RESET + " is picking a winner.");
-                czar.getUser().sendNotice("Send " + IRCFormat.BOLD + this.getGame().getHumanity().getPrefix() + "pick" + IRCFormat.RESET + " followed by the number you think should win.");
+                this.getGame().sendMessage(IRCFormat.BOLD + czar.getUser().getNick() + IRCFormat.RESET + " is picking a winner.", Priority.CRITICAL);
+                this.getGame().sendNotice(czar, "Send " + IRCFormat.BOLD + this.getGame().getHumanity().getPrefix() + "pick" + IRCFormat.RESET + " followed by the number you think should win.", Priority.CRITICAL);
                 this.reminderTask = this.makeReminderTask();
                 break;
             case ENDED:
                 this.endTime = System.currentTimeMillis();
+                this.publishStage();
                 this.getGame().advanceStage();
                 break;
         }
@@ -140,15 +180,22 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     public void addPlay(@NotNull final Play play) {
         Preconditions.checkNotNull(play, "play was null");
+        final Player p = play.getPlayer();
+        Preconditions.checkArgument(p.getSlot() >= 0, "player had no slot");
         synchronized (this.plays) {
             this.plays.add(play);
+            if (!this.played.get(p.getSlot())) {
+                this.played.set(p.getSlot());
+                if (this.getGame().hasPlayer(p)) this.activePlays++;
+            }
         }
         play.getWhiteCards().stream().forEach(play.getPlayer().getHand()::removeCard);
         if (this.hasAllPlaysMade()) this.advanceStage();
     }
 
     /**
-     * Adds a vote for a choice in the God is Dead house rule mode.
+     * Adds a vote for a choice in the God is Dead house rule mode. Voting ends as soon as the leading play can no longer
+     * be passed by the players that have not voted yet, which is at the latest when everyone has voted.
      *
      * @param player Player voting
      * @param index  Number of the play that is being voted for
@@ -156,16 +203,21 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     public boolean addVote(@NotNull final Player player, int index) {
         Preconditions.checkNotNull(player, "player was null");
+        final VoteTally tally = this.voteTally;
+        if (tally == null || this.currentStage != RoundStage.WAITING_FOR_CZAR) return false;
         if (this.hasVoted(player)) return false;
         index--;
-        if (index < 0 || index >= this.getPlays().size()) return false;
+        if (index < 0 || index >= tally.getSize()) return false;
         this.voters.add(player);
-        final Play p = this.getPlays().get(index);
-        this.votes.add(p);
-        if (this.votes.size() >= this.getGame().getPlayers().size()) {
-            final Play winner = this.getMostVoted();
-            final int winningIndex = this.plays.indexOf(winner);
-            this.chooseWinningPlay(winningIndex + 1);
+        tally.addVote(index);
+        final Map<String, Object> data = new LinkedHashMap<>();
+        data.put("number", this.number);
+        data.put("counts", tally.getCounts());
+        data.put("total", tally.getTotal());
+        data.put("leader", tally.getLeader());
+        this.game.getFeed().publish("votes", data);
+        if (tally.isDecided(this.getGame().getPlayerCount() - tally.getTotal())) {
+            this.chooseWinningPlay(tally.getLeader() + 1);
         }
         return true;
     }
@@ -193,10 +245,10 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      * safe to call.
      */
     public void cancelReminderTask() {
-        if (this.reminderTask == null || this.reminderTask.isCancelled() || this.reminderTask.isDone()) {
+        if (this.reminderTask == null || this.reminderTask.isDone()) {
             return;
         }
-        this.reminderTask.cancel(true);
+        this.reminderTask.cancel();
     }
 
     /**
@@ -210,7 +262,7 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
         if (index < 0 || index >= this.getPlays().size()) return;
         final Play p = this.winningPlay = this.getPlays().get(index);
         p.getPlayer().addWin(this.getBlackCard());
-        this.getGame().sendMessage(IRCFormat.RESET + "Play " + IRCFormat.BOLD + (index + 1) + IRCFormat.RESET + " by " + IRCFormat.BOLD + p.getPlayer().getUser().getNick() + IRCFormat.RESET + " wins!");
+        this.getGame().sendMessage(IRCFormat.RESET + "Play " + IRCFormat.BOLD + (index + 1) + IRCFormat.RESET + " by " + IRCFormat.BOLD + p.getPlayer().getUser().getNick() + IRCFormat.RESET + " wins!", Priority.CRITICAL);
         this.setEndCause(RoundEndCause.CZAR_CHOSE_WINNER);
         this.advanceStage();
     }
@@ -219,10 +271,12 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      * Displays all the plays made this round (without player names).
      */
     public void displayPlays() {
+        final List<String> lines = new ArrayList<>(this.getPlays().size());
         for (int i = 0; i < this.getPlays().size(); i++) {
             final Play p = this.getPlays().get(i);
-            this.getGame().sendMessage((i + 1) + ". " + this.getBlackCard().fillInBlanks(p));
+            lines.add((i + 1) + ". " + this.getBlackCard().fillInBlanks(p));
         }
+        this.getGame().sendPackedMessages(lines, Priority.CRITICAL);
     }
 
     /**
@@ -233,7 +287,7 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     @NotNull
     public List<Play> getActivePlayerPlays() { // TODO: Rename method?
-        return this.plays.stream().filter(p -> this.getGame().getPlayers().contains(p.getPlayer())).collect(Collectors.toList());
+        return this.getPlays().stream().filter(p -> this.getGame().hasPlayer(p.getPlayer())).collect(Collectors.toList());
     }
 
     /**
@@ -260,13 +314,18 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
 
     /**
      * Gets the play that has the highest amount of votes in the God is Dead house rule mode. Ties are handled by
-     * returning the play that was first in the iteration.
+     * returning the play that reached the tied amount first.
      *
-     * @return Play that had the highest amount of votes
+     * @return Play that had the highest amount of votes, or null if there are no votes
      */
     @Override
+    @Nullable
     public Play getMostVoted() {
-        return Multisets.copyHighestCountFirst(this.votes).iterator().next();
+        final VoteTally tally = this.voteTally;
+        if (tally == null || tally.getLeader() < 0) return null;
+        synchronized (this.plays) {
+            return this.plays.get(tally.getLeader());
+        }
     }
 
     /**
@@ -294,17 +353,15 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
     }
 
     /**
-     * Gets all the skipped players for this round. Returns the actual list. Modifying the list returned will modify the
-     * round.
+     * Gets all the skipped players for this round. This is an unmodifiable view; use {@link #skip(Player)} to skip a
+     * player.
      *
-     * @return List of skipped players
+     * @return Set of skipped players
      */
     @Override
     @NotNull
     public Set<Player> getSkippedPlayers() {
-        synchronized (this.skippedPlayers) {
-            return this.skippedPlayers;
-        }
+        return Collections.unmodifiableSet(this.skippedPlayers);
     }
 
     /**
@@ -317,6 +374,17 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
         return this.currentStage;
     }
 
+    /**
+     * Gets the running tally of votes in the God is Dead house rule mode. The tally's indexes match
+     * {@link #getPlays()}.
+     *
+     * @return VoteTally, or null if this round is not being voted on
+     */
+    @Nullable
+    public VoteTally getVoteTally() {
+        return this.voteTally;
+    }
+
     @NotNull
     public RoundEndCause getEndCause() {
         return this.endCause;
@@ -339,14 +407,16 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
 
     /**
      * Checks if this round has all necessary plays made to advance the stage (meaning that every player has played).
-     * Skipped players are ignored.
+     * Skipped players are ignored. This only compares counters kept up to date as players play, skip, leave and
+     * rejoin.
      *
      * @return true if all plays have been made, false if otherwise
      */
     public boolean hasAllPlaysMade() {
-        final List<Player> usersTakingPart = new ArrayList<>(this.getGame().getPlayers());
-        usersTakingPart.removeAll(this.getSkippedPlayers());
-        return this.getActivePlayerPlays().size() >= usersTakingPart.size() - (this.getGame().hasHouseRule(HouseRule.GOD_IS_DEAD) ? 0 : 1);
+        final int needed = this.getGame().getPlayerCount() - (this.getGame().hasHouseRule(HouseRule.GOD_IS_DEAD) ? 0 : 1);
+        synchronized (this.plays) {
+            return this.activePlays >= needed - this.activeSkips;
+        }
     }
 
     /**
@@ -357,7 +427,10 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     public boolean hasPlayed(@NotNull final Player p) {
         Preconditions.checkNotNull(p, "p was null");
-        return this.plays.stream().anyMatch(play -> play.getPlayer().equals(p));
+        if (p.getSlot() < 0) return false;
+        synchronized (this.plays) {
+            return this.played.get(p.getSlot());
+        }
     }
 
     public boolean hasVoted(@NotNull final Player player) {
@@ -373,7 +446,40 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     public boolean isSkipped(@NotNull final Player p) {
         Preconditions.checkNotNull(p, "p was null");
-        return this.getSkippedPlayers().contains(p);
+        if (p.getSlot() < 0) return false;
+        synchronized (this.plays) {
+            return this.skipped.get(p.getSlot());
+        }
+    }
+
+    /**
+     * Stops counting the plays and skips of a player that has left the game. The game calls this after removing the
+     * player.
+     *
+     * @param p Player that left
+     */
+    public void playerLeft(@NotNull final Player p) {
+        Preconditions.checkNotNull(p, "p was null");
+        if (p.getSlot() < 0) return;
+        synchronized (this.plays) {
+            if (this.played.get(p.getSlot())) this.activePlays--;
+            if (this.skipped.get(p.getSlot())) this.activeSkips--;
+        }
+    }
+
+    /**
+     * Counts the plays and skips of a player that has rejoined the game again. The game calls this after adding the
+     * player back.
+     *
+     * @param p Player that rejoined
+     */
+    public void playerRejoined(@NotNull final Player p) {
+        Preconditions.checkNotNull(p, "p was null");
+        if (p.getSlot() < 0) return;
+        synchronized (this.plays) {
+            if (this.played.get(p.getSlot())) this.activePlays++;
+            if (this.skipped.get(p.getSlot())) this.activeSkips++;
+        }
     }
 
     /**
@@ -398,14 +504,18 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
      */
     public boolean skip(@NotNull final Player p) {
         Preconditions.checkNotNull(p, "p was null");
-        if (this.isSkipped(p)) return false;
-        // If the total amount of players less the skipped players is less than the amount needed to play, don't skip.
-        // However, if this person is the czar, it's fine.
-        if (!p.equals(this.getCzar()) && this.getGame().getPlayers().size() - this.skippedPlayers.size() < 3) {
-            return false;
-        }
-        synchronized (this.skippedPlayers) {
+        Preconditions.checkArgument(p.getSlot() >= 0, "p had no slot");
+        final int players = this.getGame().getPlayerCount();
+        synchronized (this.plays) {
+            if (this.skipped.get(p.getSlot())) return false;
+            // If the total amount of players less the skipped players is less than the amount needed to play, don't skip.
+            // However, if this person is the czar, it's fine.
+            if (!p.equals(this.getCzar()) && players - this.activeSkips < 3) {
+                return false;
+            }
             this.skippedPlayers.add(p);
+            this.skipped.set(p.getSlot());
+            if (this.getGame().hasPlayer(p)) this.activeSkips++;
         }
         switch (this.getCurrentStage()) {
             case WAITING_FOR_PLAYERS:
@@ -423,6 +533,24 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
         return true;
     }
 
+    /**
+     * Gets the votes for each play that got any, keyed by the nick of the player that made the play.
+     *
+     * @return Map of nicks to votes
+     */
+    @NotNull
+    private Map<String, Integer> getVotesByNick() {
+        final Map<String, Integer> votes = new HashMap<>();
+        final VoteTally tally = this.voteTally;
+        if (tally == null) return votes;
+        final int[] counts = tally.getCounts();
+        final List<Play> plays = this.getPlays();
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] > 0) votes.put(plays.get(i).getPlayer().getUser().getNick(), counts[i]);
+        }
+        return votes;
+    }
+
     @NotNull
     @Override
     public RoundSnapshot takeSnapshot() {
@@ -438,7 +566,7 @@ public class CurrentRound implements Round, JSONSerializable, Snapshottable<Roun
             this.getGame().getPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toSet()),
             this.getSkippedPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toSet()),
             this.getGame().getHistoricPlayers().stream().collect(Collectors.toMap(p -> p.getUser().getNick(), p -> this.winningPlay == null ? 0 : p.equals(this.winningPlay.getPlayer()) ? 1 : 0)),
-            this.votes.stream().collect(Collectors.toMap(play -> play.getPlayer().getUser().getNick(), this.votes::count))
+            this.getVotesByNick()
         );
     }
 
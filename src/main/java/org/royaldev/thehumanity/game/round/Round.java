@@ -17,6 +17,7 @@ public interface Round {
     @Nullable
     Player getCzar();
 
+    @Nullable
     Play getMostVoted();
 
     int getNumber();
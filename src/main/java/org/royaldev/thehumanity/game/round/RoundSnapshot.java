@@ -52,6 +52,23 @@ public class RoundSnapshot implements Serializable, JSONSerializable {
         this.votes = votes;
     }
 
+    /**
+     * Creates a snapshot from plays that were already split into their cards, as when reading a saved game.
+     */
+    public RoundSnapshot(final int number, final Timestamps timestamps, final String blackCard, final String czar, final String winner, final String endCause, final Map<String, List<IndividualPlaySnapshot>> plays, final Set<String> players, final Set<String> skippedPlayers, final Map<String, Integer> scoreDelta, final Map<String, Integer> votes) {
+        this.number = number;
+        this.timestamps = timestamps;
+        this.blackCard = blackCard;
+        this.czar = czar;
+        this.winner = winner;
+        this.endCause = endCause;
+        this.plays = plays;
+        this.players = players;
+        this.skippedPlayers = skippedPlayers;
+        this.scoreDelta = scoreDelta;
+        this.votes = votes;
+    }
+
     /**
      * Gets the black card for this round.
      *
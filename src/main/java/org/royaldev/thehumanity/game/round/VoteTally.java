@@ -0,0 +1,128 @@
+package org.royaldev.thehumanity.game.round;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * A running tally of votes for the plays of one round in the God is Dead house rule mode. Plays are known by their
+ * index in the round, and the leader is kept up to date as votes come in, so no sorting is ever needed.
+ * <p/>
+ * Ties are broken in favor of the play that reached the tied count first. A play only takes the lead by passing the
+ * current leader.
+ * <p/>
+ * The round adds votes on its game's executor, but the tally can be read from any thread.
+ */
+public class VoteTally {
+
+    private final int[] counts;
+    private int total;
+    private int leader = -1;
+    // Highest count of any play but the leader
+    private int runnerUp;
+
+    /**
+     * Creates an empty tally.
+     *
+     * @param size Number of plays that can be voted for
+     */
+    public VoteTally(final int size) {
+        Preconditions.checkArgument(size >= 0, "size must not be negative");
+        this.counts = new int[size];
+    }
+
+    /**
+     * Adds a vote for a play.
+     *
+     * @param index Index of the play (starting at 0)
+     */
+    public synchronized void addVote(final int index) {
+        Preconditions.checkElementIndex(index, this.counts.length, "index");
+        final int count = ++this.counts[index];
+        this.total++;
+        if (index == this.leader) return;
+        if (this.leader < 0 || count > this.counts[this.leader]) {
+            if (this.leader >= 0) this.runnerUp = this.counts[this.leader];
+            this.leader = index;
+        } else if (count > this.runnerUp) {
+            this.runnerUp = count;
+        }
+    }
+
+    /**
+     * Gets the votes for a play.
+     *
+     * @param index Index of the play (starting at 0)
+     * @return Votes
+     */
+    public synchronized int getCount(final int index) {
+        Preconditions.checkElementIndex(index, this.counts.length, "index");
+        return this.counts[index];
+    }
+
+    /**
+     * Gets the votes for every play, in play order. Modifying this array will not change the tally.
+     *
+     * @return Copy of the counts
+     */
+    public synchronized int[] getCounts() {
+        return Arrays.copyOf(this.counts, this.counts.length);
+    }
+
+    /**
+     * Gets the index of the play with the most votes.
+     *
+     * @return Index (starting at 0), or -1 if there are no votes
+     */
+    public synchronized int getLeader() {
+        return this.leader;
+    }
+
+    /**
+     * Gets the votes for the play with the most votes.
+     *
+     * @return Votes
+     */
+    public synchronized int getLeaderCount() {
+        return this.leader < 0 ? 0 : this.counts[this.leader];
+    }
+
+    /**
+     * Gets the number of plays that can be voted for.
+     *
+     * @return Size
+     */
+    public int getSize() {
+        return this.counts.length;
+    }
+
+    /**
+     * Gets the number of votes cast.
+     *
+     * @return Votes
+     */
+    public synchronized int getTotal() {
+        return this.total;
+    }
+
+    /**
+     * Checks if the leader can no longer be passed, given the number of votes that may still be cast. This is the case
+     * as soon as any play has a majority of all possible votes.
+     *
+     * @param remaining Votes that may still be cast
+     * @return true if the leader is certain to win, false if otherwise
+     */
+    public synchronized boolean isDecided(final int remaining) {
+        return this.leader >= 0 && this.counts[this.leader] >= this.runnerUp + Math.max(0, remaining);
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("counts", Arrays.toString(this.counts))
+            .add("total", this.total)
+            .add("leader", this.leader)
+            .toString();
+    }
+}
@@ -1,7 +1,5 @@
 package org.royaldev.thehumanity.history;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.common.base.Joiner;
 import com.google.common.base.Preconditions;
 import com.google.common.cache.Cache;
 import com.google.common.cache.CacheBuilder;
@@ -9,37 +7,55 @@ import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
 import org.royaldev.thehumanity.TheHumanity;
 import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.history.stats.Statistics;
 
 import java.io.File;
 import java.io.IOException;
-import java.nio.charset.StandardCharsets;
+import java.io.UncheckedIOException;
 import java.nio.file.Files;
-import java.util.Arrays;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.ObjIntConsumer;
+import java.util.logging.Level;
+import java.util.stream.Collectors;
 
+/**
+ * The saved games of every channel. Each channel has a {@link SegmentStore} in its own folder, which is opened at
+ * startup. Games are saved in the background by a {@link HistoryWriter}.
+ * <p/>
+ * Games are saved in the binary form of {@link SnapshotCodec}. Older versions saved each game as its own
+ * <code>number.json</code> file. Those files are converted and moved into the channel's store, then deleted, the first
+ * time the store is opened. Games already in a store as JSON are still read.
+ */
 public class History {
 
     private final TheHumanity humanity;
-    private final ObjectMapper objectMapper = new ObjectMapper();
     private final Cache<String, GameSnapshot> cache = CacheBuilder.newBuilder()
         .expireAfterAccess(1L, TimeUnit.HOURS)
         .build();
-    private final Object saveLock = new Object();
+    /**
+     * The store of each channel, keyed by the lowercase channel name.
+     */
+    private final Map<String, SegmentStore> stores = new ConcurrentHashMap<>();
+    /**
+     * The last game number given out in each channel, keyed by the lowercase channel name.
+     */
+    private final Map<String, AtomicInteger> gameNumbers = new ConcurrentHashMap<>();
+    private final Statistics statistics;
+    private final HistoryWriter writer;
 
     public History(@NotNull final TheHumanity humanity) {
         Preconditions.checkNotNull(humanity, "humanity was null");
         this.humanity = humanity;
+        this.statistics = new Statistics(this::getChannelFolder, humanity.getLogger());
         this.createHistorySchema();
-    }
-
-    private boolean createFile(@NotNull final File file) {
-        Preconditions.checkNotNull(file, "file was null");
-        try {
-            return !file.exists() && file.getParentFile().mkdirs() && file.createNewFile();
-        } catch (final IOException ex) {
-            throw new RuntimeException(ex);
-        }
+        this.openStores();
+        this.writer = new HistoryWriter(this::getStore, this.statistics, humanity.getLogger());
     }
 
     private boolean createFolder(@NotNull final File folder) {
@@ -51,32 +67,142 @@ public class History {
         this.createFolder(this.getHistoryFolder());
     }
 
+    /**
+     * Moves the legacy <code>number.json</code> files in a store's folder into the store, then deletes them. Games are
+     * converted to binary on the way, unless they cannot be parsed, in which case they are moved as they are. Games the
+     * store already has are not moved again, so this is safe to repeat if it was interrupted. Files whose numbers the
+     * store cannot take are logged and left where they are.
+     *
+     * @param store Store to migrate into
+     * @return Number of games moved
+     * @throws IOException If a game could not be moved
+     */
+    private int migrate(@NotNull final SegmentStore store) throws IOException {
+        final File[] files = store.getFolder().listFiles((dir, name) -> name.endsWith(".json") || name.endsWith(".json.tmp"));
+        if (files == null || files.length == 0) return 0;
+        final Map<Integer, File> legacy = new TreeMap<>();
+        for (final File file : files) {
+            final String name = file.getName();
+            if (name.endsWith(".tmp")) {
+                // Left over from an interrupted write
+                if (!file.delete()) this.humanity.getLogger().warning("Could not delete " + file);
+                continue;
+            }
+            try {
+                legacy.put(Integer.parseInt(name.substring(0, name.length() - 5)), file);
+            } catch (final NumberFormatException ignored) {
+            }
+        }
+        int migrated = 0;
+        final List<File> done = new ArrayList<>(legacy.size());
+        for (final Map.Entry<Integer, File> entry : legacy.entrySet()) {
+            final int number = entry.getKey();
+            if (number <= 0 || number > store.getLastNumber() + SegmentStore.MAX_NUMBER_GAP) {
+                this.humanity.getLogger().warning("Not migrating " + entry.getValue() + ", since " + number + " is not a usable game number");
+                continue;
+            }
+            done.add(entry.getValue());
+            if (store.contains(number)) continue;
+            byte[] data = Files.readAllBytes(entry.getValue().toPath());
+            if (data.length == 0) continue;
+            try {
+                data = SnapshotCodec.encode(SnapshotCodec.decode(data));
+            } catch (final IOException ex) {
+                this.humanity.getLogger().log(Level.WARNING, "Could not convert " + entry.getValue() + "; moving it as JSON", ex);
+            }
+            store.append(number, data);
+            migrated++;
+        }
+        store.force();
+        for (final File file : done) {
+            if (!file.delete()) this.humanity.getLogger().warning("Could not delete " + file);
+        }
+        return migrated;
+    }
+
+    /**
+     * Opens the store of every channel folder, migrating legacy files, and seeds the game numbers. This is the only
+     * time the history folder is listed.
+     */
+    private void openStores() {
+        final File[] folders = this.getHistoryFolder().listFiles(File::isDirectory);
+        if (folders == null) return;
+        for (final File folder : folders) {
+            try {
+                final SegmentStore store = new SegmentStore(folder);
+                final int migrated = this.migrate(store);
+                if (migrated > 0) {
+                    this.humanity.getLogger().info("Migrated " + migrated + " games in " + folder.getName() + " to segments.");
+                }
+                this.stores.put(folder.getName(), store);
+                this.gameNumbers.put(folder.getName(), new AtomicInteger(store.getLastNumber()));
+                this.statistics.catchUp(folder.getName(), store);
+            } catch (final IOException | UncheckedIOException ex) {
+                this.humanity.getLogger().log(Level.SEVERE, "Could not open history in " + folder, ex);
+            }
+        }
+    }
+
+    @NotNull
+    private AtomicInteger getGameNumber(@NotNull final String channel) {
+        return this.gameNumbers.computeIfAbsent(channel.toLowerCase(), key -> new AtomicInteger(this.getStore(key).getLastNumber()));
+    }
+
+    @NotNull
+    private SegmentStore getStore(@NotNull final String channel) {
+        return this.stores.computeIfAbsent(channel.toLowerCase(), key -> {
+            try {
+                return new SegmentStore(this.getChannelFolder(key));
+            } catch (final IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+    }
+
     @Nullable
-    private String loadGameSnapshotJSON(@NotNull final String channel, final int number) {
+    private byte[] loadGameSnapshotData(@NotNull final String channel, final int number) {
         Preconditions.checkNotNull(channel, "channel was null");
-        final File gameLocation = this.getGameSnapshotFile(channel, number);
-        if (!gameLocation.exists()) return null;
-        final List<String> lines;
+        final byte[] pending = this.writer.getPending(channel, number);
+        if (pending != null) return pending;
+        final SegmentStore store = this.stores.get(channel.toLowerCase());
+        if (store == null) return null;
         try {
-            lines = Files.readAllLines(gameLocation.toPath());
+            return store.read(number);
         } catch (final IOException ex) {
-            throw new RuntimeException(ex);
+            throw new UncheckedIOException(ex);
         }
-        return Joiner.on('\n').join(lines);
     }
 
-    public int[] getAllGameNumbers(@NotNull final String channel) {
-        Preconditions.checkNotNull(channel, "channel was null");
-        final File channelFolder = this.getChannelFolder(channel);
-        if (!channelFolder.exists()) return new int[0];
-        if (!channelFolder.isDirectory()) throw new IllegalStateException("channel folder is not a directory");
-        return Arrays.stream(channelFolder.list()).mapToInt(name -> {
+    /**
+     * Stops the writer, waiting for it to write every game still queued, then closes every store.
+     */
+    public void close() {
+        try {
+            this.writer.stop();
+        } catch (final InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            this.humanity.getLogger().warning("Interrupted while writing history; closing anyway");
+        }
+        for (final SegmentStore store : this.stores.values()) {
             try {
-                return Integer.parseInt(name.split("\\.")[0]);
-            } catch (final NumberFormatException ex) {
-                return -1;
+                store.close();
+            } catch (final IOException ex) {
+                this.humanity.getLogger().log(Level.WARNING, "Could not close " + store.getFolder(), ex);
             }
-        }).filter(number -> number > 0).toArray();
+        }
+    }
+
+    /**
+     * Gets the numbers of every game written in a channel, in order.
+     *
+     * @param channel Channel to check. Ex: "#CAHdev"
+     * @return Game numbers
+     */
+    @NotNull
+    public int[] getAllGameNumbers(@NotNull final String channel) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        final SegmentStore store = this.stores.get(channel.toLowerCase());
+        return store == null ? new int[0] : store.getNumbers();
     }
 
     @NotNull
@@ -85,19 +211,49 @@ public class History {
         return new File(this.getHistoryFolder(), channel.toLowerCase());
     }
 
+    /**
+     * Gets every channel that has history, without listing the disk.
+     *
+     * @return Sorted list of lowercase channel names
+     */
     @NotNull
-    public File getGameSnapshotFile(@NotNull final String channel, final int number) {
-        Preconditions.checkNotNull(channel, "channel was null");
-        return new File(this.getChannelFolder(channel), number + ".json");
+    public List<String> getChannels() {
+        return this.stores.keySet().stream().sorted().collect(Collectors.toList());
     }
 
     public File getHistoryFolder() {
         return new File("history");
     }
 
+    /**
+     * Gets the number of the last game saved in a channel, including games still waiting to be written.
+     *
+     * @param channel Channel to check. Ex: "#CAHdev"
+     * @return Number, or 0 if no games have been saved
+     */
     public int getLastGameSnapshotNumber(@NotNull final String channel) {
         Preconditions.checkNotNull(channel, "channel was null");
-        return Arrays.stream(this.getAllGameNumbers(channel)).max().orElse(0);
+        return this.getGameNumber(channel).get();
+    }
+
+    /**
+     * Gets the leaderboards and card statistics of every channel.
+     *
+     * @return Statistics
+     */
+    @NotNull
+    public Statistics getStatistics() {
+        return this.statistics;
+    }
+
+    /**
+     * Gets the writer that saves games in the background.
+     *
+     * @return HistoryWriter
+     */
+    @NotNull
+    public HistoryWriter getWriter() {
+        return this.writer;
     }
 
     /**
@@ -123,12 +279,12 @@ public class History {
         if (cached != null) {
             return cached;
         }
-        final String json = this.loadGameSnapshotJSON(channel, number);
-        if (json == null) {
+        final byte[] data = this.loadGameSnapshotData(channel, number);
+        if (data == null) {
             return null;
         }
         try {
-            final GameSnapshot gs = this.objectMapper.readValue(json, GameSnapshot.class);
+            final GameSnapshot gs = SnapshotCodec.decode(data);
             this.cache.put(cacheKey, gs);
             return gs;
         } catch (final IOException ex) {
@@ -136,17 +292,51 @@ public class History {
         }
     }
 
-    public void saveGameSnapshot(@NotNull final GameSnapshot gameSnapshot) {
-        synchronized (this.saveLock) {
-            Preconditions.checkNotNull(gameSnapshot, "gameSnapshot was null");
-            final String channel = gameSnapshot.getChannel();
-            final File gameLocation = this.getGameSnapshotFile(channel, this.getLastGameSnapshotNumber(channel) + 1);
-            this.createFile(gameLocation);
-            try {
-                Files.write(gameLocation.toPath(), gameSnapshot.toJSON().getBytes(StandardCharsets.UTF_8));
-            } catch (final IOException ex) {
-                throw new RuntimeException(ex);
-            }
+    /**
+     * Saves a GameSnapshot under the next game number of its channel. The snapshot is encoded right away, on the
+     * calling thread, and written to the disk in the background. Until it is written, it can still be loaded.
+     *
+     * @param gameSnapshot Snapshot to save
+     * @return Number the game was saved under
+     */
+    public int saveGameSnapshot(@NotNull final GameSnapshot gameSnapshot) {
+        Preconditions.checkNotNull(gameSnapshot, "gameSnapshot was null");
+        final String channel = gameSnapshot.getChannel();
+        final byte[] data = SnapshotCodec.encode(gameSnapshot);
+        final AtomicInteger gameNumber = this.getGameNumber(channel);
+        // Numbers must reach the writer in order, so statistics can tell which games they have counted
+        synchronized (gameNumber) {
+            final int number = gameNumber.incrementAndGet();
+            this.writer.submit(channel, number, gameSnapshot, data);
+            return number;
+        }
+    }
+
+    /**
+     * Reads every written game of a channel with a number in the given range, in order. Snapshots read this way are not
+     * cached.
+     *
+     * @param channel  Channel to read. Ex: "#CAHdev"
+     * @param from     First number, inclusive
+     * @param to       Last number, inclusive
+     * @param consumer Consumer of each snapshot and its number
+     * @throws UncheckedIOException If a game could not be read
+     */
+    public void scanGameSnapshots(@NotNull final String channel, final int from, final int to, @NotNull final ObjIntConsumer<GameSnapshot> consumer) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        Preconditions.checkNotNull(consumer, "consumer was null");
+        final SegmentStore store = this.stores.get(channel.toLowerCase());
+        if (store == null) return;
+        try {
+            store.scan(from, to, (data, number) -> {
+                try {
+                    consumer.accept(SnapshotCodec.decode(data), number);
+                } catch (final IOException ex) {
+                    throw new UncheckedIOException(ex);
+                }
+            });
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
         }
     }
 }
@@ -0,0 +1,356 @@
+package org.royaldev.thehumanity.history;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.GameSnapshot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Saves games to their channels' {@link SegmentStore}s on a background thread. Games that queue up while a batch is
+ * being written are committed together in the next batch: all of them are appended, then each store touched is flushed
+ * to the disk once.
+ * <p/>
+ * Until a game has been written, its data can be read with {@link #getPending(String, int)}. A game that cannot be
+ * appended, or whose store cannot be flushed, is tried again in later batches, and the games after it in the same
+ * channel wait behind it, so they still reach the disk in order. If it fails {@link #MAX_ATTEMPTS} times, it is given
+ * up on and counted by {@link #getFailed()}, but its data is kept, so it can still be read until the bot restarts.
+ */
+public class HistoryWriter {
+
+    /**
+     * The most games written in one batch.
+     */
+    public static final int MAX_BATCH = 64;
+    /**
+     * The most times a game is tried before it is given up on.
+     */
+    public static final int MAX_ATTEMPTS = 5;
+    /**
+     * Milliseconds to wait before trying failed games again.
+     */
+    public static final long RETRY_DELAY_MILLIS = 500L;
+    private final Function<String, SegmentStore> stores;
+    private final CommitListener listener;
+    private final Logger logger;
+    private final BlockingDeque<Write> queue = new LinkedBlockingDeque<>();
+    private final Map<String, byte[]> pending = new ConcurrentHashMap<>();
+    private final Object emptyLock = new Object();
+    private final Thread worker;
+    // Guarded by emptyLock
+    private int outstanding = 0;
+    private volatile boolean running = true;
+    private volatile long batches = 0L;
+    private volatile long written = 0L;
+    private volatile long failed = 0L;
+
+    /**
+     * Creates a writer and starts its thread.
+     *
+     * @param stores   Gets the store of a channel, creating it if needed
+     * @param listener Told about every game once it is on the disk
+     * @param logger   Logger to report failed writes to
+     */
+    public HistoryWriter(@NotNull final Function<String, SegmentStore> stores, @NotNull final CommitListener listener, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(stores, "stores was null");
+        Preconditions.checkNotNull(listener, "listener was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        this.stores = stores;
+        this.listener = listener;
+        this.logger = logger;
+        this.worker = new Thread(this::work, "TheHumanity-history");
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    @NotNull
+    private static String key(@NotNull final String channel, final int number) {
+        return channel.toLowerCase() + ":" + number;
+    }
+
+    private void work() {
+        final List<Write> batch = new ArrayList<>(HistoryWriter.MAX_BATCH);
+        final List<Write> retry = new ArrayList<>();
+        while (this.running || !this.queue.isEmpty()) {
+            try {
+                final Write first = this.queue.poll(1L, TimeUnit.SECONDS);
+                if (first == null) continue;
+                batch.add(first);
+            } catch (final InterruptedException ex) {
+                continue;
+            }
+            this.queue.drainTo(batch, HistoryWriter.MAX_BATCH - 1);
+            int finished = batch.size();
+            try {
+                this.commit(batch, retry);
+            } catch (final Throwable t) {
+                this.logger.log(Level.SEVERE, "Could not write history", t);
+            } finally {
+                // Failed games go back to the front of the queue, in order, ahead of anything submitted since
+                for (int i = retry.size() - 1; i >= 0; i--) {
+                    this.queue.addFirst(retry.get(i));
+                }
+                finished -= retry.size();
+                batch.clear();
+                synchronized (this.emptyLock) {
+                    this.outstanding -= finished;
+                    this.emptyLock.notifyAll();
+                }
+            }
+            if (retry.isEmpty()) continue;
+            retry.clear();
+            try {
+                Thread.sleep(HistoryWriter.RETRY_DELAY_MILLIS);
+            } catch (final InterruptedException ignored) {
+            }
+        }
+    }
+
+    /**
+     * Counts a failed attempt at writing a game, and checks if it should be tried again. If it has failed too often, it
+     * is given up on instead.
+     *
+     * @param w      Game that failed
+     * @param action What failed, such as "save"
+     * @param ex     Cause of the failure
+     * @return true if the game should be tried again, false if it was given up on
+     */
+    private boolean shouldRetry(@NotNull final Write w, @NotNull final String action, @NotNull final Exception ex) {
+        if (++w.attempts < HistoryWriter.MAX_ATTEMPTS) {
+            this.logger.log(Level.WARNING, "Could not " + action + " game " + w.number + " in " + w.channel + "; trying again", ex);
+            return true;
+        }
+        this.logger.log(Level.SEVERE, "Could not " + action + " game " + w.number + " in " + w.channel + " after " + w.attempts + " attempts; keeping it in memory", ex);
+        this.failed++;
+        return false;
+    }
+
+    /**
+     * Writes a batch. Games that fail to be appended or flushed, and the games after them in the same channel, are added
+     * to the retry list, in the order they were submitted. Games that have failed too often are given up on, and are
+     * left in {@link #pending}.
+     *
+     * @param batch Games to write
+     * @param retry List to add games to try again to
+     */
+    private void commit(@NotNull final List<Write> batch, @NotNull final List<Write> retry) {
+        final Map<SegmentStore, List<Write>> touched = new LinkedHashMap<>();
+        final Set<String> blocked = new HashSet<>();
+        // Writes have no equals, so these are by identity
+        final Set<Write> again = new HashSet<>();
+        final Set<Write> flushed = new HashSet<>();
+        for (final Write w : batch) {
+            final String channel = w.channel.toLowerCase();
+            if (blocked.contains(channel)) {
+                // Wait behind the failed game, so games reach the disk in order
+                again.add(w);
+                continue;
+            }
+            try {
+                final SegmentStore store = this.stores.apply(w.channel);
+                store.append(w.number, w.data);
+                touched.computeIfAbsent(store, k -> new ArrayList<>()).add(w);
+            } catch (final IOException | RuntimeException ex) {
+                if (this.shouldRetry(w, "save", ex)) {
+                    blocked.add(channel);
+                    again.add(w);
+                }
+            }
+        }
+        // One flush per store for the whole batch
+        for (final Map.Entry<SegmentStore, List<Write>> entry : touched.entrySet()) {
+            try {
+                entry.getKey().force();
+                flushed.addAll(entry.getValue());
+            } catch (final IOException ex) {
+                // Nothing appended since the last flush is known to be on the disk, so append it all again
+                for (final Write w : entry.getValue()) {
+                    if (this.shouldRetry(w, "flush", ex)) again.add(w);
+                }
+            }
+        }
+        for (final Write w : batch) {
+            if (again.contains(w)) retry.add(w);
+        }
+        this.batches++;
+        for (final Write w : batch) {
+            if (!flushed.contains(w)) continue;
+            this.written++;
+            this.pending.remove(HistoryWriter.key(w.channel, w.number), w.data);
+            try {
+                this.listener.committed(w.channel, w.number, w.snapshot);
+            } catch (final RuntimeException ex) {
+                this.logger.log(Level.WARNING, "Commit listener failed for game " + w.number + " in " + w.channel, ex);
+            }
+        }
+        this.listener.batchCommitted();
+    }
+
+    /**
+     * Waits until every queued game has been written or given up on.
+     *
+     * @param timeout Most time to wait
+     * @param unit    Unit of the timeout
+     * @return true if the queue was emptied, false if the time ran out
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitEmpty(final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(unit, "unit was null");
+        final long deadline = System.nanoTime() + unit.toNanos(timeout);
+        synchronized (this.emptyLock) {
+            while (this.outstanding > 0) {
+                final long left = deadline - System.nanoTime();
+                if (left <= 0L) return false;
+                TimeUnit.NANOSECONDS.timedWait(this.emptyLock, left);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Gets the number of batches committed.
+     *
+     * @return Batches
+     */
+    public long getBatches() {
+        return this.batches;
+    }
+
+    /**
+     * Gets the number of games given up on after failing {@link #MAX_ATTEMPTS} times.
+     *
+     * @return Failed games
+     */
+    public long getFailed() {
+        return this.failed;
+    }
+
+    /**
+     * Gets the data of a game waiting to be written, or given up on.
+     *
+     * @param channel Channel of the game
+     * @param number  Number of the game
+     * @return Data, or null if the game is not waiting to be written
+     */
+    @Nullable
+    public byte[] getPending(@NotNull final String channel, final int number) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        return this.pending.get(HistoryWriter.key(channel, number));
+    }
+
+    /**
+     * Gets the number of games waiting to be written, including the batch being written right now.
+     *
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        synchronized (this.emptyLock) {
+            return this.outstanding;
+        }
+    }
+
+    /**
+     * Gets the number of games written.
+     *
+     * @return Games written
+     */
+    public long getWritten() {
+        return this.written;
+    }
+
+    /**
+     * Stops the writer, and waits for its thread to write every queued game and exit. Games submitted after this will
+     * not be written.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public void stop() throws InterruptedException {
+        this.running = false;
+        this.worker.join();
+    }
+
+    /**
+     * Queues a game to be saved. The snapshot is not written; it is only passed to the {@link CommitListener}, so the
+     * listener does not have to decode the data again.
+     *
+     * @param channel  Channel of the game
+     * @param number   Number of the game
+     * @param snapshot Snapshot the data was encoded from
+     * @param data     Data of the game
+     */
+    public void submit(@NotNull final String channel, final int number, @NotNull final GameSnapshot snapshot, @NotNull final byte[] data) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        Preconditions.checkNotNull(snapshot, "snapshot was null");
+        Preconditions.checkNotNull(data, "data was null");
+        Preconditions.checkState(this.running, "writer was stopped");
+        this.pending.put(HistoryWriter.key(channel, number), data);
+        synchronized (this.emptyLock) {
+            this.outstanding++;
+        }
+        this.queue.add(new Write(channel, number, snapshot, data));
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("queueDepth", this.getQueueDepth())
+            .add("batches", this.batches)
+            .add("written", this.written)
+            .add("failed", this.failed)
+            .add("running", this.running)
+            .toString();
+    }
+
+    /**
+     * Told about games once they are on the disk, on the writer's thread.
+     */
+    @FunctionalInterface
+    public interface CommitListener {
+
+        /**
+         * Called for every game in a batch, in the order they were submitted, after the batch is on the disk.
+         *
+         * @param channel  Channel of the game
+         * @param number   Number of the game
+         * @param snapshot Snapshot the game's data was encoded from
+         */
+        void committed(@NotNull String channel, int number, @NotNull GameSnapshot snapshot);
+
+        /**
+         * Called once after every game of a batch has been passed to {@link #committed(String, int, GameSnapshot)}.
+         */
+        default void batchCommitted() {}
+    }
+
+    private static final class Write {
+
+        private final String channel;
+        private final int number;
+        private final GameSnapshot snapshot;
+        private final byte[] data;
+        // Only touched by the writer's thread
+        private int attempts;
+
+        private Write(final String channel, final int number, final GameSnapshot snapshot, final byte[] data) {
+            this.channel = channel;
+            this.number = number;
+            this.snapshot = snapshot;
+            this.data = data;
+        }
+    }
+}
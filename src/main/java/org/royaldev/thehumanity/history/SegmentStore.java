@@ -0,0 +1,338 @@
+package org.royaldev.thehumanity.history;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The saved games of one channel, stored in append-only segment files with an offset index.
+ * <p/>
+ * Each segment holds records of the form <code>[game number][length][data]</code>, and a new segment is started once
+ * the current one is full. The index holds one fixed-size entry per game number, so it can be kept in memory as a few
+ * primitive arrays, and looking up a game is a single read.
+ * <p/>
+ * Records are written before their index entries. When a store is opened, the end of the last segment is checked for
+ * records the index does not know about, and any partial record left by a crash is cut off.
+ * <p/>
+ * Since the index is dense, a game number may be at most {@link #MAX_NUMBER_GAP} past the last one stored. Numbers
+ * further out are refused when appending, and treated as corruption when opening.
+ * <p/>
+ * One thread appends, but any thread may read.
+ */
+public class SegmentStore implements Closeable {
+
+    /**
+     * The size at which a new segment is started.
+     */
+    public static final long MAX_SEGMENT_BYTES = 16L * 1024L * 1024L;
+    /**
+     * The furthest a game number may be past the last one stored.
+     */
+    public static final int MAX_NUMBER_GAP = 100_000;
+    // Index entries read at a time when opening
+    private static final int INDEX_CHUNK = 4096;
+    private static final int HEADER_BYTES = 8;
+    // Segment, length and data offset
+    private static final int ENTRY_BYTES = 16;
+    private final File folder;
+    private final List<FileChannel> segments = new ArrayList<>();
+    private final FileChannel index;
+    // Per game number, less one. A length of 0 means there is no such game.
+    private int[] entrySegments = new int[64];
+    private int[] entryLengths = new int[64];
+    private long[] entryOffsets = new long[64];
+    private int lastNumber, count;
+    private long activeSize;
+
+    /**
+     * Opens the store in the given folder, creating it if needed.
+     *
+     * @param folder Folder of the store
+     * @throws IOException If the store could not be opened
+     */
+    public SegmentStore(@NotNull final File folder) throws IOException {
+        Preconditions.checkNotNull(folder, "folder was null");
+        this.folder = folder;
+        if (!folder.exists() && !folder.mkdirs()) throw new IOException("Could not create " + folder);
+        for (int id = 0; this.getSegmentFile(id).exists(); id++) {
+            this.segments.add(FileChannel.open(this.getSegmentFile(id).toPath(), StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+        this.index = FileChannel.open(new File(folder, "index.dat").toPath(), StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.loadIndex();
+        this.recover();
+    }
+
+    private static void readFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            final int read = channel.read(buffer, position);
+            if (read < 0) throw new IOException("Unexpected end of file");
+            position += read;
+        }
+        buffer.flip();
+    }
+
+    private static void writeFully(@NotNull final FileChannel channel, @NotNull final ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+    }
+
+    @NotNull
+    private File getSegmentFile(final int id) {
+        return new File(this.folder, "segment-" + id + ".dat");
+    }
+
+    private void ensureCapacity(final int number) {
+        if (number <= this.entryLengths.length) return;
+        final int capacity = Math.max(number, this.entryLengths.length * 2);
+        this.entrySegments = Arrays.copyOf(this.entrySegments, capacity);
+        this.entryLengths = Arrays.copyOf(this.entryLengths, capacity);
+        this.entryOffsets = Arrays.copyOf(this.entryOffsets, capacity);
+    }
+
+    private void setEntry(final int number, final int segment, final long offset, final int length) {
+        this.ensureCapacity(number);
+        final int i = number - 1;
+        if (this.entryLengths[i] == 0) this.count++;
+        this.entrySegments[i] = segment;
+        this.entryOffsets[i] = offset;
+        this.entryLengths[i] = length;
+        if (number > this.lastNumber) this.lastNumber = number;
+    }
+
+    private void writeEntry(final int number) throws IOException {
+        final int i = number - 1;
+        final ByteBuffer entry = ByteBuffer.allocate(SegmentStore.ENTRY_BYTES);
+        entry.putInt(this.entrySegments[i]).putInt(this.entryLengths[i]).putLong(this.entryOffsets[i]).flip();
+        SegmentStore.writeFully(this.index, entry, (long) i * SegmentStore.ENTRY_BYTES);
+    }
+
+    private void loadIndex() throws IOException {
+        final long entries = this.index.size() / SegmentStore.ENTRY_BYTES;
+        if (entries == 0L) return;
+        final long[] sizes = new long[this.segments.size()];
+        for (int s = 0; s < sizes.length; s++) sizes[s] = this.segments.get(s).size();
+        final ByteBuffer buffer = ByteBuffer.allocate(SegmentStore.INDEX_CHUNK * SegmentStore.ENTRY_BYTES);
+        for (long first = 0L; first < entries; first += SegmentStore.INDEX_CHUNK) {
+            final int chunk = (int) Math.min(SegmentStore.INDEX_CHUNK, entries - first);
+            // Anything past this is not a game this store could have written
+            if (first >= this.lastNumber + (long) SegmentStore.MAX_NUMBER_GAP) break;
+            buffer.clear().limit(chunk * SegmentStore.ENTRY_BYTES);
+            SegmentStore.readFully(this.index, buffer, first * SegmentStore.ENTRY_BYTES);
+            for (int j = 0; j < chunk; j++) {
+                final int segment = buffer.getInt();
+                final int length = buffer.getInt();
+                final long offset = buffer.getLong();
+                final long number = first + j + 1L;
+                // Entries can outlive their records if a crash cut the segment short
+                if (length <= 0 || segment < 0 || segment >= sizes.length || offset + length > sizes[segment]) continue;
+                if (!this.isPlausible(number)) continue;
+                this.setEntry((int) number, segment, offset, length);
+            }
+        }
+    }
+
+    private boolean isPlausible(final long number) {
+        return number > 0L && number <= this.lastNumber + (long) SegmentStore.MAX_NUMBER_GAP;
+    }
+
+    private void recover() throws IOException {
+        if (this.segments.isEmpty()) return;
+        final int last = this.segments.size() - 1;
+        final FileChannel segment = this.segments.get(last);
+        long position = 0L;
+        for (int i = 0; i < this.lastNumber; i++) {
+            if (this.entryLengths[i] > 0 && this.entrySegments[i] == last) {
+                position = Math.max(position, this.entryOffsets[i] + this.entryLengths[i]);
+            }
+        }
+        final long size = segment.size();
+        final ByteBuffer header = ByteBuffer.allocate(SegmentStore.HEADER_BYTES);
+        while (position + SegmentStore.HEADER_BYTES <= size) {
+            header.clear();
+            SegmentStore.readFully(segment, header, position);
+            final int number = header.getInt();
+            final int length = header.getInt();
+            // A number far past the last game is a torn header, not a game
+            if (!this.isPlausible(number) || length <= 0 || position + SegmentStore.HEADER_BYTES + length > size) break;
+            this.setEntry(number, last, position + SegmentStore.HEADER_BYTES, length);
+            this.writeEntry(number);
+            position += SegmentStore.HEADER_BYTES + length;
+        }
+        if (position < size) segment.truncate(position);
+        this.activeSize = position;
+    }
+
+    private void startSegment() throws IOException {
+        if (!this.segments.isEmpty()) this.force();
+        final int id = this.segments.size();
+        this.segments.add(FileChannel.open(this.getSegmentFile(id).toPath(), StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE));
+        this.activeSize = 0L;
+    }
+
+    /**
+     * Appends a game to the store. If the number was already stored, the new data replaces it. The data is not
+     * guaranteed to be on the disk until {@link #force()} is called.
+     *
+     * @param number Number of the game, at most {@link #MAX_NUMBER_GAP} past the last one
+     * @param data   Data of the game
+     * @throws IOException If the game could not be written
+     */
+    public synchronized void append(final int number, @NotNull final byte[] data) throws IOException {
+        Preconditions.checkArgument(number > 0, "number must be positive");
+        Preconditions.checkArgument(this.isPlausible(number), "number was too far past the last game");
+        Preconditions.checkNotNull(data, "data was null");
+        Preconditions.checkArgument(data.length > 0, "data was empty");
+        final long recordBytes = SegmentStore.HEADER_BYTES + data.length;
+        if (this.segments.isEmpty() || this.activeSize > 0L && this.activeSize + recordBytes > SegmentStore.MAX_SEGMENT_BYTES) {
+            this.startSegment();
+        }
+        final int last = this.segments.size() - 1;
+        final ByteBuffer record = ByteBuffer.allocate((int) recordBytes);
+        record.putInt(number).putInt(data.length).put(data).flip();
+        final long position = this.activeSize;
+        SegmentStore.writeFully(this.segments.get(last), record, position);
+        this.activeSize += recordBytes;
+        this.setEntry(number, last, position + SegmentStore.HEADER_BYTES, data.length);
+        this.writeEntry(number);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (final FileChannel segment : this.segments) segment.close();
+        this.index.close();
+    }
+
+    /**
+     * Checks if a game is in the store.
+     *
+     * @param number Number of the game
+     * @return true if stored, false if otherwise
+     */
+    public synchronized boolean contains(final int number) {
+        return number > 0 && number <= this.entryLengths.length && this.entryLengths[number - 1] > 0;
+    }
+
+    /**
+     * Flushes everything appended so far to the disk.
+     *
+     * @throws IOException If the store could not be flushed
+     */
+    public synchronized void force() throws IOException {
+        if (!this.segments.isEmpty()) this.segments.get(this.segments.size() - 1).force(false);
+        this.index.force(false);
+    }
+
+    /**
+     * Gets the number of games in the store.
+     *
+     * @return Count
+     */
+    public synchronized int getCount() {
+        return this.count;
+    }
+
+    /**
+     * Gets the folder of this store.
+     *
+     * @return Folder
+     */
+    @NotNull
+    public File getFolder() {
+        return this.folder;
+    }
+
+    /**
+     * Gets the highest game number in the store.
+     *
+     * @return Number, or 0 if the store is empty
+     */
+    public synchronized int getLastNumber() {
+        return this.lastNumber;
+    }
+
+    /**
+     * Gets the numbers of every game in the store, in order.
+     *
+     * @return Numbers
+     */
+    @NotNull
+    public synchronized int[] getNumbers() {
+        final int[] numbers = new int[this.count];
+        int n = 0;
+        for (int i = 0; i < this.lastNumber; i++) {
+            if (this.entryLengths[i] > 0) numbers[n++] = i + 1;
+        }
+        return numbers;
+    }
+
+    /**
+     * Gets the number of segment files in this store.
+     *
+     * @return Segments
+     */
+    public synchronized int getSegmentCount() {
+        return this.segments.size();
+    }
+
+    /**
+     * Reads a game from the store.
+     *
+     * @param number Number of the game
+     * @return Data of the game, or null if there is no such game
+     * @throws IOException If the game could not be read
+     */
+    @Nullable
+    public byte[] read(final int number) throws IOException {
+        final FileChannel segment;
+        final long offset;
+        final int length;
+        synchronized (this) {
+            if (!this.contains(number)) return null;
+            segment = this.segments.get(this.entrySegments[number - 1]);
+            offset = this.entryOffsets[number - 1];
+            length = this.entryLengths[number - 1];
+        }
+        final ByteBuffer buffer = ByteBuffer.allocate(length);
+        SegmentStore.readFully(segment, buffer, offset);
+        return buffer.array();
+    }
+
+    /**
+     * Reads every game with a number in the given range, in order. Games are stored in the order they were saved, so
+     * this mostly reads the segments from start to end.
+     *
+     * @param from     First number, inclusive
+     * @param to       Last number, inclusive
+     * @param consumer Consumer of each game's data and number
+     * @throws IOException If a game could not be read
+     */
+    public void scan(final int from, final int to, @NotNull final ObjIntConsumer<byte[]> consumer) throws IOException {
+        Preconditions.checkNotNull(consumer, "consumer was null");
+        final int last = Math.min(to, this.getLastNumber());
+        for (int number = Math.max(1, from); number <= last; number++) {
+            final byte[] data = this.read(number);
+            if (data != null) consumer.accept(data, number);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("folder", this.folder)
+            .add("count", this.count)
+            .add("lastNumber", this.lastNumber)
+            .add("segments", this.segments.size())
+            .toString();
+    }
+}
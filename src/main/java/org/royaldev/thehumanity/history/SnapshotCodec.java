@@ -0,0 +1,387 @@
+package org.royaldev.thehumanity.history;
+
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.game.GameSnapshot.Timestamps;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+import org.royaldev.thehumanity.game.round.RoundSnapshot.IndividualPlaySnapshot;
+import org.royaldev.thehumanity.util.json.JSONMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Converts {@link GameSnapshot}s to and from the compact binary form saved in {@link SegmentStore}s.
+ * <p/>
+ * Nicks and card texts repeat in almost every round, so each game gets a dictionary of its strings, and everything
+ * after it refers to strings by their index. Numbers are written as variable-length integers, and the whole game is
+ * then deflated.
+ * <p/>
+ * Games saved by older versions are plain JSON. {@link #decode(byte[])} tells the two apart by the first bytes, so
+ * both can be read.
+ */
+public final class SnapshotCodec {
+
+    private static final byte[] MAGIC = {'T', 'H', 'G', 'S'};
+    private static final int VERSION = 1;
+    private static final ObjectReader legacyReader = JSONMapper.getReader(GameSnapshot.class);
+
+    private SnapshotCodec() {}
+
+    /**
+     * Reads a game saved by {@link #encode(GameSnapshot)}, or a legacy JSON game.
+     *
+     * @param data Saved data
+     * @return GameSnapshot
+     * @throws IOException If the data could not be read
+     */
+    @NotNull
+    public static GameSnapshot decode(@NotNull final byte[] data) throws IOException {
+        Preconditions.checkNotNull(data, "data was null");
+        if (!SnapshotCodec.isBinary(data)) return SnapshotCodec.legacyReader.readValue(data);
+        final int version = data[SnapshotCodec.MAGIC.length];
+        if (version != SnapshotCodec.VERSION) throw new IOException("Unknown snapshot version " + version);
+        final int offset = SnapshotCodec.MAGIC.length + 1;
+        try (final DataInputStream in = new DataInputStream(new InflaterInputStream(new ByteArrayInputStream(data, offset, data.length - offset)))) {
+            return new Reader(in).readGame();
+        }
+    }
+
+    /**
+     * Converts a game to its binary form.
+     *
+     * @param gs Game to convert
+     * @return Binary data
+     */
+    @NotNull
+    public static byte[] encode(@NotNull final GameSnapshot gs) {
+        Preconditions.checkNotNull(gs, "gs was null");
+        try {
+            // The body is written first, since the dictionary is only known once every string has been seen
+            final Writer writer = new Writer();
+            writer.writeGame(gs);
+            final ByteArrayOutputStream result = new ByteArrayOutputStream(writer.body.size() / 2 + 16);
+            result.write(SnapshotCodec.MAGIC);
+            result.write(SnapshotCodec.VERSION);
+            final Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+            try (final DataOutputStream out = new DataOutputStream(new DeflaterOutputStream(result, deflater))) {
+                SnapshotCodec.writeVarInt(out, writer.strings.size());
+                for (final String string : writer.strings) {
+                    final byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+                    SnapshotCodec.writeVarInt(out, bytes.length);
+                    out.write(bytes);
+                }
+                writer.body.writeTo(out);
+            } finally {
+                deflater.end();
+            }
+            return result.toByteArray();
+        } catch (final IOException ex) {
+            // Only memory is written to
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    /**
+     * Checks if data was saved by {@link #encode(GameSnapshot)}, rather than being legacy JSON.
+     *
+     * @param data Saved data
+     * @return true if binary, false if otherwise
+     */
+    public static boolean isBinary(@NotNull final byte[] data) {
+        Preconditions.checkNotNull(data, "data was null");
+        if (data.length <= SnapshotCodec.MAGIC.length) return false;
+        for (int i = 0; i < SnapshotCodec.MAGIC.length; i++) {
+            if (data[i] != SnapshotCodec.MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    private static int readVarInt(@NotNull final DataInput in) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static long readVarLong(@NotNull final DataInput in) throws IOException {
+        long value = 0L;
+        for (int shift = 0; shift < 70; shift += 7) {
+            final int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return value;
+        }
+        throw new IOException("Malformed variable-length integer");
+    }
+
+    private static void writeVarInt(@NotNull final DataOutput out, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            out.writeByte(value & 0x7F | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte(value);
+    }
+
+    private static void writeVarLong(@NotNull final DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0L) {
+            out.writeByte((int) (value & 0x7FL) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Writes the body of one game, collecting its strings as it goes. Sizes of collections are written plus one, so
+     * that 0 can stand for null. String references work the same way.
+     */
+    private static final class Writer {
+
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> strings = new ArrayList<>();
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(1024);
+        private final DataOutputStream out = new DataOutputStream(this.body);
+
+        private void writeCount(@Nullable final Object collection, final int size) throws IOException {
+            SnapshotCodec.writeVarInt(this.out, collection == null ? 0 : size + 1);
+        }
+
+        private void writeGame(@NotNull final GameSnapshot gs) throws IOException {
+            this.writeString(gs.getChannel());
+            this.writeString(gs.getEndCause());
+            this.writeString(gs.getHost());
+            this.writeTimestamps(gs.getTimestamps());
+            SnapshotCodec.writeVarInt(this.out, gs.getRounds());
+            this.writeStrings(gs.getPlayers());
+            this.writeStrings(gs.getHistoricPlayers());
+            this.writeStrings(gs.getHouseRules());
+            this.writeStrings(gs.getCardPacks());
+            this.writeInts(gs.getScores());
+            final List<RoundSnapshot> rounds = gs.getPreviousRounds();
+            this.writeCount(rounds, rounds == null ? 0 : rounds.size());
+            if (rounds == null) return;
+            for (final RoundSnapshot rs : rounds) this.writeRound(rs);
+        }
+
+        private void writeInt(final int value) throws IOException {
+            // Zig-zag, so small negative numbers stay small
+            SnapshotCodec.writeVarInt(this.out, value << 1 ^ value >> 31);
+        }
+
+        private void writeInts(@Nullable final Map<String, Integer> map) throws IOException {
+            this.writeCount(map, map == null ? 0 : map.size());
+            if (map == null) return;
+            for (final Map.Entry<String, Integer> entry : map.entrySet()) {
+                this.writeString(entry.getKey());
+                this.writeInt(entry.getValue() == null ? 0 : entry.getValue());
+            }
+        }
+
+        private void writeRound(@NotNull final RoundSnapshot rs) throws IOException {
+            SnapshotCodec.writeVarInt(this.out, rs.getNumber());
+            this.writeTimestamps(rs.getTimestamps());
+            this.writeString(rs.getBlackCard());
+            this.writeString(rs.getCzar());
+            this.writeString(rs.getWinner());
+            this.writeString(rs.getEndCause());
+            final Map<String, List<IndividualPlaySnapshot>> plays = rs.getPlays();
+            this.writeCount(plays, plays == null ? 0 : plays.size());
+            if (plays != null) {
+                for (final Map.Entry<String, List<IndividualPlaySnapshot>> entry : plays.entrySet()) {
+                    this.writeString(entry.getKey());
+                    final List<IndividualPlaySnapshot> cards = entry.getValue();
+                    this.writeCount(cards, cards == null ? 0 : cards.size());
+                    if (cards == null) continue;
+                    for (final IndividualPlaySnapshot ips : cards) {
+                        this.writeString(ips.getText());
+                        this.writeInt(ips.getHandIndex());
+                    }
+                }
+            }
+            this.writeStrings(rs.getPlayers());
+            this.writeStrings(rs.getSkippedPlayers());
+            this.writeInts(rs.getScoreDelta());
+            this.writeInts(rs.getVotes());
+        }
+
+        private void writeString(@Nullable final String string) throws IOException {
+            if (string == null) {
+                SnapshotCodec.writeVarInt(this.out, 0);
+                return;
+            }
+            Integer id = this.ids.get(string);
+            if (id == null) {
+                id = this.strings.size();
+                this.ids.put(string, id);
+                this.strings.add(string);
+            }
+            SnapshotCodec.writeVarInt(this.out, id + 1);
+        }
+
+        private void writeStrings(@Nullable final Collection<String> strings) throws IOException {
+            this.writeCount(strings, strings == null ? 0 : strings.size());
+            if (strings == null) return;
+            for (final String string : strings) this.writeString(string);
+        }
+
+        private void writeTimestamps(@Nullable final Timestamps timestamps) throws IOException {
+            if (timestamps == null) {
+                this.out.writeBoolean(false);
+                return;
+            }
+            this.out.writeBoolean(true);
+            SnapshotCodec.writeVarLong(this.out, timestamps.getStarted());
+            // Usually much smaller than the time itself
+            SnapshotCodec.writeVarLong(this.out, timestamps.getEnded() - timestamps.getStarted());
+        }
+    }
+
+    /**
+     * Reads what {@link Writer} wrote.
+     */
+    private static final class Reader {
+
+        private final DataInput in;
+        private final String[] strings;
+
+        private Reader(@NotNull final DataInput in) throws IOException {
+            this.in = in;
+            this.strings = new String[SnapshotCodec.readVarInt(in)];
+            for (int i = 0; i < this.strings.length; i++) {
+                final byte[] bytes = new byte[SnapshotCodec.readVarInt(in)];
+                in.readFully(bytes);
+                this.strings[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        private int readCount() throws IOException {
+            return SnapshotCodec.readVarInt(this.in) - 1;
+        }
+
+        @NotNull
+        private GameSnapshot readGame() throws IOException {
+            final String channel = this.readString();
+            final String endCause = this.readString();
+            final String host = this.readString();
+            final Timestamps timestamps = this.readTimestamps();
+            final int rounds = SnapshotCodec.readVarInt(this.in);
+            final List<String> players = this.readStrings(new ArrayList<>());
+            final List<String> historicPlayers = this.readStrings(new ArrayList<>());
+            final List<String> houseRules = this.readStrings(new ArrayList<>());
+            final List<String> cardPacks = this.readStrings(new ArrayList<>());
+            final Map<String, Integer> scores = this.readInts();
+            final int roundCount = this.readCount();
+            List<RoundSnapshot> previousRounds = null;
+            if (roundCount >= 0) {
+                previousRounds = new ArrayList<>(roundCount);
+                for (int i = 0; i < roundCount; i++) previousRounds.add(this.readRound());
+            }
+            return new GameSnapshot(
+                channel,
+                endCause,
+                timestamps == null ? 0L : timestamps.getStarted(),
+                timestamps == null ? 0L : timestamps.getEnded(),
+                players,
+                historicPlayers,
+                houseRules,
+                cardPacks,
+                previousRounds,
+                scores,
+                host,
+                rounds
+            );
+        }
+
+        private int readInt() throws IOException {
+            final int value = SnapshotCodec.readVarInt(this.in);
+            return value >>> 1 ^ -(value & 1);
+        }
+
+        @Nullable
+        private Map<String, Integer> readInts() throws IOException {
+            final int count = this.readCount();
+            if (count < 0) return null;
+            final Map<String, Integer> map = new LinkedHashMap<>();
+            for (int i = 0; i < count; i++) map.put(this.readString(), this.readInt());
+            return map;
+        }
+
+        @NotNull
+        private RoundSnapshot readRound() throws IOException {
+            final int number = SnapshotCodec.readVarInt(this.in);
+            final Timestamps timestamps = this.readTimestamps();
+            final String blackCard = this.readString();
+            final String czar = this.readString();
+            final String winner = this.readString();
+            final String endCause = this.readString();
+            final int playCount = this.readCount();
+            Map<String, List<IndividualPlaySnapshot>> plays = null;
+            if (playCount >= 0) {
+                plays = new LinkedHashMap<>();
+                for (int i = 0; i < playCount; i++) {
+                    final String player = this.readString();
+                    final int cardCount = this.readCount();
+                    List<IndividualPlaySnapshot> cards = null;
+                    if (cardCount >= 0) {
+                        cards = new ArrayList<>(cardCount);
+                        for (int j = 0; j < cardCount; j++) {
+                            final String text = this.readString();
+                            cards.add(new IndividualPlaySnapshot(text, this.readInt()));
+                        }
+                    }
+                    plays.put(player, cards);
+                }
+            }
+            final Set<String> players = this.readStrings(new LinkedHashSet<>());
+            final Set<String> skippedPlayers = this.readStrings(new LinkedHashSet<>());
+            final Map<String, Integer> scoreDelta = this.readInts();
+            final Map<String, Integer> votes = this.readInts();
+            return new RoundSnapshot(number, timestamps, blackCard, czar, winner, endCause, plays, players, skippedPlayers, scoreDelta, votes);
+        }
+
+        @Nullable
+        private String readString() throws IOException {
+            final int id = SnapshotCodec.readVarInt(this.in);
+            if (id == 0) return null;
+            if (id > this.strings.length) throw new IOException("Unknown string " + id);
+            return this.strings[id - 1];
+        }
+
+        @Nullable
+        private <T extends Collection<String>> T readStrings(@NotNull final T into) throws IOException {
+            final int count = this.readCount();
+            if (count < 0) return null;
+            for (int i = 0; i < count; i++) into.add(this.readString());
+            return into;
+        }
+
+        @Nullable
+        private Timestamps readTimestamps() throws IOException {
+            if (!this.in.readBoolean()) return null;
+            final long started = SnapshotCodec.readVarLong(this.in);
+            return new Timestamps(started, started + SnapshotCodec.readVarLong(this.in));
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * The number of rounds a card won over a period of saved games.
+ */
+public class CardStatistics {
+
+    private final String text;
+    private final int wins;
+
+    CardStatistics(@NotNull final String text, final int wins) {
+        Preconditions.checkNotNull(text, "text was null");
+        this.text = text;
+        this.wins = wins;
+    }
+
+    /**
+     * Gets the text of the card.
+     *
+     * @return Text
+     */
+    @NotNull
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * Gets the number of rounds the card won.
+     *
+     * @return Wins
+     */
+    public int getWins() {
+        return this.wins;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("text", this.text)
+            .add("wins", this.wins)
+            .toString();
+    }
+}
@@ -0,0 +1,213 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.GameSnapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * The counters of one channel, for all time and for each month (in UTC) that has saved games. Games are counted in the
+ * order they were saved, and a game is never counted twice.
+ * <p/>
+ * Every method returns copies, so results can be used freely while more games are counted.
+ */
+public class ChannelStatistics {
+
+    private static final int VERSION = 1;
+    private final PeriodStatistics allTime;
+    private final Map<YearMonth, PeriodStatistics> months = new TreeMap<>();
+    private int lastNumber;
+
+    /**
+     * Creates empty statistics.
+     */
+    public ChannelStatistics() {
+        this.allTime = new PeriodStatistics();
+    }
+
+    private ChannelStatistics(@NotNull final PeriodStatistics allTime) {
+        this.allTime = allTime;
+    }
+
+    /**
+     * Reads statistics written by {@link #write(DataOutput)}.
+     *
+     * @param in Input to read from
+     * @return ChannelStatistics
+     * @throws IOException If the statistics could not be read, or were written by an unknown version
+     */
+    @NotNull
+    public static ChannelStatistics read(@NotNull final DataInput in) throws IOException {
+        Preconditions.checkNotNull(in, "in was null");
+        final int version = in.readInt();
+        if (version != ChannelStatistics.VERSION) throw new IOException("Unknown statistics version " + version);
+        final int lastNumber = in.readInt();
+        final ChannelStatistics cs = new ChannelStatistics(PeriodStatistics.read(in));
+        cs.lastNumber = lastNumber;
+        for (int i = in.readInt(); i > 0; i--) {
+            cs.months.put(YearMonth.of(in.readInt(), in.readInt()), PeriodStatistics.read(in));
+        }
+        return cs;
+    }
+
+    @Nullable
+    private PeriodStatistics getPeriod(@Nullable final YearMonth month) {
+        return month == null ? this.allTime : this.months.get(month);
+    }
+
+    /**
+     * Counts a saved game, unless a game with the same or a higher number was already counted.
+     *
+     * @param number Number of the game
+     * @param gs     Game to count
+     * @return true if the game was counted, false if otherwise
+     */
+    public synchronized boolean add(final int number, @NotNull final GameSnapshot gs) {
+        Preconditions.checkNotNull(gs, "gs was null");
+        if (number <= this.lastNumber) return false;
+        this.allTime.add(gs);
+        final long ended = gs.getTimestamps() == null ? 0L : gs.getTimestamps().getEnded();
+        final YearMonth month = YearMonth.from(Instant.ofEpochMilli(ended).atZone(ZoneOffset.UTC));
+        this.months.computeIfAbsent(month, key -> new PeriodStatistics()).add(gs);
+        this.lastNumber = number;
+        return true;
+    }
+
+    /**
+     * Gets the number of games counted in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @return Games
+     */
+    public synchronized int getGames(@Nullable final YearMonth month) {
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? 0 : ps.getGames();
+    }
+
+    /**
+     * Gets the highest game number counted.
+     *
+     * @return Number, or 0 if no games were counted
+     */
+    public synchronized int getLastNumber() {
+        return this.lastNumber;
+    }
+
+    /**
+     * Gets every month that has counted games, in order.
+     *
+     * @return Months
+     */
+    @NotNull
+    public synchronized List<YearMonth> getMonths() {
+        return new ArrayList<>(this.months.keySet());
+    }
+
+    /**
+     * Gets the counters of one player in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @param nick  Nick of the player
+     * @return PlayerStatistics, or null if the player did not play in the period
+     */
+    @Nullable
+    public synchronized PlayerStatistics getPlayer(@Nullable final YearMonth month, @NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? null : ps.getPlayerStatistics(nick);
+    }
+
+    /**
+     * Gets the number of rounds counted in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @return Rounds
+     */
+    public synchronized int getRounds(@Nullable final YearMonth month) {
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? 0 : ps.getRounds();
+    }
+
+    /**
+     * Gets the black cards that won the most rounds in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @param limit Most cards to return
+     * @return Cards, most wins first
+     */
+    @NotNull
+    public synchronized List<CardStatistics> getTopBlackCards(@Nullable final YearMonth month, final int limit) {
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? Collections.emptyList() : ps.getTopBlackCards(limit);
+    }
+
+    /**
+     * Gets the players that rank highest in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @param order Order to rank players by, such as {@link PlayerStatistics#BY_GAMES_WON}
+     * @param limit Most players to return
+     * @return Players, highest first
+     */
+    @NotNull
+    public synchronized List<PlayerStatistics> getTopPlayers(@Nullable final YearMonth month, @NotNull final Comparator<PlayerStatistics> order, final int limit) {
+        Preconditions.checkNotNull(order, "order was null");
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? Collections.emptyList() : ps.getTopPlayers(order, limit);
+    }
+
+    /**
+     * Gets the white cards that won the most rounds in a period.
+     *
+     * @param month Month to check, or null for all time
+     * @param limit Most cards to return
+     * @return Cards, most wins first
+     */
+    @NotNull
+    public synchronized List<CardStatistics> getTopWhiteCards(@Nullable final YearMonth month, final int limit) {
+        final PeriodStatistics ps = this.getPeriod(month);
+        return ps == null ? Collections.emptyList() : ps.getTopWhiteCards(limit);
+    }
+
+    /**
+     * Writes these statistics in a compact binary form.
+     *
+     * @param out Output to write to
+     * @throws IOException If the statistics could not be written
+     */
+    public synchronized void write(@NotNull final DataOutput out) throws IOException {
+        Preconditions.checkNotNull(out, "out was null");
+        out.writeInt(ChannelStatistics.VERSION);
+        out.writeInt(this.lastNumber);
+        this.allTime.write(out);
+        out.writeInt(this.months.size());
+        for (final Map.Entry<YearMonth, PeriodStatistics> entry : this.months.entrySet()) {
+            out.writeInt(entry.getKey().getYear());
+            out.writeInt(entry.getKey().getMonthValue());
+            entry.getValue().write(out);
+        }
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("lastNumber", this.lastNumber)
+            .add("games", this.allTime.getGames())
+            .add("months", this.months.size())
+            .toString();
+    }
+}
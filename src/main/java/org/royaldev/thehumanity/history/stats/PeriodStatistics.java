@@ -0,0 +1,143 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.HashMultiset;
+import com.google.common.collect.Multiset;
+import com.google.common.collect.Ordering;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+import org.royaldev.thehumanity.game.round.RoundSnapshot.IndividualPlaySnapshot;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The counters of one channel over a period of saved games. Not thread-safe; {@link ChannelStatistics} guards it.
+ */
+class PeriodStatistics {
+
+    private final Map<String, PlayerStatistics> players = new HashMap<>();
+    private final Multiset<String> blackCardWins = HashMultiset.create();
+    private final Multiset<String> whiteCardWins = HashMultiset.create();
+    private int games, rounds;
+
+    @NotNull
+    static PeriodStatistics read(@NotNull final DataInput in) throws IOException {
+        final PeriodStatistics ps = new PeriodStatistics();
+        ps.games = in.readInt();
+        ps.rounds = in.readInt();
+        for (int i = in.readInt(); i > 0; i--) {
+            final PlayerStatistics player = PlayerStatistics.read(in);
+            ps.players.put(player.getNick().toLowerCase(), player);
+        }
+        PeriodStatistics.readCounts(in, ps.blackCardWins);
+        PeriodStatistics.readCounts(in, ps.whiteCardWins);
+        return ps;
+    }
+
+    private static void readCounts(@NotNull final DataInput in, @NotNull final Multiset<String> counts) throws IOException {
+        for (int i = in.readInt(); i > 0; i--) counts.add(in.readUTF(), in.readInt());
+    }
+
+    private static void writeCounts(@NotNull final DataOutput out, @NotNull final Multiset<String> counts) throws IOException {
+        out.writeInt(counts.entrySet().size());
+        for (final Multiset.Entry<String> entry : counts.entrySet()) {
+            out.writeUTF(entry.getElement());
+            out.writeInt(entry.getCount());
+        }
+    }
+
+    @NotNull
+    private static List<CardStatistics> top(@NotNull final Multiset<String> counts, final int limit) {
+        return Ordering.from(Comparator.<Multiset.Entry<String>>comparingInt(Multiset.Entry::getCount))
+            .greatestOf(counts.entrySet(), limit)
+            .stream()
+            .map(entry -> new CardStatistics(entry.getElement(), entry.getCount()))
+            .collect(Collectors.toList());
+    }
+
+    @NotNull
+    private PlayerStatistics getPlayer(@NotNull final String nick) {
+        final PlayerStatistics ps = this.players.computeIfAbsent(nick.toLowerCase(), key -> new PlayerStatistics(nick));
+        ps.setNick(nick);
+        return ps;
+    }
+
+    /**
+     * Counts a saved game. Every player with the highest score wins the game, as long as that score is above zero.
+     *
+     * @param gs Game to count
+     */
+    void add(@NotNull final GameSnapshot gs) {
+        Preconditions.checkNotNull(gs, "gs was null");
+        this.games++;
+        final Map<String, Integer> scores = gs.getScores() == null ? new HashMap<>() : gs.getScores();
+        final int best = scores.values().stream().mapToInt(Integer::intValue).max().orElse(0);
+        if (gs.getHistoricPlayers() != null) {
+            for (final String nick : gs.getHistoricPlayers()) {
+                this.getPlayer(nick).addGamePlayed(best > 0 && scores.getOrDefault(nick, 0) == best);
+            }
+        }
+        if (gs.getPreviousRounds() == null) return;
+        for (final RoundSnapshot rs : gs.getPreviousRounds()) {
+            this.rounds++;
+            final String winner = rs.getWinner();
+            if (winner == null) continue;
+            this.getPlayer(winner).addRoundWon();
+            if (rs.getCzar() != null) this.getPlayer(rs.getCzar()).addCzarPick();
+            this.blackCardWins.add(rs.getBlackCard());
+            final List<IndividualPlaySnapshot> play = rs.getPlays() == null ? null : rs.getPlays().get(winner);
+            if (play != null) play.forEach(ips -> this.whiteCardWins.add(ips.getText()));
+        }
+    }
+
+    int getGames() {
+        return this.games;
+    }
+
+    @Nullable
+    PlayerStatistics getPlayerStatistics(@NotNull final String nick) {
+        final PlayerStatistics ps = this.players.get(nick.toLowerCase());
+        return ps == null ? null : new PlayerStatistics(ps);
+    }
+
+    int getRounds() {
+        return this.rounds;
+    }
+
+    @NotNull
+    List<CardStatistics> getTopBlackCards(final int limit) {
+        return PeriodStatistics.top(this.blackCardWins, limit);
+    }
+
+    @NotNull
+    List<PlayerStatistics> getTopPlayers(@NotNull final Comparator<PlayerStatistics> order, final int limit) {
+        return Ordering.from(order)
+            .greatestOf(this.players.values(), limit)
+            .stream()
+            .map(PlayerStatistics::new)
+            .collect(Collectors.toList());
+    }
+
+    @NotNull
+    List<CardStatistics> getTopWhiteCards(final int limit) {
+        return PeriodStatistics.top(this.whiteCardWins, limit);
+    }
+
+    void write(@NotNull final DataOutput out) throws IOException {
+        out.writeInt(this.games);
+        out.writeInt(this.rounds);
+        out.writeInt(this.players.size());
+        for (final PlayerStatistics player : this.players.values()) player.write(out);
+        PeriodStatistics.writeCounts(out, this.blackCardWins);
+        PeriodStatistics.writeCounts(out, this.whiteCardWins);
+    }
+}
@@ -0,0 +1,141 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Comparator;
+
+/**
+ * The counters of one player over a period of saved games.
+ */
+public class PlayerStatistics {
+
+    /**
+     * Compares players by games won.
+     */
+    public static final Comparator<PlayerStatistics> BY_GAMES_WON = Comparator.comparingInt(PlayerStatistics::getGamesWon);
+    /**
+     * Compares players by games played.
+     */
+    public static final Comparator<PlayerStatistics> BY_GAMES_PLAYED = Comparator.comparingInt(PlayerStatistics::getGamesPlayed);
+    /**
+     * Compares players by rounds won.
+     */
+    public static final Comparator<PlayerStatistics> BY_ROUNDS_WON = Comparator.comparingInt(PlayerStatistics::getRoundsWon);
+    /**
+     * Compares players by winners picked as czar.
+     */
+    public static final Comparator<PlayerStatistics> BY_CZAR_PICKS = Comparator.comparingInt(PlayerStatistics::getCzarPicks);
+    private String nick;
+    private int gamesPlayed, gamesWon, roundsWon, czarPicks;
+
+    PlayerStatistics(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        this.nick = nick;
+    }
+
+    PlayerStatistics(@NotNull final PlayerStatistics other) {
+        Preconditions.checkNotNull(other, "other was null");
+        this.nick = other.nick;
+        this.gamesPlayed = other.gamesPlayed;
+        this.gamesWon = other.gamesWon;
+        this.roundsWon = other.roundsWon;
+        this.czarPicks = other.czarPicks;
+    }
+
+    @NotNull
+    static PlayerStatistics read(@NotNull final DataInput in) throws IOException {
+        final PlayerStatistics ps = new PlayerStatistics(in.readUTF());
+        ps.gamesPlayed = in.readInt();
+        ps.gamesWon = in.readInt();
+        ps.roundsWon = in.readInt();
+        ps.czarPicks = in.readInt();
+        return ps;
+    }
+
+    void write(@NotNull final DataOutput out) throws IOException {
+        out.writeUTF(this.nick);
+        out.writeInt(this.gamesPlayed);
+        out.writeInt(this.gamesWon);
+        out.writeInt(this.roundsWon);
+        out.writeInt(this.czarPicks);
+    }
+
+    void addGamePlayed(final boolean won) {
+        this.gamesPlayed++;
+        if (won) this.gamesWon++;
+    }
+
+    void addRoundWon() {
+        this.roundsWon++;
+    }
+
+    void addCzarPick() {
+        this.czarPicks++;
+    }
+
+    /**
+     * Gets the number of rounds this player picked a winner in as czar.
+     *
+     * @return Czar picks
+     */
+    public int getCzarPicks() {
+        return this.czarPicks;
+    }
+
+    /**
+     * Gets the number of games this player took part in.
+     *
+     * @return Games played
+     */
+    public int getGamesPlayed() {
+        return this.gamesPlayed;
+    }
+
+    /**
+     * Gets the number of games this player ended with the highest score in, including ties.
+     *
+     * @return Games won
+     */
+    public int getGamesWon() {
+        return this.gamesWon;
+    }
+
+    /**
+     * Gets the last nick this player was seen with.
+     *
+     * @return Nick
+     */
+    @NotNull
+    public String getNick() {
+        return this.nick;
+    }
+
+    void setNick(@NotNull final String nick) {
+        this.nick = nick;
+    }
+
+    /**
+     * Gets the number of rounds this player won.
+     *
+     * @return Rounds won
+     */
+    public int getRoundsWon() {
+        return this.roundsWon;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("nick", this.nick)
+            .add("gamesPlayed", this.gamesPlayed)
+            .add("gamesWon", this.gamesWon)
+            .add("roundsWon", this.roundsWon)
+            .add("czarPicks", this.czarPicks)
+            .toString();
+    }
+}
@@ -0,0 +1,161 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.history.HistoryWriter.CommitListener;
+import org.royaldev.thehumanity.history.SegmentStore;
+import org.royaldev.thehumanity.history.SnapshotCodec;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Keeps the {@link ChannelStatistics} of every channel up to date as games are saved, so leaderboards and card
+ * statistics never need the archive to be read again.
+ * <p/>
+ * Games are counted once their batch is on the disk, and each channel's statistics are saved to a
+ * <code>stats.dat</code> file in its folder after every batch. The statistics remember the last game they counted, so
+ * when a channel is opened, only games saved after that are read from its store.
+ */
+public class Statistics implements CommitListener {
+
+    private static final String FILE_NAME = "stats.dat";
+    private final Map<String, ChannelStatistics> channels = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final Function<String, File> folders;
+    private final Logger logger;
+
+    /**
+     * Creates an empty set of statistics.
+     *
+     * @param folders Gets the folder of a channel
+     * @param logger  Logger to report failures to
+     */
+    public Statistics(@NotNull final Function<String, File> folders, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(folders, "folders was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        this.folders = folders;
+        this.logger = logger;
+    }
+
+    @NotNull
+    private File getFile(@NotNull final String channel) {
+        return new File(this.folders.apply(channel), Statistics.FILE_NAME);
+    }
+
+    @NotNull
+    private ChannelStatistics load(@NotNull final String channel) {
+        final File file = this.getFile(channel);
+        if (!file.exists()) return new ChannelStatistics();
+        try (final DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            return ChannelStatistics.read(in);
+        } catch (final IOException ex) {
+            this.logger.log(Level.WARNING, "Could not read " + file + "; counting " + channel + " again", ex);
+            return new ChannelStatistics();
+        }
+    }
+
+    private void save(@NotNull final String channel) throws IOException {
+        final ChannelStatistics cs = this.channels.get(channel);
+        if (cs == null) return;
+        final File file = this.getFile(channel);
+        final File temp = new File(file.getParentFile(), Statistics.FILE_NAME + ".tmp");
+        try (final DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            cs.write(out);
+        }
+        Files.move(temp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    @NotNull
+    private ChannelStatistics getOrLoad(@NotNull final String channel) {
+        return this.channels.computeIfAbsent(channel.toLowerCase(), this::load);
+    }
+
+    @Override
+    public void batchCommitted() {
+        for (final String channel : this.dirty) {
+            this.dirty.remove(channel);
+            try {
+                this.save(channel);
+            } catch (final IOException ex) {
+                this.dirty.add(channel);
+                this.logger.log(Level.WARNING, "Could not save statistics for " + channel, ex);
+            }
+        }
+    }
+
+    /**
+     * Loads a channel's statistics and counts every game in its store that they are missing. This is meant to be run
+     * once, when the store is opened. Games that cannot be decoded are logged and skipped.
+     *
+     * @param channel Channel of the store
+     * @param store   Store of the channel
+     * @throws UncheckedIOException If the store could not be read
+     */
+    public void catchUp(@NotNull final String channel, @NotNull final SegmentStore store) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        Preconditions.checkNotNull(store, "store was null");
+        final ChannelStatistics cs = this.getOrLoad(channel);
+        final int from = cs.getLastNumber() + 1;
+        if (from > store.getLastNumber()) return;
+        try {
+            store.scan(from, store.getLastNumber(), (data, number) -> {
+                final GameSnapshot gs;
+                try {
+                    gs = SnapshotCodec.decode(data);
+                } catch (final IOException ex) {
+                    this.logger.log(Level.WARNING, "Could not count game " + number + " in " + channel, ex);
+                    return;
+                }
+                cs.add(number, gs);
+            });
+            this.save(channel.toLowerCase());
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void committed(@NotNull final String channel, final int number, @NotNull final GameSnapshot snapshot) {
+        // Counted from the snapshot that was saved, so nothing is decoded on the writer's thread
+        if (this.getOrLoad(channel).add(number, snapshot)) this.dirty.add(channel.toLowerCase());
+    }
+
+    /**
+     * Gets the statistics of a channel.
+     *
+     * @param channel Channel to get. Ex: "#CAHdev"
+     * @return ChannelStatistics, or null if the channel has no saved games
+     */
+    @Nullable
+    public ChannelStatistics getChannel(@NotNull final String channel) {
+        Preconditions.checkNotNull(channel, "channel was null");
+        return this.channels.get(channel.toLowerCase());
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("channels", this.channels.size())
+            .add("dirty", this.dirty.size())
+            .toString();
+    }
+}
@@ -0,0 +1,492 @@
+package org.royaldev.thehumanity.outbound;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.kitteh.irc.client.library.Client;
+import org.royaldev.thehumanity.TheHumanity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.logging.Level;
+
+/**
+ * Sits between the game and the IRC client, so that the bot never floods the server. Lines are queued by
+ * {@link Priority}, paced by a {@link TokenBucket}, and sent by a single thread.
+ * <p/>
+ * Lines longer than fit in one IRC line are split at spaces, and bold text stays bold on the next line. Lines sent with
+ * {@link #sendPackedMessages} may be packed together, up to the protocol limit, with other packable lines waiting for
+ * the same target.
+ * <p/>
+ * The queue reports how many lines are waiting, and how long lines waited before being sent.
+ */
+public class OutboundQueue {
+
+    /**
+     * The most bytes in one IRC line, including the trailing CRLF.
+     */
+    public static final int LINE_LIMIT = 512;
+    /**
+     * Bytes kept free for the <code>:nick!user@host </code> prefix the server adds when relaying our lines.
+     */
+    public static final int PREFIX_RESERVE = 100;
+    /**
+     * What packed lines are joined with.
+     */
+    public static final String SEPARATOR = " | ";
+    private static final int SEPARATOR_BYTES = OutboundQueue.SEPARATOR.getBytes(StandardCharsets.UTF_8).length;
+    private static final char BOLD = '\u0002';
+    private static final char RESET = '\u000f';
+    private final TheHumanity humanity;
+    private final TokenBucket bucket;
+    private final Ticker ticker;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = this.lock.newCondition();
+    private final Condition empty = this.lock.newCondition();
+    private final Deque<Line>[] queues;
+    private int queued = 0;
+    private boolean sending = false;
+    private Thread sender;
+    // Only written by the sender thread
+    private volatile long sent = 0L;
+    private volatile long totalLatencyNanos = 0L;
+    private volatile long maxLatencyNanos = 0L;
+
+    /**
+     * Creates a queue that sends through the given instance's client.
+     *
+     * @param humanity       Instance whose client to send through
+     * @param burst          Lines that may be sent at once before pacing starts
+     * @param linesPerSecond Lines sent per second once paced
+     */
+    public OutboundQueue(@NotNull final TheHumanity humanity, final int burst, final double linesPerSecond) {
+        this(humanity, burst, linesPerSecond, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a queue that reads the time from the given ticker, for pacing and for latency.
+     *
+     * @param humanity       Instance whose client to send through
+     * @param burst          Lines that may be sent at once before pacing starts
+     * @param linesPerSecond Lines sent per second once paced
+     * @param ticker         Source of the time
+     */
+    @SuppressWarnings("unchecked")
+    OutboundQueue(@NotNull final TheHumanity humanity, final int burst, final double linesPerSecond, @NotNull final Ticker ticker) {
+        Preconditions.checkNotNull(humanity, "humanity was null");
+        Preconditions.checkNotNull(ticker, "ticker was null");
+        this.humanity = humanity;
+        this.bucket = new TokenBucket(burst, linesPerSecond, ticker);
+        this.ticker = ticker;
+        this.queues = new Deque[Priority.values().length];
+        for (int i = 0; i < this.queues.length; i++) this.queues[i] = new ArrayDeque<>();
+    }
+
+    /**
+     * Gets the most bytes of text that fit in one line of the given command to the given target.
+     *
+     * @param command Command, such as PRIVMSG
+     * @param target  Channel or nick the line is sent to
+     * @return Most bytes of text
+     */
+    static int getMaxTextBytes(@NotNull final String command, @NotNull final String target) {
+        // "COMMAND target :text\r\n"
+        final int overhead = command.length() + 1 + target.getBytes(StandardCharsets.UTF_8).length + 2 + 2;
+        return OutboundQueue.LINE_LIMIT - OutboundQueue.PREFIX_RESERVE - overhead;
+    }
+
+    /**
+     * Splits text into pieces of at most the given amount of UTF-8 bytes. Pieces are split at the last space that fits,
+     * or in the middle of a word if there is none, but never inside a character.
+     *
+     * @param text     Text to split
+     * @param maxBytes Most bytes in one piece
+     * @return Pieces, in order
+     */
+    @NotNull
+    static List<String> split(@NotNull final String text, final int maxBytes) {
+        Preconditions.checkNotNull(text, "text was null");
+        Preconditions.checkArgument(maxBytes > 3, "maxBytes must hold any character");
+        final List<String> pieces = new ArrayList<>();
+        int start = 0, bytes = 0, lastSpace = -1;
+        int i = 0;
+        while (i < text.length()) {
+            final int cp = text.codePointAt(i);
+            final int size = cp < 0x80 ? 1 : cp < 0x800 ? 2 : cp < 0x10000 ? 3 : 4;
+            if (bytes + size > maxBytes) {
+                final int end = lastSpace > start ? lastSpace : i;
+                pieces.add(text.substring(start, end));
+                start = end;
+                while (start < text.length() && text.charAt(start) == ' ') start++;
+                // Measure again from the new start
+                i = start;
+                bytes = 0;
+                lastSpace = -1;
+                continue;
+            }
+            if (cp == ' ') lastSpace = i;
+            bytes += size;
+            i += Character.charCount(cp);
+        }
+        if (start < text.length() || pieces.isEmpty()) pieces.add(text.substring(start));
+        return pieces;
+    }
+
+    /**
+     * Splits text like {@link #split(String, int)}, but starts each piece bold if the piece before it ended bold.
+     *
+     * @param text     Text to split
+     * @param maxBytes Most bytes in one piece
+     * @return Pieces, in order
+     */
+    @NotNull
+    static List<String> splitFormatted(@NotNull final String text, final int maxBytes) {
+        Preconditions.checkNotNull(text, "text was null");
+        if (text.indexOf(OutboundQueue.BOLD) < 0) return OutboundQueue.split(text, maxBytes);
+        // Leave room for the bold code a piece may have to start with
+        final List<String> pieces = OutboundQueue.split(text, maxBytes - 1);
+        boolean bold = false;
+        for (int i = 0; i < pieces.size(); i++) {
+            final String piece = pieces.get(i);
+            if (bold) pieces.set(i, OutboundQueue.BOLD + piece);
+            for (int j = 0; j < piece.length(); j++) {
+                final char c = piece.charAt(j);
+                if (c == OutboundQueue.BOLD) bold = !bold;
+                else if (c == OutboundQueue.RESET) bold = false;
+            }
+        }
+        return pieces;
+    }
+
+    private static int utf8Length(@NotNull final String text) {
+        return text.getBytes(StandardCharsets.UTF_8).length;
+    }
+
+    /**
+     * Queues a line, splitting it if it is too long.
+     */
+    private void enqueue(@NotNull final LineType type, @NotNull final String target, @NotNull final String text, @NotNull final Priority priority, final boolean packable) {
+        Preconditions.checkNotNull(target, "target was null");
+        Preconditions.checkNotNull(text, "text was null");
+        Preconditions.checkNotNull(priority, "priority was null");
+        final long now = this.ticker.read();
+        final int maxBytes = OutboundQueue.getMaxTextBytes(type.getCommand(), target);
+        final List<String> pieces = OutboundQueue.splitFormatted(text, maxBytes);
+        this.lock.lock();
+        try {
+            for (final String piece : pieces) {
+                this.queues[priority.ordinal()].add(new Line(type, target, piece, packable, maxBytes, now));
+                this.queued++;
+            }
+            this.notEmpty.signal();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Takes the next line to send, packing packable lines behind it into it.
+     *
+     * @return Line to send, or null if none are queued
+     */
+    @Nullable
+    private Line poll() {
+        this.lock.lock();
+        try {
+            if (this.queued == 0) return null;
+            Line line = null;
+            Deque<Line> queue = null;
+            for (final Deque<Line> q : this.queues) {
+                if (q.isEmpty()) continue;
+                queue = q;
+                line = q.poll();
+                break;
+            }
+            this.queued--;
+            this.sending = true;
+            while (line.packable) {
+                final Line next = queue.peek();
+                if (next == null || !next.packable || next.type != line.type || !next.target.equals(line.target)) break;
+                if (line.bytes + OutboundQueue.SEPARATOR_BYTES + next.bytes > line.maxBytes) break;
+                queue.poll();
+                this.queued--;
+                line = line.packWith(next);
+            }
+            return line;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    private void work() {
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                // Wait for a line first, so a critical line queued while waiting for a token is not passed over
+                this.lock.lockInterruptibly();
+                try {
+                    while (this.queued == 0) this.notEmpty.await();
+                } finally {
+                    this.lock.unlock();
+                }
+                if (!this.sendNext()) TimeUnit.NANOSECONDS.sleep(this.bucket.getWaitNanos());
+            } catch (final InterruptedException ex) {
+                break;
+            } catch (final RuntimeException ex) {
+                this.humanity.getLogger().log(Level.WARNING, "Could not send outbound line", ex);
+            }
+        }
+    }
+
+    private void send(@NotNull final Line line) {
+        final Client client = this.humanity.getBot();
+        if (client == null) return;
+        switch (line.type) {
+            case MESSAGE:
+                client.sendMessage(line.target, line.text);
+                break;
+            case NOTICE:
+                client.sendNotice(line.target, line.text);
+                break;
+        }
+        final long latency = this.ticker.read() - line.queuedAt;
+        this.sent++;
+        this.totalLatencyNanos += latency;
+        if (latency > this.maxLatencyNanos) this.maxLatencyNanos = latency;
+    }
+
+    /**
+     * Waits until every queued line has been sent, or until the timeout passes.
+     *
+     * @param timeout Most time to wait
+     * @param unit    Unit of timeout
+     * @return true if the queue emptied, false if the timeout passed first
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public boolean awaitEmpty(final long timeout, @NotNull final TimeUnit unit) throws InterruptedException {
+        Preconditions.checkNotNull(unit, "unit was null");
+        long nanos = unit.toNanos(timeout);
+        this.lock.lock();
+        try {
+            while (this.queued > 0 || this.sending) {
+                if (nanos <= 0L) return false;
+                nanos = this.empty.awaitNanos(nanos);
+            }
+            return true;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the average time lines waited in the queue before being sent.
+     *
+     * @param unit Unit to return the latency in
+     * @return Average latency
+     */
+    public long getAverageLatency(@NotNull final TimeUnit unit) {
+        final long sent = this.sent;
+        return sent == 0L ? 0L : unit.convert(this.totalLatencyNanos / sent, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the longest time a line waited in the queue before being sent.
+     *
+     * @param unit Unit to return the latency in
+     * @return Maximum latency
+     */
+    public long getMaxLatency(@NotNull final TimeUnit unit) {
+        return unit.convert(this.maxLatencyNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Gets the amount of lines waiting to be sent.
+     *
+     * @return Queue depth
+     */
+    public int getQueueDepth() {
+        this.lock.lock();
+        try {
+            return this.queued;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of lines of the given priority waiting to be sent.
+     *
+     * @param priority Priority to count
+     * @return Queue depth
+     */
+    public int getQueueDepth(@NotNull final Priority priority) {
+        Preconditions.checkNotNull(priority, "priority was null");
+        this.lock.lock();
+        try {
+            return this.queues[priority.ordinal()].size();
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the amount of lines sent so far. Packed lines count as one.
+     *
+     * @return Lines sent
+     */
+    public long getSentLines() {
+        return this.sent;
+    }
+
+    /**
+     * Queues a message to a channel or user.
+     *
+     * @param target   Channel or nick to send to
+     * @param message  Message to send
+     * @param priority Priority of the message
+     */
+    public void sendMessage(@NotNull final String target, @NotNull final String message, @NotNull final Priority priority) {
+        this.enqueue(LineType.MESSAGE, target, message, priority, false);
+    }
+
+    /**
+     * Sends the next line, if one is queued and the bucket has a token for it. The sender thread calls this; it does
+     * not wait.
+     *
+     * @return true if a line was sent, false if otherwise
+     */
+    boolean sendNext() {
+        this.lock.lock();
+        try {
+            if (this.queued == 0) return false;
+        } finally {
+            this.lock.unlock();
+        }
+        if (!this.bucket.tryAcquire()) return false;
+        try {
+            final Line line = this.poll();
+            if (line != null) this.send(line);
+            return line != null;
+        } finally {
+            this.lock.lock();
+            try {
+                this.sending = false;
+                if (this.queued == 0) this.empty.signalAll();
+            } finally {
+                this.lock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Queues a notice to a channel or user.
+     *
+     * @param target   Channel or nick to send to
+     * @param notice   Notice to send
+     * @param priority Priority of the notice
+     */
+    public void sendNotice(@NotNull final String target, @NotNull final String notice, @NotNull final Priority priority) {
+        this.enqueue(LineType.NOTICE, target, notice, priority, false);
+    }
+
+    /**
+     * Queues messages to a channel or user that may be packed into as few lines as fit, joined by
+     * {@link #SEPARATOR}.
+     *
+     * @param target   Channel or nick to send to
+     * @param messages Messages to send, in order
+     * @param priority Priority of the messages
+     */
+    public void sendPackedMessages(@NotNull final String target, @NotNull final Collection<String> messages, @NotNull final Priority priority) {
+        Preconditions.checkNotNull(messages, "messages was null");
+        messages.forEach(message -> this.enqueue(LineType.MESSAGE, target, message, priority, true));
+    }
+
+    /**
+     * Starts the thread that sends queued lines. Does nothing if it is already started.
+     */
+    public synchronized void start() {
+        if (this.sender != null) return;
+        this.sender = new Thread(this::work, "TheHumanity-outbound");
+        this.sender.setDaemon(true);
+        this.sender.start();
+    }
+
+    /**
+     * Stops the thread that sends queued lines, and waits for it to exit. Lines still queued are not sent.
+     *
+     * @throws InterruptedException If interrupted while waiting
+     */
+    public synchronized void stop() throws InterruptedException {
+        if (this.sender == null) return;
+        this.sender.interrupt();
+        this.sender.join();
+        this.sender = null;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("queueDepth", this.getQueueDepth())
+            .add("sent", this.sent)
+            .add("averageLatencyMillis", this.getAverageLatency(TimeUnit.MILLISECONDS))
+            .add("maxLatencyMillis", this.getMaxLatency(TimeUnit.MILLISECONDS))
+            .add("bucket", this.bucket)
+            .toString();
+    }
+
+    private enum LineType {
+        MESSAGE("PRIVMSG"),
+        NOTICE("NOTICE");
+
+        private final String command;
+
+        LineType(final String command) {
+            this.command = command;
+        }
+
+        private String getCommand() {
+            return this.command;
+        }
+    }
+
+    /**
+     * One line waiting to be sent.
+     */
+    private static final class Line {
+
+        private final LineType type;
+        private final String target;
+        private final String text;
+        private final int bytes;
+        private final boolean packable;
+        private final int maxBytes;
+        private final long queuedAt;
+
+        private Line(final LineType type, final String target, final String text, final boolean packable, final int maxBytes, final long queuedAt) {
+            this.type = type;
+            this.target = target;
+            this.text = text;
+            this.bytes = OutboundQueue.utf8Length(text);
+            this.packable = packable;
+            this.maxBytes = maxBytes;
+            this.queuedAt = queuedAt;
+        }
+
+        /**
+         * Makes a line of this line's text followed by the other's. It keeps this line's queue time, which is the
+         * earlier one.
+         */
+        private Line packWith(@NotNull final Line other) {
+            return new Line(this.type, this.target, this.text + OutboundQueue.SEPARATOR + other.text, true, this.maxBytes, this.queuedAt);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package org.royaldev.thehumanity.outbound;
+
+/**
+ * How urgently an outbound line should be sent. When the server's flood limit holds lines back, higher priority lines
+ * are sent first. Lines of the same priority are always sent in order.
+ */
+public enum Priority {
+    /**
+     * Lines players need in order to play, such as their hands, the black card and the plays to pick from.
+     */
+    CRITICAL,
+    /**
+     * Everything that is neither critical nor cosmetic.
+     */
+    NORMAL,
+    /**
+     * Lines nobody has to act on, such as join announcements, countdowns and ping notifications.
+     */
+    COSMETIC
+}
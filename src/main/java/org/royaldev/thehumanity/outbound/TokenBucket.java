@@ -0,0 +1,87 @@
+package org.royaldev.thehumanity.outbound;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.base.Ticker;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A token bucket for pacing lines to the server. The bucket holds up to a burst of tokens, one is taken for every line
+ * sent, and it refills at a steady rate. This matches how most IRC servers meter clients: a short burst is allowed,
+ * after which lines must be spaced out.
+ */
+public class TokenBucket {
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final Ticker ticker;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Creates a full bucket.
+     *
+     * @param burst           Most tokens the bucket can hold
+     * @param tokensPerSecond Tokens added every second
+     */
+    public TokenBucket(final int burst, final double tokensPerSecond) {
+        this(burst, tokensPerSecond, Ticker.systemTicker());
+    }
+
+    /**
+     * Creates a full bucket that reads the time from the given ticker.
+     *
+     * @param burst           Most tokens the bucket can hold
+     * @param tokensPerSecond Tokens added every second
+     * @param ticker          Source of the time
+     */
+    TokenBucket(final int burst, final double tokensPerSecond, @NotNull final Ticker ticker) {
+        Preconditions.checkArgument(burst > 0, "burst must be positive");
+        Preconditions.checkArgument(tokensPerSecond > 0D, "tokensPerSecond must be positive");
+        Preconditions.checkNotNull(ticker, "ticker was null");
+        this.capacity = burst;
+        this.tokensPerNano = tokensPerSecond / TimeUnit.SECONDS.toNanos(1L);
+        this.ticker = ticker;
+        this.tokens = burst;
+        this.lastRefill = ticker.read();
+    }
+
+    private void refill() {
+        final long now = this.ticker.read();
+        this.tokens = Math.min(this.capacity, this.tokens + (now - this.lastRefill) * this.tokensPerNano);
+        this.lastRefill = now;
+    }
+
+    /**
+     * Gets how long until a token is available.
+     *
+     * @return Nanoseconds to wait, or 0 if a token is available now
+     */
+    public synchronized long getWaitNanos() {
+        this.refill();
+        return this.tokens >= 1D ? 0L : (long) Math.ceil((1D - this.tokens) / this.tokensPerNano);
+    }
+
+    /**
+     * Takes a token if one is available right now.
+     *
+     * @return true if a token was taken, false if otherwise
+     */
+    public synchronized boolean tryAcquire() {
+        this.refill();
+        if (this.tokens < 1D) return false;
+        this.tokens -= 1D;
+        return true;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("capacity", this.capacity)
+            .add("tokensPerSecond", this.tokensPerNano * TimeUnit.SECONDS.toNanos(1L))
+            .add("tokens", this.tokens)
+            .toString();
+    }
+}
@@ -4,9 +4,10 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Lists;
 import org.jetbrains.annotations.NotNull;
 import org.jetbrains.annotations.Nullable;
-import org.kitteh.irc.client.library.Client;
 import org.kitteh.irc.client.library.element.Channel;
 import org.kitteh.irc.client.library.element.User;
+import org.royaldev.thehumanity.outbound.OutboundQueue;
+import org.royaldev.thehumanity.outbound.Priority;
 
 import java.io.File;
 import java.io.FileInputStream;
@@ -133,18 +134,18 @@ public class PingRegistry implements Serializable {
         }
     }
 
-    public void sendNotification(@NotNull final User requester, @NotNull final Channel channel, @NotNull final Client client, @NotNull final String nickname) {
+    public void sendNotification(@NotNull final User requester, @NotNull final Channel channel, @NotNull final OutboundQueue outbound, @NotNull final String nickname) {
         Preconditions.checkNotNull(requester, "requester was null");
         Preconditions.checkNotNull(channel, "channel was null");
-        Preconditions.checkNotNull(client, "client was null");
+        Preconditions.checkNotNull(outbound, "outbound was null");
         Preconditions.checkNotNull(nickname, "nickname was null");
-        client.sendNotice(nickname, "Your presence has been requested by " + requester.getMessagingName() + " for a game of Cards Against Humanity in " + channel.getMessagingName() + ".");
+        outbound.sendNotice(nickname, "Your presence has been requested by " + requester.getMessagingName() + " for a game of Cards Against Humanity in " + channel.getMessagingName() + ".", Priority.COSMETIC);
     }
 
-    public void sendNotifications(@NotNull final User requester, @NotNull final Channel channel, @NotNull final Client client, @NotNull final WhoX whoX) {
+    public void sendNotifications(@NotNull final User requester, @NotNull final Channel channel, @NotNull final OutboundQueue outbound, @NotNull final WhoX whoX) {
         Preconditions.checkNotNull(requester, "requester was null");
         Preconditions.checkNotNull(channel, "channel was null");
-        Preconditions.checkNotNull(client, "client was null");
+        Preconditions.checkNotNull(outbound, "outbound was null");
         Preconditions.checkNotNull(whoX, "whoX was null");
         final List<String> accountsInChannel = channel.getNicknames().stream()
             .map(whoX::getAccount)
@@ -157,9 +158,9 @@ public class PingRegistry implements Serializable {
             .forEach(r -> {
                 final Collection<String> nicks = whoX.getNicks(r.getServicesAccount());
                 if (r.hasOption(PingRegistrationOption.PING_ALL_AUTHED_NICKS)) {
-                    nicks.forEach(nick -> this.sendNotification(requester, channel, client, nick));
+                    nicks.forEach(nick -> this.sendNotification(requester, channel, outbound, nick));
                 } else {
-                    nicks.stream().findFirst().ifPresent(nick -> this.sendNotification(requester, channel, client, nick));
+                    nicks.stream().findFirst().ifPresent(nick -> this.sendNotification(requester, channel, outbound, nick));
                 }
             });
     }
@@ -16,7 +16,25 @@ import java.util.List;
  */
 public class Hand<T extends Card> implements Iterable<T> {
 
-    private final List<T> hand = Collections.synchronizedList(new ArrayList<>());
+    private final List<T> hand;
+
+    /**
+     * Creates an empty hand.
+     */
+    public Hand() {
+        this(Collections.synchronizedList(new ArrayList<>()));
+    }
+
+    /**
+     * Creates a hand backed by the given list. Subclasses that keep their cards elsewhere, and override every method
+     * that uses the list, may pass an empty immutable list.
+     *
+     * @param hand List to keep cards in
+     */
+    protected Hand(@NotNull final List<T> hand) {
+        Preconditions.checkNotNull(hand, "hand was null");
+        this.hand = hand;
+    }
 
     /**
      * Adds a card into this hand.
@@ -42,6 +60,16 @@ public class Hand<T extends Card> implements Iterable<T> {
         }
     }
 
+    /**
+     * Adds all of the cards in another hand into this hand.
+     *
+     * @param other Hand to copy cards from
+     */
+    public void addCards(@NotNull final Hand<? extends T> other) {
+        Preconditions.checkNotNull(other, "other was null");
+        this.addCards(other.getCards());
+    }
+
     /**
      * Clears this hand by removing all of the cards.
      */
@@ -111,6 +139,19 @@ public class Hand<T extends Card> implements Iterable<T> {
         }
     }
 
+    /**
+     * Gets the index of a card in this hand. If the card is not in this hand, -1 is returned.
+     *
+     * @param card Card to find
+     * @return Index or -1
+     */
+    public int indexOf(@NotNull final T card) {
+        Preconditions.checkNotNull(card, "card was null");
+        synchronized (this.hand) {
+            return this.hand.indexOf(card);
+        }
+    }
+
     @NotNull
     @Override
     public Iterator<T> iterator() {
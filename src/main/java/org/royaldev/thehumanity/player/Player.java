@@ -18,9 +18,10 @@ import java.util.Set;
  */
 public class Player {
 
-    private final Hand<WhiteCard> hand = new Hand<>();
+    private final Hand<WhiteCard> hand = new PrimitiveHand<>();
     private final Multiset<BlackCard> wins = HashMultiset.create();
     private User user;
+    private int slot = -1;
 
     /**
      * Creates a new player, with a backing user.
@@ -69,6 +70,7 @@ public class Player {
             .add("hand", this.hand)
             .add("wins", this.wins)
             .add("user", this.user)
+            .add("slot", this.slot)
             .toString();
     }
 
@@ -91,6 +93,26 @@ public class Player {
         return this.getWins().size();
     }
 
+    /**
+     * Gets the slot of this player in its game. Slots are small, unique numbers given out by the game when a player is
+     * first indexed, and they never change, even if the player leaves and rejoins.
+     *
+     * @return Slot, or -1 if the player has none yet
+     */
+    public int getSlot() {
+        return this.slot;
+    }
+
+    /**
+     * Sets the slot of this player in its game.
+     *
+     * @param slot Slot
+     */
+    public void setSlot(final int slot) {
+        Preconditions.checkArgument(slot >= 0, "slot must not be negative");
+        this.slot = slot;
+    }
+
     /**
      * Gets the User backing this player.
      *
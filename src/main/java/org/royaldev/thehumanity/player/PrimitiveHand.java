@@ -0,0 +1,415 @@
+package org.royaldev.thehumanity.player;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.royaldev.thehumanity.cards.Card;
+import org.royaldev.thehumanity.cards.CardRegistry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * A hand that stores the {@link CardRegistry} IDs of its cards in a fixed-capacity int array instead of a list of
+ * cards. Cards must be registered before they are added. The cards themselves are kept in a parallel array, so a hand
+ * always gives back the same instances that were put in, even if the registry has since changed.
+ * <p/>
+ * Reads are optimistic and never lock unless they race with a write. Methods working on IDs never box or copy.
+ *
+ * @param <T> Type of card in this hand
+ */
+public class PrimitiveHand<T extends Card> extends Hand<T> {
+
+    /**
+     * The default amount of cards a hand can hold.
+     */
+    public static final int DEFAULT_CAPACITY = 32;
+    private final StampedLock lock = new StampedLock();
+    private final int[] ids;
+    private final Card[] cards;
+    private int size = 0;
+
+    /**
+     * Creates a new hand that can hold up to the given amount of cards.
+     *
+     * @param capacity Maximum amount of cards
+     */
+    public PrimitiveHand(final int capacity) {
+        super(Collections.emptyList());
+        Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+        this.ids = new int[capacity];
+        this.cards = new Card[capacity];
+    }
+
+    /**
+     * Creates a new hand that can hold up to {@link #DEFAULT_CAPACITY} cards.
+     */
+    public PrimitiveHand() {
+        this(PrimitiveHand.DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Gets the ID of a card.
+     *
+     * @param card Card to get ID of
+     * @return ID
+     * @throws IllegalArgumentException If the card was not registered
+     */
+    private static int idOf(@NotNull final Card card) {
+        Preconditions.checkNotNull(card, "card was null");
+        final int id = card.getID();
+        Preconditions.checkArgument(id >= 0, "card must be registered");
+        return id;
+    }
+
+    /**
+     * Finds the index of an ID. Must be called while holding the lock or validated afterwards.
+     *
+     * @param id ID to find
+     * @return Index or -1
+     */
+    private int indexOfUnlocked(final int id) {
+        for (int i = 0; i < this.size && i < this.ids.length; i++) {
+            if (this.ids[i] == id) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Removes the ID at the given index, shifting the rest of the hand down. Must be called while holding the write
+     * lock.
+     *
+     * @param index Index to remove
+     */
+    private void removeAtUnlocked(final int index) {
+        System.arraycopy(this.ids, index + 1, this.ids, index, this.size - index - 1);
+        System.arraycopy(this.cards, index + 1, this.cards, index, this.size - index - 1);
+        this.cards[--this.size] = null;
+    }
+
+    /**
+     * Adds cards and their IDs to this hand.
+     *
+     * @param cardIDs Array containing the IDs
+     * @param added   Array containing the cards, in the same order
+     * @param length  Amount of cards to add
+     * @throws IllegalStateException If this hand does not have room for the cards
+     */
+    private void add(@NotNull final int[] cardIDs, @NotNull final Card[] added, final int length) {
+        final long stamp = this.lock.writeLock();
+        try {
+            if (this.size + length > this.ids.length) throw new IllegalStateException("This hand is full.");
+            System.arraycopy(cardIDs, 0, this.ids, this.size, length);
+            System.arraycopy(added, 0, this.cards, this.size, length);
+            this.size += length;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Copies the IDs and cards in this hand into the given arrays, which must be at least as large as the capacity of
+     * this hand.
+     *
+     * @param cardIDs Array to copy IDs into
+     * @param copy    Array to copy cards into
+     * @return Amount of cards copied
+     */
+    private int copyCards(@NotNull final int[] cardIDs, @NotNull final Card[] copy) {
+        long stamp = this.lock.tryOptimisticRead();
+        int copied = Math.min(this.size, this.ids.length);
+        System.arraycopy(this.ids, 0, cardIDs, 0, copied);
+        System.arraycopy(this.cards, 0, copy, 0, copied);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                copied = this.size;
+                System.arraycopy(this.ids, 0, cardIDs, 0, copied);
+                System.arraycopy(this.cards, 0, copy, 0, copied);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return copied;
+    }
+
+    @Override
+    public void addCard(@NotNull final T card) {
+        final int id = PrimitiveHand.idOf(card);
+        final long stamp = this.lock.writeLock();
+        try {
+            if (this.size >= this.ids.length) throw new IllegalStateException("This hand is full.");
+            this.ids[this.size] = id;
+            this.cards[this.size++] = card;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void addCards(@NotNull final Collection<? extends T> cards) {
+        Preconditions.checkNotNull(cards, "cards was null");
+        final int[] cardIDs = new int[cards.size()];
+        final Card[] added = new Card[cardIDs.length];
+        int i = 0;
+        for (final T card : cards) {
+            cardIDs[i] = PrimitiveHand.idOf(card);
+            added[i++] = card;
+        }
+        this.add(cardIDs, added, i);
+    }
+
+    @Override
+    public void addCards(@NotNull final Hand<? extends T> other) {
+        Preconditions.checkNotNull(other, "other was null");
+        if (!(other instanceof PrimitiveHand)) {
+            super.addCards(other);
+            return;
+        }
+        final PrimitiveHand<?> primitive = (PrimitiveHand<?>) other;
+        final int[] cardIDs = new int[primitive.ids.length];
+        final Card[] added = new Card[cardIDs.length];
+        this.add(cardIDs, added, primitive.copyCards(cardIDs, added));
+    }
+
+    @Override
+    public void clearHand() {
+        final long stamp = this.lock.writeLock();
+        try {
+            Arrays.fill(this.cards, 0, this.size, null);
+            this.size = 0;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Checks if this hand holds the card with the given ID.
+     *
+     * @param id ID of the card
+     * @return true if held, false if otherwise
+     */
+    public boolean containsCardID(final int id) {
+        long stamp = this.lock.tryOptimisticRead();
+        int index = this.indexOfUnlocked(id);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                index = this.indexOfUnlocked(id);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return index >= 0;
+    }
+
+    /**
+     * Copies the IDs of the cards in this hand into the given array. The array should be at least as large as the
+     * capacity of this hand.
+     *
+     * @param destination Array to copy into
+     * @return Amount of IDs copied
+     */
+    public int copyCardIDs(@NotNull final int[] destination) {
+        Preconditions.checkNotNull(destination, "destination was null");
+        long stamp = this.lock.tryOptimisticRead();
+        int copied = Math.min(this.size, destination.length);
+        System.arraycopy(this.ids, 0, destination, 0, Math.min(copied, this.ids.length));
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                copied = Math.min(this.size, destination.length);
+                System.arraycopy(this.ids, 0, destination, 0, copied);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return copied;
+    }
+
+    /**
+     * Gets the capacity of this hand.
+     *
+     * @return Maximum amount of cards
+     */
+    public int getCapacity() {
+        return this.ids.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    @Override
+    public T getCard(final int index) {
+        long stamp = this.lock.tryOptimisticRead();
+        int size = this.size;
+        Card card = index >= 0 && index < size && index < this.cards.length ? this.cards[index] : null;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                size = this.size;
+                card = index >= 0 && index < size ? this.cards[index] : null;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        if (card == null) {
+            throw new IllegalArgumentException("The given index was invalid.");
+        }
+        return (T) card;
+    }
+
+    /**
+     * Gets the ID of the card at the given index.
+     *
+     * @param index Index of the card
+     * @return ID of the card
+     * @throws IllegalArgumentException If the index is invalid
+     */
+    public int getCardID(final int index) {
+        long stamp = this.lock.tryOptimisticRead();
+        int size = this.size;
+        int id = index >= 0 && index < size && index < this.ids.length ? this.ids[index] : -1;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                size = this.size;
+                id = index >= 0 && index < size ? this.ids[index] : -1;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        if (index < 0 || index >= size) {
+            throw new IllegalArgumentException("The given index was invalid.");
+        }
+        return id;
+    }
+
+    @SuppressWarnings("unchecked")
+    @NotNull
+    @Override
+    public List<T> getCards() {
+        final int[] cardIDs = new int[this.ids.length];
+        final Card[] copy = new Card[cardIDs.length];
+        final int copied = this.copyCards(cardIDs, copy);
+        final List<T> cards = new ArrayList<>(copied);
+        for (int i = 0; i < copied; i++) {
+            cards.add((T) copy[i]);
+        }
+        return cards;
+    }
+
+    @Override
+    public int getSize() {
+        long stamp = this.lock.tryOptimisticRead();
+        int size = this.size;
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                size = this.size;
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public int indexOf(@NotNull final T card) {
+        Preconditions.checkNotNull(card, "card was null");
+        final int id = card.getID();
+        if (id < 0) return -1;
+        long stamp = this.lock.tryOptimisticRead();
+        int index = this.indexOfUnlocked(id);
+        if (!this.lock.validate(stamp)) {
+            stamp = this.lock.readLock();
+            try {
+                index = this.indexOfUnlocked(id);
+            } finally {
+                this.lock.unlockRead(stamp);
+            }
+        }
+        return index;
+    }
+
+    @NotNull
+    @Override
+    public Iterator<T> iterator() {
+        return this.getCards().iterator();
+    }
+
+    @Override
+    public boolean removeCard(@NotNull final T card) {
+        Preconditions.checkNotNull(card, "card was null");
+        return this.removeCardID(card.getID());
+    }
+
+    /**
+     * Removes the card with the given ID from this hand.
+     *
+     * @param id ID of the card to remove
+     * @return true if successful, false if otherwise
+     */
+    public boolean removeCardID(final int id) {
+        if (id < 0) return false;
+        final long stamp = this.lock.writeLock();
+        try {
+            final int index = this.indexOfUnlocked(id);
+            if (index < 0) return false;
+            this.removeAtUnlocked(index);
+            return true;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    /**
+     * Removes every card whose ID is in the given array from this hand.
+     *
+     * @param cardIDs IDs of cards to remove
+     * @return true if the hand changed, false if otherwise
+     */
+    public boolean removeCardIDs(@NotNull final int... cardIDs) {
+        Preconditions.checkNotNull(cardIDs, "cardIDs was null");
+        final long stamp = this.lock.writeLock();
+        try {
+            boolean changed = false;
+            for (int i = this.size - 1; i >= 0; i--) {
+                final int id = this.ids[i];
+                for (final int remove : cardIDs) {
+                    if (id != remove) continue;
+                    this.removeAtUnlocked(i);
+                    changed = true;
+                    break;
+                }
+            }
+            return changed;
+        } finally {
+            this.lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeCards(@NotNull final Collection<? extends T> cards) {
+        Preconditions.checkNotNull(cards, "cards was null");
+        final int[] cardIDs = new int[cards.size()];
+        int i = 0;
+        for (final T card : cards) {
+            cardIDs[i++] = card.getID();
+        }
+        return this.removeCardIDs(cardIDs);
+    }
+
+    @Override
+    public String toString() {
+        final int[] cardIDs = new int[this.ids.length];
+        final int copied = this.copyCardIDs(cardIDs);
+        return MoreObjects.toStringHelper(this)
+            .add("ids", Arrays.toString(Arrays.copyOf(cardIDs, copied)))
+            .toString();
+    }
+}
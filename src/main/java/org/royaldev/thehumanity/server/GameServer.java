@@ -37,7 +37,10 @@ public class GameServer {
         ServletContextHandler contextHandler = new ServletContextHandler();
         contextHandler.setErrorHandler(null);
         contextHandler.setContextPath("/");
-        contextHandler.addServlet(new ServletHolder(new DispatcherServlet(context)), "/*");
+        final ServletHolder dispatcher = new ServletHolder(new DispatcherServlet(context));
+        // Needed by the live game feeds, which hold their connections open without a thread
+        dispatcher.setAsyncSupported(true);
+        contextHandler.addServlet(dispatcher, "/*");
         contextHandler.addEventListener(new ContextLoaderListener(context));
         //        contextHandler.setResourceBase(new ClassPathResource("web").getURI().toString());
         //        contextHandler.setResourceBase("src/main/resources/web");
@@ -1,19 +1,40 @@
 package org.royaldev.thehumanity.server.controllers;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.google.common.base.Preconditions;
 import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+import org.json.JSONException;
 import org.json.JSONWriter;
-import org.royaldev.thehumanity.util.ThrowingFunction;
+import org.royaldev.thehumanity.util.json.JSONMapper;
 
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.function.Consumer;
 
 public final class APIHelper {
 
     public static final String PRODUCES = "application/json; charset=utf-8";
 
+    /**
+     * Sets the status to 500 and makes an error, unless part of the response was already sent. Then there is no way
+     * to report the error to the client, so it is thrown for the server to log.
+     */
+    @NotNull
+    private static String handleStreamError(@NotNull final HttpServletResponse response, @NotNull final Exception ex) {
+        if (response.isCommitted()) {
+            throw ex instanceof IOException ? new UncheckedIOException((IOException) ex) : new IllegalStateException(ex);
+        }
+        response.reset();
+        response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        return APIHelper.makeError(ex);
+    }
+
     public static String makeError(@NotNull final Object error) {
         Preconditions.checkNotNull(error, "error was null");
         final StringWriter sw = new StringWriter();
@@ -29,26 +50,59 @@ public final class APIHelper {
         return sw.toString();
     }
 
-    public static String makeObjectMapperJSON(@NotNull final ThrowingFunction<ObjectMapper, String> function) {
-        Preconditions.checkNotNull(function, "function was null");
-        final ObjectMapper objectMapper = new ObjectMapper();
+    /**
+     * Writes JSON built by a {@link JSONWriter} straight to the response.
+     *
+     * @param response Response to write to
+     * @param consumer Builds the JSON
+     * @return null once written, or an error to send if nothing could be written
+     */
+    @Nullable
+    public static String writeJSON(@NotNull final HttpServletResponse response, @NotNull final Consumer<JSONWriter> consumer) {
+        Preconditions.checkNotNull(response, "response was null");
+        Preconditions.checkNotNull(consumer, "consumer was null");
+        response.setContentType(APIHelper.PRODUCES);
         try {
-            return function.apply(objectMapper);
-        } catch (final Exception ex) {
-            return APIHelper.makeError(ex);
+            final Writer writer = response.getWriter();
+            consumer.accept(new JSONWriter(writer));
+            writer.flush();
+            return null;
+        } catch (final IOException | JSONException ex) {
+            return APIHelper.handleStreamError(response, ex);
         }
     }
 
-    public static String makeObjectMapperJSON(@NotNull final HttpServletResponse response, @NotNull final ThrowingFunction<ObjectMapper, String> function) {
+    /**
+     * Writes an object as JSON straight to the response, through a {@link JsonGenerator} on its output stream.
+     *
+     * @param response Response to write to
+     * @param writer   Writer to serialize with, usually a shared one from {@link JSONMapper}
+     * @param value    Object to write
+     * @return null once written, or an error to send if nothing could be written
+     */
+    @Nullable
+    public static String writeJSON(@NotNull final HttpServletResponse response, @NotNull final ObjectWriter writer, @Nullable final Object value) {
         Preconditions.checkNotNull(response, "response was null");
-        Preconditions.checkNotNull(function, "function was null");
-        final ObjectMapper objectMapper = new ObjectMapper();
-        try {
-            return function.apply(objectMapper);
-        } catch (final Exception ex) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            return APIHelper.makeError(ex);
+        Preconditions.checkNotNull(writer, "writer was null");
+        response.setContentType(APIHelper.PRODUCES);
+        try (final JsonGenerator jg = JSONMapper.getFactory().createGenerator(response.getOutputStream(), JsonEncoding.UTF8)) {
+            writer.writeValue(jg, value);
+            return null;
+        } catch (final IOException ex) {
+            return APIHelper.handleStreamError(response, ex);
         }
     }
 
+    /**
+     * Writes an object as JSON straight to the response, using the shared writer.
+     *
+     * @param response Response to write to
+     * @param value    Object to write
+     * @return null once written, or an error to send if nothing could be written
+     */
+    @Nullable
+    public static String writeJSON(@NotNull final HttpServletResponse response, @Nullable final Object value) {
+        return APIHelper.writeJSON(response, JSONMapper.getWriter(), value);
+    }
+
 }
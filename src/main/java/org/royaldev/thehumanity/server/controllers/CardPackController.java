@@ -1,13 +1,13 @@
 package org.royaldev.thehumanity.server.controllers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import org.royaldev.thehumanity.cards.Card;
 import org.royaldev.thehumanity.cards.packs.CardPack;
 import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 import org.royaldev.thehumanity.server.services.cardpack.CardPackService;
+import org.royaldev.thehumanity.util.json.JSONMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -22,6 +22,8 @@ import java.util.List;
 @Controller
 public class CardPackController {
 
+    private static final ObjectWriter packWriter = JSONMapper.makeWriter(Card.class, CardMixIn.class);
+    private static final ObjectWriter packsWriter = JSONMapper.makeWriter(CardPack.class, CardPackMixIn.class);
     @Autowired
     private CardPackService cardPackService;
 
@@ -33,27 +35,13 @@ public class CardPackController {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return APIHelper.makeError("No such pack.");
         }
-        final ObjectMapper om = new ObjectMapper();
-        try {
-            om.addMixInAnnotations(Card.class, CardMixIn.class);
-            return om.writeValueAsString(cp);
-        } catch (final JsonProcessingException ex) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            return APIHelper.makeError(ex);
-        }
+        return APIHelper.writeJSON(response, CardPackController.packWriter, cp);
     }
 
     @ResponseBody
     @RequestMapping(value = "/api/packs", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
     public String apiPacks(final HttpServletResponse response) {
-        final ObjectMapper om = new ObjectMapper();
-        try {
-            om.addMixInAnnotations(CardPack.class, CardPackMixIn.class);
-            return om.writeValueAsString(this.cardPackService.getAll());
-        } catch (final JsonProcessingException ex) {
-            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
-            return APIHelper.makeError(ex);
-        }
+        return APIHelper.writeJSON(response, CardPackController.packsWriter, this.cardPackService.getAll());
     }
 
     @RequestMapping(value = "/pack/{pack}", method = RequestMethod.GET)
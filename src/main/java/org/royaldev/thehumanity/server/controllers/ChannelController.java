@@ -23,10 +23,7 @@ public class ChannelController {
     @ResponseBody
     @RequestMapping(value = "/api/channels", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
     public String apiViewAllChannels(final HttpServletResponse response) {
-        return APIHelper.makeObjectMapperJSON(
-            response,
-            om -> om.writeValueAsString(this.channelService.getAll().stream().map(Channel::getName).collect(Collectors.toSet()))
-        );
+        return APIHelper.writeJSON(response, this.channelService.getAll().stream().map(Channel::getName).collect(Collectors.toSet()));
     }
 
     @ResponseBody
@@ -37,7 +34,7 @@ public class ChannelController {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return APIHelper.makeError("No such channel.");
         }
-        return APIHelper.makeJSON(jw -> {
+        return APIHelper.writeJSON(response, jw -> {
             jw.array();
             for (final User user : c.getUsers()) {
                 jw
@@ -0,0 +1,186 @@
+package org.royaldev.thehumanity.server.controllers;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+import org.royaldev.thehumanity.game.GameFeed;
+
+import javax.servlet.AsyncContext;
+import javax.servlet.AsyncEvent;
+import javax.servlet.AsyncListener;
+import javax.servlet.ServletOutputStream;
+import javax.servlet.WriteListener;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+/**
+ * One HTTP connection watching a {@link GameFeed} as Server-Sent Events. Writes never block: events are queued, and
+ * the queue is drained whenever the container says the connection can take more. A watcher that lets more than
+ * {@link #MAX_QUEUED} events pile up is too slow, and is disconnected rather than buffered without bound.
+ * <p/>
+ * No thread is held while the connection is idle.
+ */
+public class EventStream implements GameFeed.Subscriber, WriteListener, AsyncListener {
+
+    /**
+     * The most events queued for one connection before it is dropped.
+     */
+    public static final int MAX_QUEUED = 64;
+    private final GameFeed feed;
+    private final AsyncContext context;
+    private final ServletOutputStream out;
+    // Guarded by this
+    private final Queue<byte[]> queue = new ArrayDeque<>();
+    private boolean needsFlush;
+    private boolean closed;
+
+    /**
+     * Sets up a stream on a request that was put into async mode. Nothing is sent until {@link #start(byte[])}.
+     *
+     * @param feed    Feed to watch
+     * @param context Async context of the request
+     * @throws IOException If the response could not be written to
+     */
+    public EventStream(@NotNull final GameFeed feed, @NotNull final AsyncContext context) throws IOException {
+        Preconditions.checkNotNull(feed, "feed was null");
+        Preconditions.checkNotNull(context, "context was null");
+        this.feed = feed;
+        this.context = context;
+        this.out = context.getResponse().getOutputStream();
+    }
+
+    /**
+     * Writes as much of the queue as the connection will take right now. If it will not take everything, the container
+     * calls {@link #onWritePossible()} once it will.
+     */
+    private void drain() {
+        synchronized (this) {
+            try {
+                while (!this.closed && this.out.isReady()) {
+                    final byte[] frame = this.queue.poll();
+                    if (frame != null) {
+                        this.out.write(frame);
+                        this.needsFlush = true;
+                    } else if (this.needsFlush) {
+                        this.out.flush();
+                        this.needsFlush = false;
+                    } else {
+                        return;
+                    }
+                }
+                return;
+            } catch (final IOException | IllegalStateException ex) {
+                // The client went away
+            }
+        }
+        this.close();
+    }
+
+    @Override
+    public void close() {
+        synchronized (this) {
+            if (this.closed) return;
+            this.closed = true;
+            this.queue.clear();
+        }
+        // Outside the lock, since the feed may be calling us while holding its own
+        this.feed.unsubscribe(this);
+        try {
+            this.context.complete();
+        } catch (final IllegalStateException ignored) {
+            // Already completed by the container
+        }
+    }
+
+    /**
+     * Gets the number of events waiting to be written.
+     *
+     * @return Queued events
+     */
+    public synchronized int getQueued() {
+        return this.queue.size();
+    }
+
+    @Override
+    public boolean offer(@NotNull final byte[] frame) {
+        Preconditions.checkNotNull(frame, "frame was null");
+        final boolean evicted;
+        synchronized (this) {
+            if (this.closed) return false;
+            evicted = this.queue.size() >= EventStream.MAX_QUEUED;
+            if (evicted) {
+                this.closed = true;
+                this.queue.clear();
+            } else {
+                this.queue.add(frame);
+            }
+        }
+        if (evicted) {
+            // Too slow. The feed removes us when we return false
+            try {
+                this.context.complete();
+            } catch (final IllegalStateException ignored) {
+            }
+            return false;
+        }
+        this.drain();
+        return true;
+    }
+
+    @Override
+    public void onComplete(final AsyncEvent event) {
+        this.close();
+    }
+
+    @Override
+    public void onError(final Throwable t) {
+        this.close();
+    }
+
+    @Override
+    public void onError(final AsyncEvent event) {
+        this.close();
+    }
+
+    @Override
+    public void onStartAsync(final AsyncEvent event) {}
+
+    @Override
+    public void onTimeout(final AsyncEvent event) {
+        this.close();
+    }
+
+    @Override
+    public void onWritePossible() {
+        this.drain();
+    }
+
+    /**
+     * Queues the first event, then starts writing and subscribes to the feed. The first event should be the state of
+     * the game, and this should run on the game's executor, so no event can come between the two.
+     *
+     * @param initial First event to send
+     * @return true if subscribed, false if the feed has ended
+     */
+    public boolean start(@NotNull final byte[] initial) {
+        Preconditions.checkNotNull(initial, "initial was null");
+        synchronized (this) {
+            this.queue.add(initial);
+        }
+        this.context.addListener(this);
+        // Writes from here on are non-blocking, and onWritePossible is called right away
+        this.out.setWriteListener(this);
+        if (this.feed.subscribe(this)) return true;
+        this.close();
+        return false;
+    }
+
+    @Override
+    public synchronized String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("queued", this.queue.size())
+            .add("closed", this.closed)
+            .toString();
+    }
+}
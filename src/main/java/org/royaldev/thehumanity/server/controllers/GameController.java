@@ -1,5 +1,8 @@
 package org.royaldev.thehumanity.server.controllers;
 
+import com.google.common.primitives.Ints;
+import org.jetbrains.annotations.NotNull;
+import org.json.JSONWriter;
 import org.kitteh.irc.client.library.element.Channel;
 import org.royaldev.thehumanity.cards.packs.CardPack;
 import org.royaldev.thehumanity.cards.play.Play;
@@ -8,6 +11,8 @@ import org.royaldev.thehumanity.game.Game;
 import org.royaldev.thehumanity.game.HouseRule;
 import org.royaldev.thehumanity.game.round.CurrentRound;
 import org.royaldev.thehumanity.game.round.Round.RoundStage;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+import org.royaldev.thehumanity.game.round.VoteTally;
 import org.royaldev.thehumanity.player.Player;
 import org.royaldev.thehumanity.server.services.game.GameService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -18,83 +23,137 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 import java.util.stream.Collectors;
 
 @Controller
 public class GameController {
 
+    private static final String EVENT_STREAM = "text/event-stream; charset=utf-8";
     @Autowired
     private GameService gameService;
 
-    @ResponseBody
-    @RequestMapping(value = "/api/game/{channel}", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
-    public String apiViewGame(@PathVariable String channel, final HttpServletResponse response) {
-        final Game g = this.gameService.getFromChannelName("#" + channel);
-        if (g == null) {
-            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
-            return APIHelper.makeError("No such game.");
-        }
+    /**
+     * Writes the whole state of a game.
+     *
+     * @param jw JSONWriter to write to
+     * @param g  Game to write
+     */
+    private static void writeGame(@NotNull final JSONWriter jw, @NotNull final Game g) {
         // TODO: Use toJSON()?
-        return APIHelper.makeJSON(jw -> {
+        jw
+            .object()
+            .key("channel")
+            .value(g.getChannel().getName())
+            .key("players")
+            .value(g.getPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
+            .key("historicPlayers")
+            .value(g.getHistoricPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
+            .key("host")
+            .value(g.getHost().getUser().getNick())
+            .key("scores")
+            .value(g.getHistoricPlayers().stream().collect(Collectors.toMap(p -> p.getUser().getNick(), Player::getScore)))
+            .key("houseRules")
+            .value(g.getHouseRules().stream().map(HouseRule::getFriendlyName).collect(Collectors.toList()))
+            .key("cardPacks")
+            .value(g.getDeck().getCardPacks().stream().map(CardPack::getName).collect(Collectors.toList()))
+            .key("gameStatus")
+            .value(g.getGameStatus())
+            .key("timestamps")
+            .object()
+            .key("started")
+            .value(g.getStartTime())
+            .endObject()
+            .key("currentRound");
+        final CurrentRound round = g.getCurrentRound();
+        if (round == null) {
+            jw.value(null);
+        } else {
+            final List<List<String>> plays = round.getCurrentStage() != RoundStage.WAITING_FOR_CZAR
+                ? null
+                : round.getPlays().stream()
+                .map(Play::getWhiteCards) // Convert each Play to a List<WhiteCard>
+                .map(
+                    list -> list.stream() // Stream each WhiteCard
+                        .map(WhiteCard::getText) // Convert each WhiteCard to its text form
+                        .collect(Collectors.toList()) // Collect the Strings into a List<String>
+                ) // Map the List<WhiteCard> to List<String>
+                .collect(Collectors.toList()); // Collect the lists into a List<List<String>>
+            // There is no need to shuffle, as these are only shown during the WAITING_FOR_CZAR stage, in which the
+            // plays are shuffled automatically. Keeping them unshuffled allows for index detection.
             jw
                 .object()
-                .key("channel")
-                .value(g.getChannel().getName())
-                .key("players")
-                .value(g.getPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
-                .key("historicPlayers")
-                .value(g.getHistoricPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
-                .key("host")
-                .value(g.getHost().getUser().getNick())
-                .key("scores")
-                .value(g.getHistoricPlayers().stream().collect(Collectors.toMap(p -> p.getUser().getNick(), Player::getScore)))
-                .key("houseRules")
-                .value(g.getHouseRules().stream().map(HouseRule::getFriendlyName).collect(Collectors.toList()))
-                .key("cardPacks")
-                .value(g.getDeck().getCardPacks().stream().map(CardPack::getName).collect(Collectors.toList()))
-                .key("gameStatus")
-                .value(g.getGameStatus())
-                .key("timestamps")
-                .object()
-                .key("started")
-                .value(g.getStartTime())
-                .endObject()
-                .key("currentRound");
-            final CurrentRound round = g.getCurrentRound();
-            if (round == null) {
+                .key("number")
+                .value(round.getNumber())
+                .key("czar")
+                .value(round.getCzar() == null ? null : round.getCzar().getUser().getNick())
+                .key("blackCard")
+                .value(round.getBlackCard())
+                .key("stage")
+                .value(round.getCurrentStage())
+                .key("plays")
+                .value(round.getCurrentStage() == RoundStage.WAITING_FOR_CZAR ? plays : new String[0])
+                .key("skippedPlayers")
+                .value(round.getSkippedPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
+                .key("votes");
+            final VoteTally tally = round.getVoteTally();
+            if (tally == null) {
                 jw.value(null);
             } else {
-                final List<List<String>> plays = round.getCurrentStage() != RoundStage.WAITING_FOR_CZAR
-                    ? null
-                    : round.getPlays().stream()
-                    .map(Play::getWhiteCards) // Convert each Play to a List<WhiteCard>
-                    .map(
-                        list -> list.stream() // Stream each WhiteCard
-                            .map(WhiteCard::getText) // Convert each WhiteCard to its text form
-                            .collect(Collectors.toList()) // Collect the Strings into a List<String>
-                    ) // Map the List<WhiteCard> to List<String>
-                    .collect(Collectors.toList()); // Collect the lists into a List<List<String>>
-                // There is no need to shuffle, as these are only shown during the WAITING_FOR_CZAR stage, in which the
-                // plays are shuffled automatically. Keeping them unshuffled allows for index detection.
+                // Counts line up with the plays, and the leader is an index into them (or -1)
                 jw
                     .object()
-                    .key("number")
-                    .value(round.getNumber())
-                    .key("czar")
-                    .value(round.getCzar() == null ? null : round.getCzar().getUser().getNick())
-                    .key("blackCard")
-                    .value(round.getBlackCard())
-                    .key("stage")
-                    .value(round.getCurrentStage())
-                    .key("plays")
-                    .value(round.getCurrentStage() == RoundStage.WAITING_FOR_CZAR ? plays : new String[0])
-                    .key("skippedPlayers")
-                    .value(round.getSkippedPlayers().stream().map(p -> p.getUser().getNick()).collect(Collectors.toList()))
+                    .key("counts")
+                    .value(Ints.asList(tally.getCounts()))
+                    .key("total")
+                    .value(tally.getTotal())
+                    .key("leader")
+                    .value(tally.getLeader())
                     .endObject();
             }
             jw.endObject();
+        }
+        jw.endObject();
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "/api/game/{channel}", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
+    public String apiViewGame(@PathVariable String channel, final HttpServletResponse response) {
+        final Game g = this.gameService.getFromChannelName("#" + channel);
+        if (g == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return APIHelper.makeError("No such game.");
+        }
+        return APIHelper.writeJSON(response, jw -> GameController.writeGame(jw, g));
+    }
+
+    @RequestMapping(value = "/api/game/{channel}/events", method = RequestMethod.GET, produces = GameController.EVENT_STREAM)
+    public void apiViewGameEvents(@PathVariable final String channel, final HttpServletRequest request, final HttpServletResponse response) throws IOException {
+        final Game g = this.gameService.getFromChannelName("#" + channel);
+        if (g == null) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "No such game.");
+            return;
+        }
+        response.setContentType(GameController.EVENT_STREAM);
+        response.setHeader("Cache-Control", "no-cache");
+        // Stops proxies such as nginx from holding events back
+        response.setHeader("X-Accel-Buffering", "no");
+        final AsyncContext context = request.startAsync();
+        // The stream stays open until the game ends or the client leaves
+        context.setTimeout(0L);
+        final EventStream stream = new EventStream(g.getFeed(), context);
+        // On the game's executor, so no event is published between the state and subscribing
+        g.execute(() -> {
+            try {
+                stream.start(g.getFeed().encodeEvent("state", APIHelper.makeJSON(jw -> GameController.writeGame(jw, g))));
+            } catch (final RuntimeException ex) {
+                stream.close();
+                throw ex;
+            }
         });
     }
 
@@ -106,18 +165,20 @@ public class GameController {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return APIHelper.makeError("No such game");
         }
+        final RoundSnapshot rs;
         try {
-            return g.getPreviousRounds().get(round - 1).toJSON();
+            rs = g.getPreviousRounds().get(round - 1);
         } catch (final IndexOutOfBoundsException ex) {
             response.setStatus(HttpServletResponse.SC_NOT_FOUND);
             return APIHelper.makeError("No such round.");
         }
+        return APIHelper.writeJSON(response, rs);
     }
 
     @ResponseBody
     @RequestMapping(value = "/api/games", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
     public String apiViewGames(final HttpServletResponse response) {
-        return APIHelper.makeObjectMapperJSON(response, om -> om.writeValueAsString(this.gameService.getAll().keySet().stream().map(Channel::getName).collect(Collectors.toList())));
+        return APIHelper.writeJSON(response, this.gameService.getAll().keySet().stream().map(Channel::getName).collect(Collectors.toList()));
     }
 
     @RequestMapping(value = "/game/{channel}", method = RequestMethod.GET)
@@ -1,52 +1,107 @@
 package org.royaldev.thehumanity.server.controllers;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 import org.royaldev.thehumanity.game.GameSnapshot;
 import org.royaldev.thehumanity.game.round.RoundSnapshot;
 import org.royaldev.thehumanity.history.History;
+import org.royaldev.thehumanity.history.stats.ChannelStatistics;
+import org.royaldev.thehumanity.history.stats.PlayerStatistics;
 import org.royaldev.thehumanity.server.services.history.HistoryService;
+import org.royaldev.thehumanity.util.json.JSONMapper;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
-import java.io.File;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Controller
 public class HistoryController {
 
+    /**
+     * The most entries any statistics endpoint returns.
+     */
+    private static final int MAX_LIMIT = 100;
+    private static final ObjectWriter gameWriter = JSONMapper.makeWriter(GameSnapshot.class, GameSnapshotMixin.class);
+    /**
+     * Saved games never change, so their serialized forms are kept, up to 32 MB of them.
+     */
+    private final ResponseCache responseCache = new ResponseCache(32L * 1024L * 1024L);
     @Autowired
     private HistoryService historyService;
 
+    @Nullable
+    private static Comparator<PlayerStatistics> getPlayerOrder(@NotNull final String sort) {
+        switch (sort.toLowerCase()) {
+            case "wins":
+                return PlayerStatistics.BY_GAMES_WON;
+            case "games":
+                return PlayerStatistics.BY_GAMES_PLAYED;
+            case "rounds":
+                return PlayerStatistics.BY_ROUNDS_WON;
+            case "czar":
+                return PlayerStatistics.BY_CZAR_PICKS;
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Starts a statistics response for the given period.
+     *
+     * @param channel Channel name, without the #
+     * @param month   Month, or null for all time
+     * @param cs      Statistics of the channel
+     * @return Map to add the rest of the response to
+     */
+    @NotNull
+    private static Map<String, Object> makeStatisticsResponse(@NotNull final String channel, @Nullable final YearMonth month, @NotNull final ChannelStatistics cs) {
+        final Map<String, Object> result = new LinkedHashMap<>();
+        result.put("channel", "#" + channel);
+        result.put("month", month == null ? null : month.toString());
+        result.put("games", cs.getGames(month));
+        result.put("rounds", cs.getRounds(month));
+        return result;
+    }
+
+    @Nullable
+    private static YearMonth parseMonth(@Nullable final String month) {
+        return month == null ? null : YearMonth.parse(month);
+    }
+
     @ResponseBody
     @RequestMapping(value = "/api/history", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
-    public String apiHistory() {
+    public String apiHistory(final HttpServletResponse response) {
         final History h = this.historyService.getHistory();
-        final File historyFolder = h.getHistoryFolder();
-        return APIHelper.makeObjectMapperJSON(
-            om -> om.writeValueAsString(
-                !historyFolder.exists() || !historyFolder.isDirectory()
-                    ? new String[0]
-                    : historyFolder.list()
-            )
-        );
+        return APIHelper.writeJSON(response, h.getChannels());
     }
 
     @ResponseBody
     @RequestMapping(value = "/api/history/{channel}", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
     public String apiHistoryChannel(@PathVariable final String channel, final HttpServletResponse response) {
-        return APIHelper.makeObjectMapperJSON(response, om -> om.writeValueAsString(
-            this.historyService.getHistory().getAllGameNumbers("#" + channel)
-        ));
+        return APIHelper.writeJSON(response, this.historyService.getHistory().getAllGameNumbers("#" + channel));
     }
 
     @ResponseBody
     @RequestMapping(value = "/api/history/{channel}/{game}", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
-    public String apiHistoryChannelGame(@PathVariable final String channel, @PathVariable final int game, final HttpServletResponse response) {
+    public String apiHistoryChannelGame(@PathVariable final String channel, @PathVariable final int game, final HttpServletRequest request, final HttpServletResponse response) {
+        final String key = channel.toLowerCase() + ":" + game;
+        final ResponseCache.Entry cached = this.responseCache.get(key);
+        if (cached != null) return this.responseCache.respond(cached, request, response);
         final GameSnapshot gs;
         try {
             gs = this.historyService.getHistory().loadGameSnapshot("#" + channel, game);
@@ -57,18 +112,22 @@ public class HistoryController {
         if (gs == null) {
             return APIHelper.makeError("No such game.");
         }
-        return APIHelper.makeObjectMapperJSON(
-            response,
-            om -> {
-                om.addMixInAnnotations(GameSnapshot.class, GameSnapshotMixin.class);
-                return om.writeValueAsString(gs);
-            }
-        );
+        final String json;
+        try {
+            json = HistoryController.gameWriter.writeValueAsString(gs);
+        } catch (final JsonProcessingException ex) {
+            response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return APIHelper.makeError(ex);
+        }
+        return this.responseCache.respond(this.responseCache.put(key, json), request, response);
     }
 
     @ResponseBody
     @RequestMapping(value = "/api/history/{channel}/{game}/{round}", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
-    public String apiHistoryChannelGameRound(@PathVariable final String channel, @PathVariable final int game, @PathVariable final int round, final HttpServletResponse response) {
+    public String apiHistoryChannelGameRound(@PathVariable final String channel, @PathVariable final int game, @PathVariable final int round, final HttpServletRequest request, final HttpServletResponse response) {
+        final String key = channel.toLowerCase() + ":" + game + ":" + round;
+        final ResponseCache.Entry cached = this.responseCache.get(key);
+        if (cached != null) return this.responseCache.respond(cached, request, response);
         final GameSnapshot gs;
         try {
             gs = this.historyService.getHistory().loadGameSnapshot("#" + channel, game);
@@ -78,11 +137,61 @@ public class HistoryController {
         if (gs == null) {
             return APIHelper.makeError("No such game.");
         }
+        final String json;
         try {
-            return gs.getPreviousRounds().get(round - 1).toJSON();
+            json = gs.getPreviousRounds().get(round - 1).toJSON();
         } catch (final IndexOutOfBoundsException ex) {
             return APIHelper.makeError("No such round.");
         }
+        return this.responseCache.respond(this.responseCache.put(key, json), request, response);
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "/api/history/{channel}/cards", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
+    public String apiHistoryChannelCards(@PathVariable final String channel, @RequestParam(value = "month", required = false) final String month, @RequestParam(value = "limit", defaultValue = "10") final int limit, final HttpServletResponse response) {
+        final ChannelStatistics cs = this.historyService.getHistory().getStatistics().getChannel("#" + channel);
+        if (cs == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return APIHelper.makeError("No such channel.");
+        }
+        final YearMonth ym;
+        try {
+            ym = HistoryController.parseMonth(month);
+        } catch (final DateTimeParseException ex) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return APIHelper.makeError("Month must look like 2015-06.");
+        }
+        final int cappedLimit = Math.max(1, Math.min(limit, HistoryController.MAX_LIMIT));
+        final Map<String, Object> result = HistoryController.makeStatisticsResponse(channel, ym, cs);
+        result.put("blackCards", cs.getTopBlackCards(ym, cappedLimit));
+        result.put("whiteCards", cs.getTopWhiteCards(ym, cappedLimit));
+        return APIHelper.writeJSON(response, result);
+    }
+
+    @ResponseBody
+    @RequestMapping(value = "/api/history/{channel}/leaderboard", method = RequestMethod.GET, produces = APIHelper.PRODUCES)
+    public String apiHistoryChannelLeaderboard(@PathVariable final String channel, @RequestParam(value = "month", required = false) final String month, @RequestParam(value = "sort", defaultValue = "wins") final String sort, @RequestParam(value = "limit", defaultValue = "10") final int limit, final HttpServletResponse response) {
+        final ChannelStatistics cs = this.historyService.getHistory().getStatistics().getChannel("#" + channel);
+        if (cs == null) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return APIHelper.makeError("No such channel.");
+        }
+        final Comparator<PlayerStatistics> order = HistoryController.getPlayerOrder(sort);
+        if (order == null) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return APIHelper.makeError("Sort must be one of wins, games, rounds or czar.");
+        }
+        final YearMonth ym;
+        try {
+            ym = HistoryController.parseMonth(month);
+        } catch (final DateTimeParseException ex) {
+            response.setStatus(HttpServletResponse.SC_BAD_REQUEST);
+            return APIHelper.makeError("Month must look like 2015-06.");
+        }
+        final Map<String, Object> result = HistoryController.makeStatisticsResponse(channel, ym, cs);
+        result.put("sort", sort.toLowerCase());
+        result.put("players", cs.getTopPlayers(ym, order, Math.max(1, Math.min(limit, HistoryController.MAX_LIMIT))));
+        return APIHelper.writeJSON(response, result);
     }
 
     private interface GameSnapshotMixin {
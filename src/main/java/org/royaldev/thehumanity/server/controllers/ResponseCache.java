@@ -0,0 +1,156 @@
+package org.royaldev.thehumanity.server.controllers;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A cache of serialized responses for resources that never change once they exist, such as saved games. The cache is
+ * bounded by the total size of the bodies it holds, and each body gets a strong ETag so clients can revalidate with
+ * <code>If-None-Match</code> instead of downloading it again.
+ * <p/>
+ * Only successful responses should be cached. Errors may stop being errors, for example once a game is saved.
+ */
+public class ResponseCache {
+
+    /**
+     * How long clients and proxies may keep a cached response, in seconds.
+     */
+    public static final int MAX_AGE = 365 * 24 * 60 * 60;
+    private final Cache<String, Entry> cache;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxBytes Most bytes of response bodies to hold, counting one per character
+     */
+    public ResponseCache(final long maxBytes) {
+        Preconditions.checkArgument(maxBytes > 0L, "maxBytes must be positive");
+        this.cache = CacheBuilder.newBuilder()
+            .maximumWeight(maxBytes)
+            .weigher((final String key, final Entry entry) -> key.length() + entry.getBody().length())
+            .recordStats()
+            .build();
+    }
+
+    /**
+     * Checks if an <code>If-None-Match</code> header matches an ETag. Weak validators are compared weakly, as the
+     * header allows for GET requests.
+     *
+     * @param ifNoneMatch Value of the header, or null if it was not sent
+     * @param etag        ETag, including its quotes
+     * @return true if the client already has the response, false if otherwise
+     */
+    static boolean matches(@Nullable final String ifNoneMatch, @NotNull final String etag) {
+        Preconditions.checkNotNull(etag, "etag was null");
+        if (ifNoneMatch == null) return false;
+        for (String candidate : ifNoneMatch.split(",")) {
+            candidate = candidate.trim();
+            if (candidate.equals("*")) return true;
+            if (candidate.startsWith("W/")) candidate = candidate.substring(2);
+            if (candidate.equals(etag)) return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets a cached response.
+     *
+     * @param key Key of the resource
+     * @return Entry, or null if not cached
+     */
+    @Nullable
+    public Entry get(@NotNull final String key) {
+        Preconditions.checkNotNull(key, "key was null");
+        return this.cache.getIfPresent(key);
+    }
+
+    /**
+     * Caches a response body, working out its ETag.
+     *
+     * @param key  Key of the resource
+     * @param body Serialized response
+     * @return Entry that was cached
+     */
+    @NotNull
+    public Entry put(@NotNull final String key, @NotNull final String body) {
+        Preconditions.checkNotNull(key, "key was null");
+        Preconditions.checkNotNull(body, "body was null");
+        final Entry entry = new Entry(body);
+        this.cache.put(key, entry);
+        return entry;
+    }
+
+    /**
+     * Sends a cached response, with its ETag and caching headers. If the client already has it, the status is set to
+     * 304 and no body is sent.
+     *
+     * @param entry    Entry to send
+     * @param request  Request being answered
+     * @param response Response to set headers on
+     * @return Body to send, or null if the client already has it
+     */
+    @Nullable
+    public String respond(@NotNull final Entry entry, @NotNull final HttpServletRequest request, @NotNull final HttpServletResponse response) {
+        Preconditions.checkNotNull(entry, "entry was null");
+        Preconditions.checkNotNull(request, "request was null");
+        Preconditions.checkNotNull(response, "response was null");
+        response.setHeader("ETag", entry.getETag());
+        response.setHeader("Cache-Control", "public, max-age=" + ResponseCache.MAX_AGE + ", immutable");
+        if (ResponseCache.matches(request.getHeader("If-None-Match"), entry.getETag())) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return null;
+        }
+        return entry.getBody();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("size", this.cache.size())
+            .add("stats", this.cache.stats())
+            .toString();
+    }
+
+    /**
+     * A cached response body and its ETag.
+     */
+    public static final class Entry {
+
+        private final String body;
+        private final String etag;
+
+        private Entry(@NotNull final String body) {
+            this.body = body;
+            this.etag = "\"" + Hashing.sha256().hashString(body, StandardCharsets.UTF_8).toString().substring(0, 32) + "\"";
+        }
+
+        /**
+         * Gets the serialized response.
+         *
+         * @return Body
+         */
+        @NotNull
+        public String getBody() {
+            return this.body;
+        }
+
+        /**
+         * Gets the strong ETag of the body, including its quotes.
+         *
+         * @return ETag
+         */
+        @NotNull
+        public String getETag() {
+            return this.etag;
+        }
+    }
+}
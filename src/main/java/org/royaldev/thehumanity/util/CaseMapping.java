@@ -0,0 +1,36 @@
+package org.royaldev.thehumanity.util;
+
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Folds nicks the way IRC servers compare them. Under the default RFC 1459 casemapping, <code>[]\~</code> are the
+ * uppercase forms of <code>{}|^</code>, so "Dave[m]" and "dave{m}" are the same nick.
+ */
+public final class CaseMapping {
+
+    private CaseMapping() {}
+
+    /**
+     * Folds a nick or account into lowercase using RFC 1459 casemapping. Two names are the same to the server if and
+     * only if their folded forms are equal.
+     *
+     * @param name Name to fold
+     * @return Folded name
+     */
+    @NotNull
+    public static String fold(@NotNull final String name) {
+        Preconditions.checkNotNull(name, "name was null");
+        final char[] chars = name.toCharArray();
+        for (int i = 0; i < chars.length; i++) {
+            final char c = chars[i];
+            if (c >= 'A' && c <= 'Z') chars[i] = (char) (c + ('a' - 'A'));
+            else if (c == '[') chars[i] = '{';
+            else if (c == ']') chars[i] = '}';
+            else if (c == '\\') chars[i] = '|';
+            else if (c == '~') chars[i] = '^';
+            else if (c > 127) chars[i] = Character.toLowerCase(c);
+        }
+        return new String(chars);
+    }
+}
@@ -0,0 +1,357 @@
+package org.royaldev.thehumanity.util;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A timer that keeps its timeouts in a wheel of buckets, one bucket per tick, instead of a heap. Scheduling and
+ * cancelling are constant time, at the cost of timeouts only firing on tick boundaries.
+ * <p/>
+ * Timeouts run on the timer's single thread, so their tasks must be short. Anything that does real work should hand it
+ * off to another executor, such as a game's.
+ * <p/>
+ * The timer records how late each timeout fired compared to its deadline, which can be read back with
+ * {@link #getAverageLag} and {@link #getMaxLag}.
+ */
+public class HashedWheelTimer {
+
+    private final Bucket[] wheel;
+    private final int mask;
+    private final long tickNanos;
+    private final long startTime;
+    private final Queue<Timeout> pending = new ConcurrentLinkedQueue<>();
+    private final Queue<Timeout> cancelled = new ConcurrentLinkedQueue<>();
+    private final Logger logger;
+    private final Thread worker;
+    private final Object lagLock = new Object();
+    private volatile boolean stopped = false;
+    // Only written by the worker thread
+    private volatile long tick = 0L;
+    // Guarded by lagLock, so they are always read together
+    private long fired = 0L;
+    private long totalLagNanos = 0L;
+    private long maxLagNanos = 0L;
+
+    /**
+     * Creates and starts a timer.
+     *
+     * @param name          Name of the timer's thread
+     * @param tickDuration  Length of one tick
+     * @param unit          Unit of tickDuration
+     * @param ticksPerWheel Amount of buckets in the wheel, rounded up to a power of two
+     * @param logger        Logger to report failed tasks to
+     */
+    public HashedWheelTimer(@NotNull final String name, final long tickDuration, @NotNull final TimeUnit unit, final int ticksPerWheel, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(name, "name was null");
+        Preconditions.checkNotNull(unit, "unit was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        Preconditions.checkArgument(tickDuration > 0L, "tickDuration must be positive");
+        Preconditions.checkArgument(ticksPerWheel > 0 && ticksPerWheel <= 1 << 30, "ticksPerWheel out of range");
+        int size = 1;
+        while (size < ticksPerWheel) size <<= 1;
+        this.wheel = new Bucket[size];
+        for (int i = 0; i < size; i++) this.wheel[i] = new Bucket();
+        this.mask = size - 1;
+        this.tickNanos = unit.toNanos(tickDuration);
+        this.logger = logger;
+        this.startTime = System.nanoTime();
+        this.worker = new Thread(this::work, name);
+        this.worker.setDaemon(true);
+        this.worker.start();
+    }
+
+    /**
+     * Puts timeouts that were scheduled since the last tick into their buckets.
+     */
+    private void addPending() {
+        Timeout t;
+        while ((t = this.pending.poll()) != null) {
+            if (t.isCancelled()) continue;
+            final long ticks = Math.max(t.deadline / this.tickNanos, this.tick);
+            t.remainingRounds = (ticks - this.tick) / this.wheel.length;
+            this.wheel[(int) (ticks & this.mask)].add(t);
+        }
+    }
+
+    /**
+     * Runs a timeout's task and records how late it was. Fixed rate timeouts are queued again for their next period.
+     *
+     * @param t     Timeout to fire
+     * @param nanos Time since the timer started
+     */
+    private void fire(@NotNull final Timeout t, final long nanos) {
+        if (t.period == 0L ? !t.state.compareAndSet(Timeout.WAITING, Timeout.EXPIRED) : t.isCancelled()) return;
+        final long lag = Math.max(0L, nanos - t.deadline);
+        synchronized (this.lagLock) {
+            this.fired++;
+            this.totalLagNanos += lag;
+            if (lag > this.maxLagNanos) this.maxLagNanos = lag;
+        }
+        try {
+            t.task.run();
+        } catch (final Throwable th) {
+            this.logger.log(Level.WARNING, "Timer task failed", th);
+        }
+        if (t.period > 0L && !t.isCancelled()) {
+            t.deadline += t.period;
+            this.pending.add(t);
+        }
+    }
+
+    /**
+     * Takes cancelled timeouts out of their buckets.
+     */
+    private void removeCancelled() {
+        Timeout t;
+        while ((t = this.cancelled.poll()) != null) {
+            if (t.bucket != null) t.bucket.remove(t);
+        }
+    }
+
+    /**
+     * Sleeps until the start of the next tick.
+     *
+     * @return Time since the timer started
+     */
+    private long waitForNextTick() {
+        final long deadline = this.tickNanos * (this.tick + 1);
+        while (true) {
+            final long now = System.nanoTime() - this.startTime;
+            final long sleepNanos = deadline - now;
+            if (sleepNanos <= 0L) return now;
+            try {
+                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+            } catch (final InterruptedException ex) {
+                if (this.stopped) return now;
+            }
+        }
+    }
+
+    private void work() {
+        while (!this.stopped) {
+            final long now = this.waitForNextTick();
+            this.removeCancelled();
+            this.addPending();
+            this.wheel[(int) (this.tick & this.mask)].expire(now);
+            this.tick++;
+        }
+    }
+
+    /**
+     * Gets the average time between a timeout's deadline and when it actually fired.
+     *
+     * @param unit Unit to return the lag in
+     * @return Average lag
+     */
+    public long getAverageLag(@NotNull final TimeUnit unit) {
+        synchronized (this.lagLock) {
+            return this.fired == 0L ? 0L : unit.convert(this.totalLagNanos / this.fired, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the longest time between a timeout's deadline and when it actually fired.
+     *
+     * @param unit Unit to return the lag in
+     * @return Maximum lag
+     */
+    public long getMaxLag(@NotNull final TimeUnit unit) {
+        synchronized (this.lagLock) {
+            return unit.convert(this.maxLagNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Gets the amount of times a timeout has fired.
+     *
+     * @return Amount of fired timeouts
+     */
+    public long getFiredTimeouts() {
+        synchronized (this.lagLock) {
+            return this.fired;
+        }
+    }
+
+    /**
+     * Schedules a task to run once after the given delay.
+     *
+     * @param task  Task to run
+     * @param delay Delay before running
+     * @param unit  Unit of delay
+     * @return Timeout that can be cancelled
+     */
+    @NotNull
+    public Timeout schedule(@NotNull final Runnable task, final long delay, @NotNull final TimeUnit unit) {
+        return this.schedule(task, delay, 0L, unit);
+    }
+
+    private Timeout schedule(@NotNull final Runnable task, final long delay, final long period, @NotNull final TimeUnit unit) {
+        Preconditions.checkNotNull(task, "task was null");
+        Preconditions.checkNotNull(unit, "unit was null");
+        Preconditions.checkState(!this.stopped, "This timer has been stopped.");
+        final long deadline = System.nanoTime() - this.startTime + unit.toNanos(Math.max(0L, delay));
+        final Timeout t = new Timeout(task, deadline, unit.toNanos(period));
+        this.pending.add(t);
+        return t;
+    }
+
+    /**
+     * Schedules a task to run after the given initial delay, then once every period until cancelled.
+     *
+     * @param task         Task to run
+     * @param initialDelay Delay before the first run
+     * @param period       Time between runs
+     * @param unit         Unit of initialDelay and period
+     * @return Timeout that can be cancelled
+     */
+    @NotNull
+    public Timeout scheduleAtFixedRate(@NotNull final Runnable task, final long initialDelay, final long period, @NotNull final TimeUnit unit) {
+        Preconditions.checkArgument(period > 0L, "period must be positive");
+        return this.schedule(task, initialDelay, period, unit);
+    }
+
+    /**
+     * Stops the timer. Timeouts that have not fired yet never will.
+     */
+    public void stop() {
+        this.stopped = true;
+        this.worker.interrupt();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("buckets", this.wheel.length)
+            .add("tickMillis", TimeUnit.NANOSECONDS.toMillis(this.tickNanos))
+            .add("fired", this.getFiredTimeouts())
+            .add("averageLagMillis", this.getAverageLag(TimeUnit.MILLISECONDS))
+            .add("maxLagMillis", this.getMaxLag(TimeUnit.MILLISECONDS))
+            .toString();
+    }
+
+    /**
+     * A doubly-linked list of the timeouts in one slot of the wheel. Only touched by the worker thread.
+     */
+    private static final class Bucket {
+
+        private Timeout head;
+        private Timeout tail;
+
+        private void add(@NotNull final Timeout t) {
+            t.bucket = this;
+            if (this.head == null) {
+                this.head = this.tail = t;
+            } else {
+                this.tail.next = t;
+                t.prev = this.tail;
+                this.tail = t;
+            }
+        }
+
+        /**
+         * Fires every timeout in this bucket that is due in the current round of the wheel.
+         *
+         * @param nanos Time since the timer started
+         */
+        private void expire(final long nanos) {
+            Timeout t = this.head;
+            while (t != null) {
+                final Timeout next = t.next;
+                if (t.isCancelled()) {
+                    this.remove(t);
+                } else if (t.remainingRounds <= 0L) {
+                    this.remove(t);
+                    t.timer().fire(t, nanos);
+                } else {
+                    t.remainingRounds--;
+                }
+                t = next;
+            }
+        }
+
+        private void remove(@NotNull final Timeout t) {
+            if (t.bucket != this) return;
+            if (t.prev == null) this.head = t.next;
+            else t.prev.next = t.next;
+            if (t.next == null) this.tail = t.prev;
+            else t.next.prev = t.prev;
+            t.prev = t.next = null;
+            t.bucket = null;
+        }
+    }
+
+    /**
+     * A handle to a scheduled task.
+     */
+    public final class Timeout {
+
+        private static final int WAITING = 0;
+        private static final int CANCELLED = 1;
+        private static final int EXPIRED = 2;
+        private final AtomicInteger state = new AtomicInteger(Timeout.WAITING);
+        private final Runnable task;
+        private final long period;
+        // Only touched by the worker thread
+        private long deadline;
+        private long remainingRounds;
+        private Bucket bucket;
+        private Timeout prev;
+        private Timeout next;
+
+        private Timeout(@NotNull final Runnable task, final long deadline, final long period) {
+            this.task = task;
+            this.deadline = deadline;
+            this.period = period;
+        }
+
+        private HashedWheelTimer timer() {
+            return HashedWheelTimer.this;
+        }
+
+        /**
+         * Cancels this timeout. A cancelled timeout will not run again.
+         *
+         * @return true if cancelled, false if it had already been cancelled or had fired
+         */
+        public boolean cancel() {
+            if (!this.state.compareAndSet(Timeout.WAITING, Timeout.CANCELLED)) return false;
+            HashedWheelTimer.this.cancelled.add(this);
+            return true;
+        }
+
+        /**
+         * Checks if this timeout has been cancelled.
+         *
+         * @return true if cancelled, false if otherwise
+         */
+        public boolean isCancelled() {
+            return this.state.get() == Timeout.CANCELLED;
+        }
+
+        /**
+         * Checks if this timeout will not run again, either because it was cancelled or because it fired. Fixed rate
+         * timeouts never fire for the last time, so they are only done once cancelled.
+         *
+         * @return true if done, false if otherwise
+         */
+        public boolean isDone() {
+            return this.state.get() != Timeout.WAITING;
+        }
+
+        @Override
+        public String toString() {
+            return MoreObjects.toStringHelper(this)
+                .add("state", this.state.get())
+                .add("period", this.period)
+                .toString();
+        }
+    }
+}
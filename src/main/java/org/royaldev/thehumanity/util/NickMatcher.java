@@ -0,0 +1,225 @@
+package org.royaldev.thehumanity.util;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import com.google.common.collect.ImmutableSet;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Finds every nick in a message at once, using an Aho-Corasick automaton built from a set of nicks. A message is
+ * scanned in a single pass no matter how many nicks there are. Nicks are found and removed ignoring case, since that is
+ * how IRC clients decide whether a message pings them.
+ * <p/>
+ * Matchers are immutable. To change the nicks, use {@link #with} and {@link #without}, which return new matchers.
+ */
+public final class NickMatcher {
+
+    /**
+     * The character inserted into nicks to keep them from pinging.
+     */
+    public static final char ZERO_WIDTH_SPACE = '\u200b';
+    private static final NickMatcher EMPTY = new NickMatcher(ImmutableSet.of());
+    private final Set<String> nicks;
+    // Per state: sorted transition characters and their targets
+    private final char[][] keys;
+    private final int[][] targets;
+    private final int[] fail;
+    // Per state: length of the nick ending here, or 0
+    private final int[] length;
+    // Per state: the next state down the fail links that ends a nick, or -1
+    private final int[] output;
+
+    private NickMatcher(@NotNull final Set<String> nicks) {
+        this.nicks = nicks;
+        final List<Map<Character, Integer>> trie = new ArrayList<>();
+        final List<Integer> lengths = new ArrayList<>();
+        trie.add(new TreeMap<>());
+        lengths.add(0);
+        for (final String nick : nicks) {
+            // Nicks of one character cannot be split
+            if (nick.length() <= 1) continue;
+            int state = 0;
+            for (int i = 0; i < nick.length(); i++) {
+                final char c = Character.toLowerCase(nick.charAt(i));
+                final Integer next = trie.get(state).get(c);
+                if (next != null) {
+                    state = next;
+                    continue;
+                }
+                trie.add(new TreeMap<>());
+                lengths.add(0);
+                trie.get(state).put(c, trie.size() - 1);
+                state = trie.size() - 1;
+            }
+            lengths.set(state, nick.length());
+        }
+        final int states = trie.size();
+        this.keys = new char[states][];
+        this.targets = new int[states][];
+        this.fail = new int[states];
+        this.length = new int[states];
+        this.output = new int[states];
+        for (int s = 0; s < states; s++) {
+            final Map<Character, Integer> edges = trie.get(s);
+            this.keys[s] = new char[edges.size()];
+            this.targets[s] = new int[edges.size()];
+            int i = 0;
+            for (final Map.Entry<Character, Integer> edge : edges.entrySet()) {
+                this.keys[s][i] = edge.getKey();
+                this.targets[s][i++] = edge.getValue();
+            }
+            this.length[s] = lengths.get(s);
+        }
+        // Breadth-first, so every fail link points at a state that already has its own
+        final int[] queue = new int[states];
+        int head = 0, tail = 0;
+        this.output[0] = -1;
+        for (final int child : this.targets[0]) {
+            this.fail[child] = 0;
+            this.output[child] = -1;
+            queue[tail++] = child;
+        }
+        while (head < tail) {
+            final int s = queue[head++];
+            for (int i = 0; i < this.keys[s].length; i++) {
+                final char c = this.keys[s][i];
+                final int child = this.targets[s][i];
+                int f = this.fail[s];
+                while (f != 0 && this.step(f, c) < 0) f = this.fail[f];
+                final int g = this.step(f, c);
+                this.fail[child] = g < 0 ? 0 : g;
+                final int suffix = this.fail[child];
+                this.output[child] = this.length[suffix] > 0 ? suffix : this.output[suffix];
+                queue[tail++] = child;
+            }
+        }
+    }
+
+    /**
+     * Gets a matcher for the given nicks. Nicks of one character are kept in the set, but never matched, since they
+     * cannot be split.
+     *
+     * @param nicks Nicks to match
+     * @return NickMatcher
+     */
+    @NotNull
+    public static NickMatcher of(@NotNull final Collection<String> nicks) {
+        Preconditions.checkNotNull(nicks, "nicks was null");
+        final ImmutableSet<String> filtered = ImmutableSet.copyOf(
+            nicks.stream().filter(nick -> nick != null).collect(Collectors.toList())
+        );
+        return filtered.isEmpty() ? NickMatcher.EMPTY : new NickMatcher(filtered);
+    }
+
+    private int step(final int state, final char c) {
+        final char[] k = this.keys[state];
+        int low = 0, high = k.length - 1;
+        while (low <= high) {
+            final int mid = (low + high) >>> 1;
+            if (k[mid] < c) low = mid + 1;
+            else if (k[mid] > c) high = mid - 1;
+            else return this.targets[state][mid];
+        }
+        return -1;
+    }
+
+    /**
+     * Reformats a message so that no nick in this matcher pings its user. A zero-width space is inserted after the first
+     * character of every occurrence of every nick, including overlapping ones.
+     *
+     * @param message Message to reformat
+     * @return Reformatted message, or the same message if no nicks were found
+     */
+    @NotNull
+    public String antiPing(@NotNull final String message) {
+        Preconditions.checkNotNull(message, "message was null");
+        if (this.fail.length == 1) return message;
+        BitSet splits = null;
+        int state = 0;
+        for (int i = 0; i < message.length(); i++) {
+            final char c = Character.toLowerCase(message.charAt(i));
+            int next;
+            while ((next = this.step(state, c)) < 0 && state != 0) state = this.fail[state];
+            state = next < 0 ? 0 : next;
+            for (int s = this.length[state] > 0 ? state : this.output[state]; s >= 0; s = this.output[s]) {
+                if (splits == null) splits = new BitSet(message.length());
+                splits.set(i - this.length[s] + 2);
+            }
+        }
+        if (splits == null) return message;
+        final StringBuilder sb = new StringBuilder(message.length() + splits.cardinality());
+        int last = 0;
+        for (int split = splits.nextSetBit(0); split >= 0; split = splits.nextSetBit(split + 1)) {
+            sb.append(message, last, split).append(NickMatcher.ZERO_WIDTH_SPACE);
+            last = split;
+        }
+        return sb.append(message, last, message.length()).toString();
+    }
+
+    /**
+     * Checks if this matcher finds the given nick, ignoring case.
+     *
+     * @param nick Nick to check
+     * @return true if found, false if otherwise
+     */
+    public boolean contains(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        return this.nicks.stream().anyMatch(nick::equalsIgnoreCase);
+    }
+
+    /**
+     * Gets the nicks this matcher finds.
+     *
+     * @return Immutable set of nicks
+     */
+    @NotNull
+    public Set<String> getNicks() {
+        return this.nicks;
+    }
+
+    /**
+     * Gets a matcher that also finds the given nick.
+     *
+     * @param nick Nick to add
+     * @return New matcher, or this one if it already finds the nick
+     */
+    @NotNull
+    public NickMatcher with(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        if (this.contains(nick)) return this;
+        return new NickMatcher(ImmutableSet.<String>builder().addAll(this.nicks).add(nick).build());
+    }
+
+    /**
+     * Gets a matcher that no longer finds the given nick, in any case.
+     *
+     * @param nick Nick to remove
+     * @return New matcher, or this one if it did not find the nick
+     */
+    @NotNull
+    public NickMatcher without(@NotNull final String nick) {
+        Preconditions.checkNotNull(nick, "nick was null");
+        if (!this.contains(nick)) return this;
+        final Set<String> nicks = new HashSet<>(this.nicks);
+        nicks.removeIf(nick::equalsIgnoreCase);
+        return NickMatcher.of(nicks);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("nicks", this.nicks.size())
+            .add("states", this.fail.length)
+            .toString();
+    }
+}
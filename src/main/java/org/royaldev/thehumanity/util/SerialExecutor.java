@@ -0,0 +1,119 @@
+package org.royaldev.thehumanity.util;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An executor that runs its tasks one at a time, in the order they were submitted, on threads borrowed from a shared
+ * executor. Many serial executors can share one pool: each runs its own tasks in order, while different serial
+ * executors run in parallel.
+ * <p/>
+ * To stay fair to the other executors on the pool, at most {@link #BATCH_SIZE} tasks are run before the thread is given
+ * back. A task that throws is logged and does not stop the tasks after it.
+ */
+public class SerialExecutor implements Executor {
+
+    /**
+     * The most tasks run in one turn on the shared pool.
+     */
+    public static final int BATCH_SIZE = 64;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final ThreadLocal<Boolean> running = ThreadLocal.withInitial(() -> false);
+    private final Executor pool;
+    private final Logger logger;
+
+    /**
+     * Creates a serial executor running on the given pool.
+     *
+     * @param pool   Shared executor to run tasks on
+     * @param logger Logger to report failed tasks to
+     */
+    public SerialExecutor(@NotNull final Executor pool, @NotNull final Logger logger) {
+        Preconditions.checkNotNull(pool, "pool was null");
+        Preconditions.checkNotNull(logger, "logger was null");
+        this.pool = pool;
+        this.logger = logger;
+    }
+
+    /**
+     * Runs up to {@link #BATCH_SIZE} tasks, then schedules another turn if more tasks are waiting.
+     */
+    private void drain() {
+        this.running.set(true);
+        try {
+            for (int i = 0; i < SerialExecutor.BATCH_SIZE; i++) {
+                final Runnable task = this.mailbox.poll();
+                if (task == null) break;
+                try {
+                    task.run();
+                } catch (final Throwable t) {
+                    this.logger.log(Level.WARNING, "Task failed in serial executor", t);
+                }
+            }
+        } finally {
+            this.running.set(false);
+            this.scheduled.set(false);
+        }
+        if (!this.mailbox.isEmpty()) this.schedule();
+    }
+
+    /**
+     * Gives the pool a turn for this executor, unless one is already pending or running.
+     */
+    private void schedule() {
+        if (!this.scheduled.compareAndSet(false, true)) return;
+        try {
+            this.pool.execute(this::drain);
+        } catch (final RuntimeException ex) {
+            this.scheduled.set(false);
+            throw ex;
+        }
+    }
+
+    /**
+     * Queues a task to run after every task submitted before it.
+     *
+     * @param task Task to run
+     */
+    @Override
+    public void execute(@NotNull final Runnable task) {
+        Preconditions.checkNotNull(task, "task was null");
+        this.mailbox.add(task);
+        this.schedule();
+    }
+
+    /**
+     * Checks if the calling thread is currently running a task for this executor.
+     *
+     * @return true if in this executor, false if otherwise
+     */
+    public boolean isInExecutor() {
+        return this.running.get();
+    }
+
+    /**
+     * Gets the amount of tasks waiting to be run.
+     *
+     * @return Amount of queued tasks
+     */
+    public int getQueuedTasks() {
+        return this.mailbox.size();
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this)
+            .add("queuedTasks", this.mailbox.size())
+            .add("scheduled", this.scheduled.get())
+            .toString();
+    }
+}
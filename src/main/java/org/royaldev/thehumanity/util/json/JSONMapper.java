@@ -0,0 +1,75 @@
+package org.royaldev.thehumanity.util.json;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.google.common.base.Preconditions;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * The shared Jackson configuration. Building an {@link ObjectMapper} and introspecting classes is expensive, so it is
+ * done once here, and everything else uses the thread-safe readers and writers this hands out.
+ * <p/>
+ * The mapper itself is never exposed, since changing its configuration after use is not thread-safe. Views that need
+ * mix-ins get their own writer from {@link #makeWriter(Class, Class)}, which should be kept in a constant.
+ */
+public final class JSONMapper {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final ObjectWriter writer = JSONMapper.objectMapper.writer();
+    private static final Map<Class<?>, ObjectReader> readers = new ConcurrentHashMap<>();
+
+    private JSONMapper() {}
+
+    /**
+     * Gets the factory for streaming generators and parsers.
+     *
+     * @return JsonFactory
+     */
+    @NotNull
+    public static JsonFactory getFactory() {
+        return JSONMapper.objectMapper.getFactory();
+    }
+
+    /**
+     * Gets the shared reader for a type.
+     *
+     * @param type Type to read
+     * @return ObjectReader
+     */
+    @NotNull
+    public static ObjectReader getReader(@NotNull final Class<?> type) {
+        Preconditions.checkNotNull(type, "type was null");
+        return JSONMapper.readers.computeIfAbsent(type, JSONMapper.objectMapper::reader);
+    }
+
+    /**
+     * Gets the shared writer, which uses no mix-ins.
+     *
+     * @return ObjectWriter
+     */
+    @NotNull
+    public static ObjectWriter getWriter() {
+        return JSONMapper.writer;
+    }
+
+    /**
+     * Makes a writer with a mix-in applied. This copies the mapper, so call it once and keep the writer.
+     *
+     * @param target Class to apply the mix-in to
+     * @param mixIn  Mix-in holding the annotations
+     * @return ObjectWriter
+     */
+    @NotNull
+    public static ObjectWriter makeWriter(@NotNull final Class<?> target, @NotNull final Class<?> mixIn) {
+        Preconditions.checkNotNull(target, "target was null");
+        Preconditions.checkNotNull(mixIn, "mixIn was null");
+        final ObjectMapper copy = JSONMapper.objectMapper.copy();
+        copy.addMixInAnnotations(target, mixIn);
+        return copy.writer();
+    }
+}
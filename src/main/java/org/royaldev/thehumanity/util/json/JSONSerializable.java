@@ -1,7 +1,6 @@
 package org.royaldev.thehumanity.util.json;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jetbrains.annotations.NotNull;
 
 public interface JSONSerializable {
@@ -9,7 +8,7 @@ public interface JSONSerializable {
     @NotNull
     default String toJSON() {
         try {
-            return new ObjectMapper().writeValueAsString(this);
+            return JSONMapper.getWriter().writeValueAsString(this);
         } catch (final JsonProcessingException ex) {
             throw new RuntimeException(ex);
         }
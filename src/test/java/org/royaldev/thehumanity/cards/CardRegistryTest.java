@@ -0,0 +1,111 @@
+package org.royaldev.thehumanity.cards;
+
+import org.junit.Test;
+import org.royaldev.thehumanity.CardHelper;
+import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.MemoryCardPack;
+import org.royaldev.thehumanity.cards.types.BlackCard;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CardRegistryTest {
+
+    @Test
+    public void testGetCard() throws Exception {
+        final CardPack cp = new MemoryCardPack("Registry Lookup Pack");
+        final WhiteCard wc = CardRegistry.register(CardHelper.makeWhiteCard(cp, "A registered card"));
+        // The card should be retrievable by its ID
+        assertSame(wc, CardRegistry.getCard(wc.getID()));
+        // IDs should be below the size of the registry
+        assertTrue(wc.getID() < CardRegistry.size());
+    }
+
+    @Test
+    public void testRegister() throws Exception {
+        // Unregistered cards have no ID
+        final WhiteCard first = CardHelper.makeWhiteCard(new MemoryCardPack("Registry Pack"), "The same card");
+        assertEquals(-1, first.getID());
+        CardRegistry.register(first);
+        assertTrue(first.getID() >= 0);
+        // A card with the same text in a pack of the same name, parsed again, should get the same ID
+        final WhiteCard unregistered = CardHelper.makeWhiteCard(new MemoryCardPack("Registry Pack"), "The same card");
+        final WhiteCard second = CardRegistry.register(unregistered);
+        assertEquals(first.getID(), second.getID());
+        assertEquals(first, second);
+        assertEquals(first.hashCode(), second.hashCode());
+        // Only the ID should be shared; each instance is kept, and lookups find the newest
+        assertSame(unregistered, second);
+        assertNotSame(first, second);
+        assertSame(second, CardRegistry.getCard(first.getID()));
+        // A black card with the same text is a different card
+        final BlackCard black = CardRegistry.register(CardHelper.makeBlackCard(new MemoryCardPack("Registry Pack"), "The same card"));
+        assertNotEquals(first.getID(), black.getID());
+        // A card from another pack is a different card
+        final WhiteCard other = CardRegistry.register(CardHelper.makeWhiteCard(new MemoryCardPack("Other Registry Pack"), "The same card"));
+        assertNotEquals(first.getID(), other.getID());
+        assertNotEquals(first, other);
+    }
+
+    @Test
+    public void testRelease() throws Exception {
+        final CardPack first = new MemoryCardPack("Release Pack");
+        final WhiteCard wc = CardRegistry.register(CardHelper.makeWhiteCard(first, "A released card"));
+        first.addCard(wc);
+        // The same pack, parsed again, shares the card
+        final CardPack second = new MemoryCardPack("Release Pack");
+        second.addCard(CardRegistry.register(CardHelper.makeWhiteCard(second, "A released card")));
+        final int id = wc.getID();
+        final WhiteCard reloaded = second.getWhiteCards().get(0);
+        assertEquals(id, reloaded.getID());
+        // Releasing one pack should keep the card registered for the other
+        first.release();
+        assertSame(reloaded, CardRegistry.getCard(id));
+        // Releasing a pack twice should do nothing
+        first.release();
+        assertSame(reloaded, CardRegistry.getCard(id));
+        // Once every pack is released, the card should be forgotten, but keep its ID
+        second.release();
+        assertNull(CardRegistry.getCard(id));
+        assertEquals(id, wc.getID());
+        assertFalse(CardRegistry.release(wc));
+        // Registering it again should give a new ID
+        final WhiteCard again = CardRegistry.register(CardHelper.makeWhiteCard(new MemoryCardPack("Release Pack"), "A released card"));
+        assertNotEquals(id, again.getID());
+    }
+
+    @Test
+    public void testReleaseNewestFirst() throws Exception {
+        final CardPack first = new MemoryCardPack("Newest Pack");
+        first.addCard(CardRegistry.register(CardHelper.makeWhiteCard(first, "A shared card")));
+        final CardPack second = new MemoryCardPack("Newest Pack");
+        second.addCard(CardRegistry.register(CardHelper.makeWhiteCard(second, "A shared card")));
+        final int id = first.getWhiteCards().get(0).getID();
+        // Releasing the newer pack first should make lookups find the older pack's card again
+        second.release();
+        assertSame(first.getWhiteCards().get(0), CardRegistry.getCard(id));
+        first.release();
+        assertNull(CardRegistry.getCard(id));
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        final CardPack oldPack = new MemoryCardPack("Reload Pack");
+        oldPack.addCard(CardRegistry.register(CardHelper.makeWhiteCard(oldPack, "A kept card")));
+        // Parse the pack again, as a reload does, then unload the old one
+        final CardPack newPack = new MemoryCardPack("Reload Pack");
+        newPack.addCard(CardRegistry.register(CardHelper.makeWhiteCard(newPack, "A kept card")));
+        oldPack.release();
+        final WhiteCard card = newPack.getWhiteCards().get(0);
+        // The card should belong to the new pack, and nothing should lead back to the old one
+        assertSame(newPack, card.getCardPack());
+        assertSame(newPack, CardRegistry.getCard(card.getID()).getCardPack());
+        assertEquals(oldPack.getWhiteCards().get(0), card);
+    }
+}
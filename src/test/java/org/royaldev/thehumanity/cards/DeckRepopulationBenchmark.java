@@ -0,0 +1,87 @@
+package org.royaldev.thehumanity.cards;
+
+import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.MemoryCardPack;
+import org.royaldev.thehumanity.cards.types.BlackCard;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+import org.royaldev.thehumanity.player.Hand;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * A small microbenchmark for {@link Deck#repopulateWhiteCards(Collection)}, sweeping the amount of packs and players.
+ * Its name does not end in Test, so the build skips it. Run its main method from the test classpath to print one line
+ * per combination; {@link DeckTest} covers correctness.
+ */
+public final class DeckRepopulationBenchmark {
+
+    private static final int CARDS_PER_PACK = 500;
+    private static final int HAND_SIZE = 10;
+    private static final int WARMUP_ITERATIONS = 200;
+    private static final int MEASURED_ITERATIONS = 1000;
+
+    private DeckRepopulationBenchmark() {}
+
+    public static void main(final String[] args) {
+        final int[] packCounts = {1, 10, 40};
+        final int[] playerCounts = {3, 10, 30, 100};
+        System.out.println("packs\tplayers\tcards\tus/repopulate");
+        for (final int packCount : packCounts) {
+            for (final int playerCount : playerCounts) {
+                final int cards = packCount * DeckRepopulationBenchmark.CARDS_PER_PACK;
+                // The hands would hold more cards than the deck has
+                if (playerCount * DeckRepopulationBenchmark.HAND_SIZE > cards) continue;
+                final double micros = DeckRepopulationBenchmark.measure(packCount, playerCount);
+                System.out.printf("%d\t%d\t%d\t%.2f%n", packCount, playerCount, cards, micros);
+            }
+        }
+    }
+
+    private static List<CardPack> makePacks(final int packCount) {
+        final List<CardPack> packs = new ArrayList<>();
+        for (int i = 0; i < packCount; i++) {
+            final CardPack cp = new MemoryCardPack("Benchmark " + i);
+            for (int j = 0; j < DeckRepopulationBenchmark.CARDS_PER_PACK; j++) {
+                cp.addCard(CardRegistry.register(new WhiteCard(cp, "Card " + j + " of pack " + i)));
+            }
+            cp.addCard(CardRegistry.register(new BlackCard(cp, "What is _?")));
+            packs.add(cp);
+        }
+        return packs;
+    }
+
+    private static double measure(final int packCount, final int playerCount) {
+        // Registered cards, like parsed ones, so repopulation excludes hands by ID
+        final List<CardPack> packs = DeckRepopulationBenchmark.makePacks(packCount);
+        final Deck deck = new Deck(packs);
+        final List<Hand> hands = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            final Hand<WhiteCard> hand = new Hand<>();
+            for (int j = 0; j < DeckRepopulationBenchmark.HAND_SIZE; j++) {
+                hand.addCard(deck.getRandomWhiteCard(null));
+            }
+            hands.add(hand);
+        }
+        for (int i = 0; i < DeckRepopulationBenchmark.WARMUP_ITERATIONS; i++) {
+            DeckRepopulationBenchmark.drain(deck);
+            deck.repopulateWhiteCards(hands);
+        }
+        long elapsed = 0L;
+        for (int i = 0; i < DeckRepopulationBenchmark.MEASURED_ITERATIONS; i++) {
+            DeckRepopulationBenchmark.drain(deck);
+            final long start = System.nanoTime();
+            deck.repopulateWhiteCards(hands);
+            elapsed += System.nanoTime() - start;
+        }
+        packs.forEach(CardPack::release);
+        return elapsed / 1000D / DeckRepopulationBenchmark.MEASURED_ITERATIONS;
+    }
+
+    private static void drain(final Deck deck) {
+        while (deck.getUnusedWhiteCardCount() > 0) {
+            deck.getRandomWhiteCard(null);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.royaldev.thehumanity.CardHelper;
 import org.royaldev.thehumanity.cards.packs.CardPack;
+import org.royaldev.thehumanity.cards.packs.CardPackDiff;
 import org.royaldev.thehumanity.cards.types.BlackCard;
 import org.royaldev.thehumanity.cards.types.WhiteCard;
 import org.royaldev.thehumanity.player.Hand;
@@ -13,8 +14,10 @@ import org.royaldev.thehumanity.player.Hand;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
@@ -109,6 +112,19 @@ public class DeckTest {
         assertSame(previousAmount, this.deck.getCardPacks().stream().mapToInt(pack -> pack.getWhiteCards().size()).sum());
     }
 
+    @Test
+    public void testGetRandomWhiteCardSeeded() throws Exception {
+        // Make two decks drawing with the same seed
+        final Deck first = new Deck(Arrays.asList(this.packOne, this.packTwo), new Random(1337L));
+        final Deck second = new Deck(Arrays.asList(this.packOne, this.packTwo), new Random(1337L));
+        // Both decks should draw the same cards in the same order
+        while (first.getUnusedWhiteCardCount() > 0) {
+            assertEquals(first.getRandomWhiteCard(null), second.getRandomWhiteCard(null));
+        }
+        // Both decks should be exhausted at the same time
+        assertSame(0, second.getUnusedWhiteCardCount());
+    }
+
     @Test
     public void testGetWhiteCardCount() throws Exception {
         // Should be six cards
@@ -127,6 +143,39 @@ public class DeckTest {
         assertEquals(this.packTwo, this.deck.getCardPacks().get(0));
     }
 
+    @Test
+    public void testReplaceCardPack() throws Exception {
+        // Make a new version of the first pack, dropping one white card and adding another
+        final CardPack updated = CardHelper.makeCardPack(
+            "Pack 1",
+            Arrays.asList(
+                "The first pack",
+                "Eating the first pack",
+                "Reloading the first pack"
+            ),
+            Arrays.asList(
+                "What is great? _",
+                "Who is great? _"
+            )
+        );
+        final CardPackDiff diff = CardPackDiff.between(this.packOne, updated);
+        // One white card should have been added and one removed
+        assertSame(1, diff.getAddedWhiteCards().size());
+        assertSame(1, diff.getRemovedWhiteCards().size());
+        assertTrue(diff.getAddedBlackCards().isEmpty());
+        // Swap the new version in
+        assertTrue(this.deck.replaceCardPack(this.packOne, updated, diff));
+        // The deck should hold the new version in the same place
+        assertSame(updated, this.deck.getCardPacks().get(0));
+        // The draw pile should have the added card and not the removed one
+        final List<String> drawn = Lists.newArrayList();
+        while (this.deck.getUnusedWhiteCardCount() > 0) {
+            drawn.add(this.deck.getRandomWhiteCard(null).getText());
+        }
+        assertTrue(drawn.contains("Reloading the first pack"));
+        assertFalse(drawn.contains("Loving the first pack"));
+    }
+
     @Test
     public void testRepopulateBlackCards() throws Exception {
         // Get the original amount of unused black cards
@@ -188,4 +237,29 @@ public class DeckTest {
         // Should be the same card that we kept before
         assertEquals(keep, this.deck.getRandomWhiteCard(null));
     }
+
+    @Test
+    public void testRepopulateWhiteCardsManyHands() throws Exception {
+        // Deal two cards to each of two hands
+        final List<Hand> hands = Lists.newArrayList();
+        for (int i = 0; i < 2; i++) {
+            final Hand<WhiteCard> hand = new Hand<>();
+            hand.addCard(this.deck.getRandomWhiteCard(null));
+            hand.addCard(this.deck.getRandomWhiteCard(null));
+            hands.add(hand);
+        }
+        // Clear out the rest of the white cards and repopulate
+        while (this.deck.getUnusedWhiteCardCount() > 0) {
+            this.deck.getRandomWhiteCard(null);
+        }
+        this.deck.repopulateWhiteCards(hands);
+        // Only the cards in no hand should be back
+        assertSame(this.deck.getWhiteCardCount() - 4, this.deck.getUnusedWhiteCardCount());
+        while (this.deck.getUnusedWhiteCardCount() > 0) {
+            final WhiteCard wc = this.deck.getRandomWhiteCard(null);
+            for (final Hand hand : hands) {
+                assertFalse(hand.getCards().contains(wc));
+            }
+        }
+    }
 }
@@ -0,0 +1,76 @@
+package org.royaldev.thehumanity.cards;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.CardHelper;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class DrawPileTest {
+
+    private DrawPile<WhiteCard> pile;
+    private List<WhiteCard> cards;
+
+    @Before
+    public void setUp() throws Exception {
+        this.pile = new DrawPile<>(new Random(44L));
+        this.cards = CardHelper.makeWhiteCards("Kenzie", "jkcclemens", "Zarthus", "lol768", "squidicuz");
+        this.pile.addAll(this.cards);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.pile = null;
+        this.cards = null;
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        // Clear the pile
+        this.pile.clear();
+        // Nothing should be left
+        assertTrue(this.pile.isEmpty());
+        assertEquals(0, this.pile.size());
+    }
+
+    @Test
+    public void testDraw() throws Exception {
+        final Set<WhiteCard> drawn = new HashSet<>();
+        // Draw every card in the pile
+        for (int i = this.cards.size(); i > 0; i--) {
+            final WhiteCard wc = this.pile.draw();
+            // Every card drawn should have been added
+            assertTrue(this.cards.contains(wc));
+            // No card should be drawn twice
+            assertTrue(drawn.add(wc));
+            // The pile should shrink by one each time
+            assertSame(i - 1, this.pile.size());
+        }
+        // An empty pile draws nothing
+        assertNull(this.pile.draw());
+    }
+
+    @Test
+    public void testRemoveIf() throws Exception {
+        // Remove one card
+        final WhiteCard removed = this.cards.get(2);
+        assertTrue(this.pile.removeIf(removed::equals));
+        // There should be one less card
+        assertSame(this.cards.size() - 1, this.pile.size());
+        // The removed card should never be drawn
+        while (!this.pile.isEmpty()) {
+            final WhiteCard wc = this.pile.draw();
+            assertTrue(!removed.equals(wc));
+        }
+    }
+}
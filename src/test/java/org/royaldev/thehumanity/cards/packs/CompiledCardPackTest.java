@@ -0,0 +1,101 @@
+package org.royaldev.thehumanity.cards.packs;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.royaldev.thehumanity.CardHelper;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class CompiledCardPackTest {
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void testCompile() throws Exception {
+        // Make a pack with metadata and some cards
+        final CardPack cp = CardHelper.makeCardPack("Compiled", Arrays.asList("\u00dcn\u00efc\u00f6d\u00e9", "Escaped \\#1"), Arrays.asList("Why _?", "_ and _."));
+        cp.setDescription("A compiled pack");
+        // Compile and open it again
+        final File f = this.folder.newFile("Compiled.cards" + CompiledCardPack.EXTENSION);
+        CompiledCardPack.compile(cp, f, new byte[0], 0L);
+        final CardPack compiled = CompiledCardPack.open(f);
+        // The metadata should match
+        assertEquals(cp.getName(), compiled.getName());
+        assertEquals(cp.getDescription(), compiled.getDescription());
+        assertNull(compiled.getAuthor());
+        // The cards should match
+        assertEquals(cp.getBlackCards(), compiled.getBlackCards());
+        assertEquals(cp.getWhiteCards(), compiled.getWhiteCards());
+        assertSame(2, compiled.getBlackCards().get(1).getBlanks());
+    }
+
+    @Test
+    public void testGetWhiteCards() throws Exception {
+        // Compile a pack
+        final File f = this.folder.newFile("Lazy.cards" + CompiledCardPack.EXTENSION);
+        CompiledCardPack.compile(CardHelper.makeCardPack("Lazy", Arrays.asList("One", "Two"), Arrays.asList()), f, new byte[0], 0L);
+        final CardPack compiled = CompiledCardPack.open(f);
+        // The same card should be given for the same index every time
+        final WhiteCard wc = compiled.getWhiteCards().get(0);
+        assertSame(wc, compiled.getWhiteCards().get(0));
+        // The card should belong to the compiled pack
+        assertSame(compiled, wc.getCardPack());
+    }
+
+    @Test
+    public void testIsCompiledFrom() throws Exception {
+        final byte[] source = "___\nOne\nTwo\n".getBytes(StandardCharsets.UTF_8);
+        final File f = this.folder.newFile("Source.cards" + CompiledCardPack.EXTENSION);
+        CompiledCardPack.compile(CardHelper.makeCardPack("Source", Arrays.asList("One", "Two"), Arrays.asList()), f, source, 0L);
+        final CompiledCardPack compiled = CompiledCardPack.open(f);
+        // The pack should be up to date with what it was compiled from
+        assertTrue(compiled.isCompiledFrom(source.clone()));
+        // A change of the same size should be noticed, as well as a change in size
+        assertFalse(compiled.isCompiledFrom("___\nOne\nTwn\n".getBytes(StandardCharsets.UTF_8)));
+        assertFalse(compiled.isCompiledFrom("___\nOne\nTwo\nThree\n".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    public void testIsStampedWith() throws Exception {
+        final byte[] source = "___\nOne\nTwo\n".getBytes(StandardCharsets.UTF_8);
+        final File f = this.folder.newFile("Stamped.cards" + CompiledCardPack.EXTENSION);
+        CompiledCardPack.compile(CardHelper.makeCardPack("Stamped", Arrays.asList("One", "Two"), Arrays.asList()), f, source, 1000L);
+        final CompiledCardPack compiled = CompiledCardPack.open(f);
+        // The stamp should match only the same size and time
+        assertTrue(compiled.isStampedWith(source.length, 1000L));
+        assertFalse(compiled.isStampedWith(source.length, 2000L));
+        assertFalse(compiled.isStampedWith(source.length + 1, 1000L));
+    }
+
+    @Test
+    public void testRestamp() throws Exception {
+        final byte[] source = "___\nOne\nTwo\n".getBytes(StandardCharsets.UTF_8);
+        final File f = this.folder.newFile("Restamped.cards" + CompiledCardPack.EXTENSION);
+        CompiledCardPack.compile(CardHelper.makeCardPack("Restamped", Arrays.asList("One", "Two"), Arrays.asList()), f, source, 1000L);
+        CompiledCardPack.restamp(f, 2000L);
+        final CompiledCardPack compiled = CompiledCardPack.open(f);
+        // Only the time should have changed
+        assertTrue(compiled.isStampedWith(source.length, 2000L));
+        assertTrue(compiled.isCompiledFrom(source));
+        assertEquals(Arrays.asList("One", "Two"), compiled.getWhiteCards().stream().map(WhiteCard::getRawText).collect(Collectors.toList()));
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenInvalid() throws Exception {
+        // A file that isn't a compiled pack should not open
+        CompiledCardPack.open(this.folder.newFile("Invalid" + CompiledCardPack.EXTENSION));
+    }
+}
@@ -57,6 +57,23 @@ public class MemoryCardPackTest {
         this.cp.addCard(CardHelper.makeWhiteCard(new MemoryCardPack("Not the same pack"), "Some card"));
     }
 
+    @Test
+    public void testFreeze() throws Exception {
+        // Add a card, then freeze the pack
+        this.cp.addCard(CardHelper.makeWhiteCard(this.cp, "Ice"));
+        this.cp.freeze();
+        // The count should match the cards
+        assertSame(1, this.cp.whiteCount());
+        assertSame(0, this.cp.blackCount());
+        // The same list should be given every time now
+        assertSame(this.cp.getWhiteCards(), this.cp.getWhiteCards());
+        // Expect an IllegalStateException
+        this.thrown.expect(IllegalStateException.class);
+        this.thrown.expectMessage("Cards cannot be added to a frozen CardPack");
+        // Try adding a card after freezing. Should throw an exception
+        this.cp.addCard(CardHelper.makeWhiteCard(this.cp, "Fire"));
+    }
+
     @Test
     public void testAuthor() throws Exception {
         // There is no author, so this should return null
@@ -40,9 +40,40 @@ public class BlackCardTest {
         );
     }
 
+    @Test
+    public void testFillInBlanksEscaped() throws Exception {
+        final BlackCard escaped = new BlackCard(mock(MemoryCardPack.class), "Type \\_ for _.");
+        // Only the unescaped underscore is a blank, and the escaped one should be shown without its backslash
+        assertSame(1, escaped.getBlanks());
+        assertEquals(
+            "Type _ for " + IRCFormat.BOLD + "Dave" + IRCFormat.RESET + ".",
+            escaped.fillInBlanks(new Play(mock(Player.class), CardHelper.makeWhiteCards("Dave"), new int[]{1}))
+        );
+    }
+
+    @Test
+    public void testFillInBlanksTooFewCards() throws Exception {
+        // Blanks without a white card should be left as they are
+        assertEquals(
+            "Who are the guys? " + IRCFormat.BOLD + "Dave" + IRCFormat.RESET + " _",
+            this.twoBlanks.fillInBlanks(new Play(mock(Player.class), CardHelper.makeWhiteCards("Dave"), new int[]{1}))
+        );
+    }
+
+    @Test
+    public void testFillInBlanksUnderscoreInWhiteCard() throws Exception {
+        // An underscore on the first white card should not be taken for the second blank
+        assertEquals(
+            "Who are the guys? " + IRCFormat.BOLD + "snake_case" + IRCFormat.RESET + " " + IRCFormat.BOLD + "Mike" + IRCFormat.RESET,
+            this.twoBlanks.fillInBlanks(new Play(mock(Player.class), CardHelper.makeWhiteCards("snake_case", "Mike"), new int[]{1, 2}))
+        );
+    }
+
     @Test
     public void testGetBlanks() throws Exception {
+        assertSame(0, new BlackCard(mock(MemoryCardPack.class), "Nobody is the guy.").getBlanks());
         assertSame(1, this.oneBlank.getBlanks());
         assertSame(2, this.twoBlanks.getBlanks());
+        assertSame(3, new BlackCard(mock(MemoryCardPack.class), "_ + _ = _.").getBlanks());
     }
 }
@@ -0,0 +1,91 @@
+package org.royaldev.thehumanity.game;
+
+import org.jetbrains.annotations.NotNull;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.util.HashedWheelTimer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class GameFeedTest {
+
+    private HashedWheelTimer timer;
+    private GameFeed feed;
+
+    @Before
+    public void setUp() throws Exception {
+        this.timer = new HashedWheelTimer("test-timer", 100L, TimeUnit.MILLISECONDS, 8, Logger.getLogger("test"));
+        this.feed = new GameFeed(this.timer, Logger.getLogger("test"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.timer.stop();
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        final FakeSubscriber s = new FakeSubscriber(10);
+        this.feed.subscribe(s);
+        this.feed.close();
+        // Subscribers should be closed with the feed
+        assertTrue(s.closed);
+        assertEquals(0, this.feed.getSubscriberCount());
+        // New subscribers should not be accepted
+        assertFalse(this.feed.subscribe(new FakeSubscriber(10)));
+    }
+
+    @Test
+    public void testEncode() throws Exception {
+        assertEquals("id: 3\nevent: stage\ndata: {\"number\":1}\n\n", new String(GameFeed.encode(3L, "stage", "{\"number\":1}"), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testPublish() throws Exception {
+        final FakeSubscriber fast = new FakeSubscriber(10);
+        final FakeSubscriber slow = new FakeSubscriber(1);
+        this.feed.subscribe(fast);
+        this.feed.subscribe(slow);
+        this.feed.publish("status", Collections.singletonMap("status", "JOINING"));
+        this.feed.publish("status", Collections.singletonMap("status", "PLAYING"));
+        // Every subscriber that keeps up should get every event
+        assertEquals(2, fast.frames.size());
+        assertEquals("id: 2\nevent: status\ndata: {\"status\":\"PLAYING\"}\n\n", new String(fast.frames.get(1), StandardCharsets.UTF_8));
+        // A subscriber that cannot keep up should be dropped
+        assertEquals(1, slow.frames.size());
+        assertEquals(1, this.feed.getSubscriberCount());
+    }
+
+    private static class FakeSubscriber implements GameFeed.Subscriber {
+
+        private final List<byte[]> frames = new ArrayList<>();
+        private final int capacity;
+        private boolean closed;
+
+        private FakeSubscriber(final int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        public boolean offer(@NotNull final byte[] frame) {
+            if (this.frames.size() >= this.capacity) return false;
+            this.frames.add(frame);
+            return true;
+        }
+
+        @Override
+        public void close() {
+            this.closed = true;
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package org.royaldev.thehumanity.game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kitteh.irc.client.library.element.Channel;
+import org.kitteh.irc.client.library.element.User;
+import org.royaldev.thehumanity.TheHumanity;
+import org.royaldev.thehumanity.ping.WhoX;
+import org.royaldev.thehumanity.player.Player;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class GameRegistryTest {
+
+    private GameRegistry registry;
+    private Channel channel;
+    private Game game;
+
+    private Player makePlayer(final String nick) {
+        final User u = mock(User.class);
+        when(u.getNick()).thenReturn(nick);
+        return new Player(u);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        final TheHumanity humanity = mock(TheHumanity.class);
+        when(humanity.getWhoX()).thenReturn(mock(WhoX.class));
+        this.registry = new GameRegistry(humanity);
+        this.channel = mock(Channel.class);
+        this.game = mock(Game.class);
+        when(this.game.getChannel()).thenReturn(this.channel);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.registry = null;
+        this.channel = null;
+        this.game = null;
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        // The first game in a channel should be added
+        assertTrue(this.registry.add(this.channel, this.game));
+        // A second game in the same channel should not
+        assertFalse(this.registry.add(this.channel, mock(Game.class)));
+        // The first game should still be there
+        assertSame(this.game, this.registry.get(this.channel));
+    }
+
+    @Test
+    public void testIndexPlayer() throws Exception {
+        // Add a game and a player to it
+        this.registry.add(this.channel, this.game);
+        this.registry.indexPlayer(this.game, this.makePlayer("Dave"));
+        // The player should be found regardless of case
+        assertSame(this.game, this.registry.getGameForNick("dave"));
+        // Other nicks should not be found
+        assertNull(this.registry.getGameForNick("Mike"));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        // Add a game and a player to it
+        this.registry.add(this.channel, this.game);
+        this.registry.indexPlayer(this.game, this.makePlayer("Dave"));
+        // Remove the game
+        this.registry.remove(this.game);
+        // Neither the game nor the player should be found
+        assertNull(this.registry.get(this.channel));
+        assertNull(this.registry.getGameForNick("Dave"));
+    }
+
+    @Test
+    public void testRenamePlayer() throws Exception {
+        // Index a player, then change its nick
+        this.registry.indexPlayer(this.game, this.makePlayer("Dave"));
+        this.registry.renamePlayer("Dave", "Mike");
+        // Only the new nick should be found
+        assertNull(this.registry.getGameForNick("Dave"));
+        assertSame(this.game, this.registry.getGameForNick("Mike"));
+    }
+
+    @Test
+    public void testUnindexPlayer() throws Exception {
+        // Index a player, then remove it
+        final Player p = this.makePlayer("Dave");
+        this.registry.indexPlayer(this.game, p);
+        this.registry.unindexPlayer(this.game, p);
+        // The player should not be found
+        assertNull(this.registry.getGameForNick("Dave"));
+    }
+}
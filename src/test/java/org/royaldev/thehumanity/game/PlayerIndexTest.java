@@ -0,0 +1,90 @@
+package org.royaldev.thehumanity.game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kitteh.irc.client.library.element.User;
+import org.royaldev.thehumanity.player.Player;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class PlayerIndexTest {
+
+    private PlayerIndex index;
+
+    private User makeUser(final String nick) {
+        final User u = mock(User.class);
+        when(u.getNick()).thenReturn(nick);
+        return u;
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.index = new PlayerIndex();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.index = null;
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        final Player p = new Player(this.makeUser("Dave[m]"));
+        this.index.add(p, "DaveAccount");
+        // The player should be found by nick regardless of IRC case
+        assertSame(p, this.index.get("dave{m}"));
+        assertSame(p, this.index.getHistoric("DAVE[M]"));
+        // The player should be found by account
+        assertSame(p, this.index.getByAccount("daveaccount"));
+        // Other nicks should not be found
+        assertNull(this.index.get("Mike"));
+    }
+
+    @Test
+    public void testRemove() throws Exception {
+        final Player p = new Player(this.makeUser("Dave"));
+        this.index.add(p, null);
+        // The first remove should find the player, and the second should not
+        assertTrue(this.index.remove(p));
+        assertFalse(this.index.remove(p));
+        // The player should no longer be current, but should still be historic
+        assertNull(this.index.get("Dave"));
+        assertSame(p, this.index.getHistoric("Dave"));
+    }
+
+    @Test
+    public void testRename() throws Exception {
+        final Player p = new Player(this.makeUser("Dave"));
+        this.index.add(p, null);
+        // Change the player's nick, then rename it in the index
+        p.setUser(this.makeUser("Mike"));
+        this.index.rename("Dave", p);
+        // Only the new nick should be found
+        assertNull(this.index.get("Dave"));
+        assertSame(p, this.index.get("Mike"));
+        assertSame(p, this.index.getHistoric("Mike"));
+    }
+
+    @Test
+    public void testSlots() throws Exception {
+        final Player dave = new Player(this.makeUser("Dave"));
+        final Player mike = new Player(this.makeUser("Mike"));
+        this.index.add(dave, null);
+        this.index.addHistoric(mike);
+        // Slots should be given out in order
+        assertEquals(0, dave.getSlot());
+        assertEquals(1, mike.getSlot());
+        // A player that rejoins should keep its slot
+        this.index.remove(dave);
+        this.index.add(dave, null);
+        assertEquals(0, dave.getSlot());
+        assertEquals(2, this.index.getSlotCount());
+    }
+}
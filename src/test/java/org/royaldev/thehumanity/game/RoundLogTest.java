@@ -0,0 +1,87 @@
+package org.royaldev.thehumanity.game;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class RoundLogTest {
+
+    private File directory;
+    private RoundLog log;
+
+    private RoundSnapshot makeRound(final int number) {
+        return new RoundSnapshot(number, 0L, 0L, "Black card " + number, "Dave", null, "CZAR_CHOSE_WINNER", Collections.emptyList(), Collections.emptySet(), Collections.emptySet(), Collections.emptyMap(), Collections.emptyMap());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.directory = Files.createTempDirectory("rounds").toFile();
+        this.log = new RoundLog(this.directory, 2, Logger.getAnonymousLogger());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.log.close();
+        this.log = null;
+        RoundLog.clearStale(this.directory, Logger.getAnonymousLogger());
+        this.directory.delete();
+        this.directory = null;
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        this.log.add(this.makeRound(1));
+        this.log.add(this.makeRound(2));
+        // Rounds inside the window should stay in memory
+        assertEquals(0, this.log.getSpilled());
+        assertNull(this.log.getFile());
+        for (int i = 3; i <= 5; i++) this.log.add(this.makeRound(i));
+        // Older rounds should be written out, but still readable in order
+        assertEquals(3, this.log.getSpilled());
+        assertEquals(5, this.log.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1, this.log.get(i).getNumber());
+            assertEquals("Black card " + (i + 1), this.log.get(i).getBlackCard());
+        }
+    }
+
+    @Test
+    public void testClose() throws Exception {
+        for (int i = 1; i <= 3; i++) this.log.add(this.makeRound(i));
+        final File file = this.log.getFile();
+        assertNotNull(file);
+        this.log.close();
+        // The file should be deleted, and rounds in memory should still be readable
+        assertFalse(file.exists());
+        assertEquals(3, this.log.get(2).getNumber());
+    }
+
+    @Test
+    public void testClearStale() throws Exception {
+        for (int i = 1; i <= 3; i++) this.log.add(this.makeRound(i));
+        // The file should be in the log's own directory
+        assertEquals(this.directory, this.log.getFile().getParentFile());
+        this.log.close();
+        // Leave files behind, as a bot that was killed would
+        final File stale = File.createTempFile("thehumanity-rounds-", ".log", this.directory);
+        final File other = new File(this.directory, "other.log");
+        assertTrue(other.createNewFile());
+        // Only round logs should be cleared
+        assertEquals(1, RoundLog.clearStale(this.directory, Logger.getAnonymousLogger()));
+        assertFalse(stale.exists());
+        assertTrue(other.exists());
+        assertTrue(other.delete());
+    }
+}
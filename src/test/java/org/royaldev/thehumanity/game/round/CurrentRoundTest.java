@@ -0,0 +1,185 @@
+package org.royaldev.thehumanity.game.round;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kitteh.irc.client.library.element.User;
+import org.royaldev.thehumanity.CardHelper;
+import org.royaldev.thehumanity.cards.play.Play;
+import org.royaldev.thehumanity.game.Game;
+import org.royaldev.thehumanity.game.round.Round.RoundStage;
+import org.royaldev.thehumanity.player.Player;
+
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class CurrentRoundTest {
+
+    private Game game;
+    private CurrentRound round;
+    private Player czar, a, b, c, d;
+    private int players;
+
+    private Player makePlayer(final String nick, final int slot) {
+        final User u = mock(User.class);
+        when(u.getNick()).thenReturn(nick);
+        final Player p = new Player(u);
+        p.setSlot(slot);
+        when(this.game.hasPlayer(p)).thenReturn(true);
+        return p;
+    }
+
+    private void leave(final Player p) {
+        when(this.game.hasPlayer(p)).thenReturn(false);
+        when(this.game.getPlayerCount()).thenReturn(--this.players);
+        this.round.playerLeft(p);
+    }
+
+    private void play(final Player p) {
+        this.round.addPlay(new Play(p, Collections.emptyList()));
+    }
+
+    private void rejoin(final Player p) {
+        when(this.game.hasPlayer(p)).thenReturn(true);
+        when(this.game.getPlayerCount()).thenReturn(++this.players);
+        this.round.playerRejoined(p);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        // No house rules, and too few players for stages to do anything but change
+        this.game = mock(Game.class);
+        this.czar = this.makePlayer("jkcclemens", 0);
+        this.a = this.makePlayer("Ribbit", 1);
+        this.b = this.makePlayer("Dave", 2);
+        this.c = this.makePlayer("Mike", 3);
+        this.d = this.makePlayer("Joe", 4);
+        this.players = 5;
+        when(this.game.getPlayerCount()).thenReturn(this.players);
+        this.round = new CurrentRound(this.game, 1, CardHelper.makeBlackCard("Who is the guy? _"), this.czar);
+        this.round.advanceStage();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.game = null;
+        this.round = null;
+    }
+
+    @Test
+    public void testLeaveAfterPlaying() throws Exception {
+        this.play(this.a);
+        this.leave(this.a);
+        // The play should still be known, but no longer counted
+        assertTrue(this.round.hasPlayed(this.a));
+        this.play(this.b);
+        this.play(this.c);
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        // Everyone still in the game has played
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testLeaveBeforePlaying() throws Exception {
+        this.leave(this.a);
+        this.play(this.b);
+        this.play(this.c);
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        // The player that left should not be waited for
+        assertFalse(this.round.hasPlayed(this.a));
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testRejoinAfterPlaying() throws Exception {
+        this.play(this.a);
+        this.leave(this.a);
+        this.play(this.b);
+        this.play(this.c);
+        this.rejoin(this.a);
+        // The play should be counted again, and the last player still waited for
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testRejoinBeforePlaying() throws Exception {
+        this.leave(this.a);
+        this.play(this.b);
+        this.play(this.c);
+        this.rejoin(this.a);
+        this.play(this.d);
+        // The player is back, so the round should wait for them
+        assertFalse(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_PLAYERS, this.round.getCurrentStage());
+        this.play(this.a);
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testLeaveAfterSkip() throws Exception {
+        assertTrue(this.round.skip(this.a));
+        this.leave(this.a);
+        // The skip should still be known, but no longer counted
+        assertTrue(this.round.isSkipped(this.a));
+        this.play(this.b);
+        this.play(this.c);
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testRejoinAfterSkip() throws Exception {
+        assertTrue(this.round.skip(this.a));
+        this.leave(this.a);
+        this.play(this.b);
+        this.rejoin(this.a);
+        this.play(this.c);
+        // The skip should be counted again, so only one more play is needed
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testSkipAfterLeave() throws Exception {
+        assertTrue(this.round.skip(this.a));
+        assertTrue(this.round.skip(this.b));
+        this.leave(this.a);
+        // The skip that left no longer counts, so another player may be skipped
+        assertTrue(this.round.skip(this.c));
+        assertFalse(this.round.hasAllPlaysMade());
+        this.play(this.d);
+        assertTrue(this.round.hasAllPlaysMade());
+        assertEquals(RoundStage.WAITING_FOR_CZAR, this.round.getCurrentStage());
+    }
+
+    @Test
+    public void testSkipAfterRejoin() throws Exception {
+        assertTrue(this.round.skip(this.a));
+        assertTrue(this.round.skip(this.b));
+        assertTrue(this.round.skip(this.c));
+        // Skipping a fourth would leave too few players
+        assertFalse(this.round.skip(this.d));
+        this.leave(this.a);
+        this.rejoin(this.a);
+        // The skip of the player that came back should count again
+        assertFalse(this.round.skip(this.d));
+        assertFalse(this.round.isSkipped(this.d));
+    }
+}
@@ -0,0 +1,51 @@
+package org.royaldev.thehumanity.game.round;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class VoteTallyTest {
+
+    @Test
+    public void testAddVote() throws Exception {
+        final VoteTally vt = new VoteTally(3);
+        // There should be no leader before any votes
+        assertEquals(-1, vt.getLeader());
+        vt.addVote(2);
+        vt.addVote(1);
+        vt.addVote(1);
+        // The play with the most votes should lead
+        assertEquals(1, vt.getLeader());
+        assertEquals(2, vt.getLeaderCount());
+        assertEquals(3, vt.getTotal());
+        assertArrayEquals(new int[]{0, 2, 1}, vt.getCounts());
+    }
+
+    @Test
+    public void testIsDecided() throws Exception {
+        final VoteTally vt = new VoteTally(3);
+        vt.addVote(0);
+        vt.addVote(0);
+        vt.addVote(1);
+        // Two remaining votes could still pass the leader, but one could not
+        assertFalse(vt.isDecided(2));
+        assertTrue(vt.isDecided(1));
+        // With no votes, nothing is decided
+        assertFalse(new VoteTally(3).isDecided(0));
+    }
+
+    @Test
+    public void testTieBreak() throws Exception {
+        final VoteTally vt = new VoteTally(2);
+        vt.addVote(1);
+        vt.addVote(0);
+        // The play that reached the tied count first should keep the lead
+        assertEquals(1, vt.getLeader());
+        vt.addVote(0);
+        // Passing the leader should take the lead
+        assertEquals(0, vt.getLeader());
+    }
+}
@@ -0,0 +1,132 @@
+package org.royaldev.thehumanity.history;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.game.GameSnapshot;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class HistoryWriterTest {
+
+    private final GameSnapshot snapshot = new GameSnapshot("#cah", "END", 0L, 0L, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), Collections.emptyMap(), "Dave", 0);
+    private SegmentStore store;
+    private HistoryWriter writer;
+
+    @Before
+    public void setUp() throws Exception {
+        this.store = new SegmentStore(Files.createTempDirectory("history").toFile());
+        this.writer = new HistoryWriter(channel -> this.store, (channel, number, snapshot) -> {}, Logger.getAnonymousLogger());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.writer.stop();
+        this.writer = null;
+        this.store.close();
+        this.store = null;
+    }
+
+    @Test
+    public void testGiveUp() throws Exception {
+        this.writer.stop();
+        this.writer = new HistoryWriter(channel -> {
+            throw new UncheckedIOException(new IOException("disk is full"));
+        }, (channel, number, snapshot) -> {}, Logger.getAnonymousLogger());
+        final byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        this.writer.submit("#cah", 1, this.snapshot, data);
+        // The game should be given up on after every attempt failed
+        assertTrue(this.writer.awaitEmpty(10L, TimeUnit.SECONDS));
+        assertEquals(1L, this.writer.getFailed());
+        assertEquals(0L, this.writer.getWritten());
+        // It should still be readable
+        assertNotNull(this.writer.getPending("#cah", 1));
+    }
+
+    @Test
+    public void testRetry() throws Exception {
+        this.writer.stop();
+        final AtomicInteger failures = new AtomicInteger(2);
+        final List<Integer> committed = new CopyOnWriteArrayList<>();
+        this.writer = new HistoryWriter(channel -> {
+            if (failures.getAndDecrement() > 0) throw new UncheckedIOException(new IOException("try again"));
+            return this.store;
+        }, (channel, number, snapshot) -> committed.add(number), Logger.getAnonymousLogger());
+        final byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        this.writer.submit("#cah", 1, this.snapshot, data);
+        this.writer.submit("#cah", 2, this.snapshot, data);
+        // Both games should be written once the failures stop
+        assertTrue(this.writer.awaitEmpty(10L, TimeUnit.SECONDS));
+        assertEquals(2L, this.writer.getWritten());
+        assertEquals(0L, this.writer.getFailed());
+        assertArrayEquals(data, this.store.read(1));
+        assertArrayEquals(data, this.store.read(2));
+        // The game after the failed one should have waited behind it
+        assertEquals(Arrays.asList(1, 2), committed);
+    }
+
+    @Test
+    public void testRetryFlush() throws Exception {
+        this.writer.stop();
+        this.store.close();
+        final AtomicInteger failures = new AtomicInteger(2);
+        this.store = new SegmentStore(Files.createTempDirectory("history").toFile()) {
+            @Override
+            public synchronized void force() throws IOException {
+                if (failures.getAndDecrement() > 0) throw new IOException("try again");
+                super.force();
+            }
+        };
+        final List<Integer> committed = new CopyOnWriteArrayList<>();
+        this.writer = new HistoryWriter(channel -> this.store, (channel, number, snapshot) -> committed.add(number), Logger.getAnonymousLogger());
+        final byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        this.writer.submit("#cah", 1, this.snapshot, data);
+        // The game should not count as written until its store has been flushed
+        assertTrue(this.writer.awaitEmpty(10L, TimeUnit.SECONDS));
+        assertEquals(1L, this.writer.getWritten());
+        assertEquals(0L, this.writer.getFailed());
+        assertTrue(failures.get() < 0);
+        assertNull(this.writer.getPending("#cah", 1));
+        assertArrayEquals(data, this.store.read(1));
+        // The listener should only have been told once, after the flush that worked
+        assertEquals(Arrays.asList(1), committed);
+    }
+
+    @Test
+    public void testStop() throws Exception {
+        final byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        this.writer.submit("#cah", 1, this.snapshot, data);
+        this.writer.stop();
+        // Stopping should wait for queued games to be written
+        assertEquals(0, this.writer.getQueueDepth());
+        assertArrayEquals(data, this.store.read(1));
+    }
+
+    @Test
+    public void testSubmit() throws Exception {
+        final byte[] data = "{}".getBytes(StandardCharsets.UTF_8);
+        this.writer.submit("#cah", 1, this.snapshot, data);
+        // The writer should empty its queue and save the game
+        assertTrue(this.writer.awaitEmpty(10L, TimeUnit.SECONDS));
+        assertEquals(0, this.writer.getQueueDepth());
+        assertNull(this.writer.getPending("#cah", 1));
+        assertArrayEquals(data, this.store.read(1));
+        assertEquals(1L, this.writer.getWritten());
+    }
+}
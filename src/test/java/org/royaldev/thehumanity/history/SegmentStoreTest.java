@@ -0,0 +1,116 @@
+package org.royaldev.thehumanity.history;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SegmentStoreTest {
+
+    private File folder;
+    private SegmentStore store;
+
+    private byte[] bytes(final String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.folder = Files.createTempDirectory("segments").toFile();
+        this.store = new SegmentStore(this.folder);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.store.close();
+        this.store = null;
+    }
+
+    @Test
+    public void testAppend() throws Exception {
+        this.store.append(1, this.bytes("one"));
+        this.store.append(3, this.bytes("three"));
+        // Stored games should be found by number, and gaps should be empty
+        assertArrayEquals(this.bytes("one"), this.store.read(1));
+        assertArrayEquals(this.bytes("three"), this.store.read(3));
+        assertNull(this.store.read(2));
+        assertFalse(this.store.contains(2));
+        assertArrayEquals(new int[]{1, 3}, this.store.getNumbers());
+        assertEquals(3, this.store.getLastNumber());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAppendTooFar() throws Exception {
+        this.store.append(1, this.bytes("one"));
+        // A number far past the last game should be refused, rather than growing the index to fit it
+        this.store.append(SegmentStore.MAX_NUMBER_GAP + 2, this.bytes("far"));
+    }
+
+    @Test
+    public void testRecover() throws Exception {
+        this.store.append(1, this.bytes("one"));
+        this.store.append(2, this.bytes("two"));
+        this.store.force();
+        this.store.close();
+        // Lose the index entry of the second game and leave half a record behind
+        try (final RandomAccessFile index = new RandomAccessFile(new File(this.folder, "index.dat"), "rw")) {
+            index.setLength(16L);
+        }
+        try (final RandomAccessFile segment = new RandomAccessFile(new File(this.folder, "segment-0.dat"), "rw")) {
+            segment.seek(segment.length());
+            segment.writeInt(3);
+            segment.writeInt(100);
+        }
+        this.store = new SegmentStore(this.folder);
+        // The second game should be found again, and the partial record cut off
+        assertArrayEquals(this.bytes("two"), this.store.read(2));
+        assertFalse(this.store.contains(3));
+        this.store.append(3, this.bytes("three"));
+        assertArrayEquals(this.bytes("three"), this.store.read(3));
+    }
+
+    @Test
+    public void testRecoverTornNumber() throws Exception {
+        this.store.append(1, this.bytes("one"));
+        this.store.force();
+        this.store.close();
+        // Leave a whole record behind whose number is garbage
+        try (final RandomAccessFile segment = new RandomAccessFile(new File(this.folder, "segment-0.dat"), "rw")) {
+            segment.seek(segment.length());
+            segment.writeInt(Integer.MAX_VALUE);
+            segment.writeInt(3);
+            segment.write(this.bytes("bad"));
+        }
+        this.store = new SegmentStore(this.folder);
+        // The record should be cut off instead of being indexed
+        assertEquals(1, this.store.getLastNumber());
+        assertEquals(1, this.store.getCount());
+        this.store.append(2, this.bytes("two"));
+        assertArrayEquals(this.bytes("two"), this.store.read(2));
+    }
+
+    @Test
+    public void testScan() throws Exception {
+        for (int i = 1; i <= 5; i++) this.store.append(i, this.bytes("game " + i));
+        final List<Integer> numbers = new ArrayList<>();
+        this.store.scan(2, 4, (data, number) -> {
+            assertEquals("game " + number, new String(data, StandardCharsets.UTF_8));
+            numbers.add(number);
+        });
+        // Only the games in the range should be read, in order
+        assertEquals(3, numbers.size());
+        assertTrue(numbers.get(0) == 2 && numbers.get(2) == 4);
+    }
+}
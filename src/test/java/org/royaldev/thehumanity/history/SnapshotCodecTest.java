@@ -0,0 +1,69 @@
+package org.royaldev.thehumanity.history;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import org.junit.Test;
+import org.royaldev.thehumanity.cards.play.PlaySnapshot;
+import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.game.round.RoundSnapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class SnapshotCodecTest {
+
+    private GameSnapshot makeGame(final int roundCount) {
+        final List<RoundSnapshot> rounds = new ArrayList<>();
+        for (int i = 1; i <= roundCount; i++) {
+            rounds.add(new RoundSnapshot(
+                i,
+                1000L * i,
+                1000L * i + 500L,
+                "Black card " + i % 10 + " _.",
+                "jkcclemens",
+                i % 3 == 0 ? null : "Ribbit",
+                "WINNER",
+                Collections.singletonList(new PlaySnapshot("Ribbit", new int[]{2}, Collections.singletonList("White card " + i % 7))),
+                ImmutableSet.of("jkcclemens", "Ribbit"),
+                Collections.emptySet(),
+                ImmutableMap.of("jkcclemens", 0, "Ribbit", 1),
+                null
+            ));
+        }
+        return new GameSnapshot("#cah", "END", 1000L, 99000L, Arrays.asList("jkcclemens", "Ribbit"), Arrays.asList("jkcclemens", "Ribbit"), Collections.singletonList("GOD_IS_DEAD"), Collections.singletonList("main"), rounds, ImmutableMap.of("jkcclemens", -1, "Ribbit", roundCount), "jkcclemens", roundCount);
+    }
+
+    @Test
+    public void testDecodeLegacy() throws Exception {
+        final GameSnapshot gs = this.makeGame(2);
+        final byte[] json = gs.toJSON().getBytes(StandardCharsets.UTF_8);
+        // JSON should not be mistaken for the binary form
+        assertFalse(SnapshotCodec.isBinary(json));
+        // Legacy JSON should still be read
+        final GameSnapshot decoded = SnapshotCodec.decode(json);
+        assertEquals(gs.getScores(), decoded.getScores());
+        assertEquals(2, decoded.getPreviousRounds().size());
+    }
+
+    @Test
+    public void testEncode() throws Exception {
+        final GameSnapshot gs = this.makeGame(100);
+        final byte[] data = SnapshotCodec.encode(gs);
+        assertTrue(SnapshotCodec.isBinary(data));
+        // The binary form should be far smaller than the JSON
+        assertTrue(data.length * 10 < gs.toJSON().getBytes(StandardCharsets.UTF_8).length);
+        final GameSnapshot decoded = SnapshotCodec.decode(data);
+        // Every field should survive the round trip
+        assertEquals(gs.toJSON(), decoded.toJSON());
+        assertNull(decoded.getPreviousRounds().get(2).getWinner());
+        assertEquals(-1, (int) decoded.getScores().get("jkcclemens"));
+    }
+}
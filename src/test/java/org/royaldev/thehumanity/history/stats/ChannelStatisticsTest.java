@@ -0,0 +1,58 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+import org.royaldev.thehumanity.game.GameSnapshot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.time.YearMonth;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ChannelStatisticsTest {
+
+    // June 2015, UTC
+    private static final long JUNE = 1433160000000L;
+
+    private GameSnapshot makeGame(final String winner, final String loser) {
+        return new GameSnapshot("#cah", "END", ChannelStatisticsTest.JUNE, ChannelStatisticsTest.JUNE, Arrays.asList(winner, loser), Arrays.asList(winner, loser), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ImmutableMap.of(winner, 3, loser, 1), winner, 0);
+    }
+
+    @Test
+    public void testAdd() throws Exception {
+        final ChannelStatistics cs = new ChannelStatistics();
+        // New games should be counted
+        assertTrue(cs.add(1, this.makeGame("jkcclemens", "Ribbit")));
+        assertTrue(cs.add(2, this.makeGame("jkcclemens", "Ribbit")));
+        // Games already counted should be skipped
+        assertFalse(cs.add(2, this.makeGame("Ribbit", "jkcclemens")));
+        assertEquals(2, cs.getGames(null));
+        assertEquals(2, cs.getLastNumber());
+        // Games should be counted in the month they ended
+        assertEquals(2, cs.getGames(YearMonth.of(2015, 6)));
+        assertEquals(0, cs.getGames(YearMonth.of(2015, 7)));
+        // The player with the most wins should lead
+        assertEquals("jkcclemens", cs.getTopPlayers(null, PlayerStatistics.BY_GAMES_WON, 1).get(0).getNick());
+        assertEquals(2, cs.getPlayer(null, "ribbit").getGamesPlayed());
+    }
+
+    @Test
+    public void testWrite() throws Exception {
+        final ChannelStatistics cs = new ChannelStatistics();
+        cs.add(1, this.makeGame("jkcclemens", "Ribbit"));
+        final ByteArrayOutputStream baos = new ByteArrayOutputStream();
+        cs.write(new DataOutputStream(baos));
+        final ChannelStatistics read = ChannelStatistics.read(new DataInputStream(new ByteArrayInputStream(baos.toByteArray())));
+        // Everything should survive the round trip
+        assertEquals(1, read.getLastNumber());
+        assertEquals(Collections.singletonList(YearMonth.of(2015, 6)), read.getMonths());
+        assertEquals(1, read.getPlayer(null, "jkcclemens").getGamesWon());
+    }
+}
@@ -0,0 +1,79 @@
+package org.royaldev.thehumanity.history.stats;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.game.GameSnapshot;
+import org.royaldev.thehumanity.history.SegmentStore;
+import org.royaldev.thehumanity.history.SnapshotCodec;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+public class StatisticsTest {
+
+    // June 2015, UTC
+    private static final long JUNE = 1433160000000L;
+    private File folder;
+    private SegmentStore store;
+
+    private byte[] makeGame(final String winner, final String loser) {
+        return SnapshotCodec.encode(this.makeSnapshot(winner, loser));
+    }
+
+    private GameSnapshot makeSnapshot(final String winner, final String loser) {
+        return new GameSnapshot("#cah", "END", StatisticsTest.JUNE, StatisticsTest.JUNE, Arrays.asList(winner, loser), Arrays.asList(winner, loser), Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), ImmutableMap.of(winner, 3, loser, 1), winner, 0);
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.folder = Files.createTempDirectory("statistics").toFile();
+        this.store = new SegmentStore(new File(this.folder, "store"));
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.store.close();
+        this.store = null;
+    }
+
+    @Test
+    public void testCatchUpSkipsCorrupt() throws Exception {
+        this.store.append(1, this.makeGame("jkcclemens", "Ribbit"));
+        this.store.append(2, "{not a game".getBytes(StandardCharsets.UTF_8));
+        this.store.append(3, this.makeGame("Ribbit", "jkcclemens"));
+        final Statistics statistics = new Statistics(channel -> this.folder, Logger.getAnonymousLogger());
+        statistics.catchUp("#cah", this.store);
+        final ChannelStatistics cs = statistics.getChannel("#cah");
+        assertNotNull(cs);
+        // The corrupt game should be skipped, and the games around it counted
+        assertEquals(2, cs.getGames(null));
+        assertEquals(3, cs.getLastNumber());
+        // The counts should have been saved
+        assertTrue(new File(this.folder, "stats.dat").exists());
+    }
+
+    @Test
+    public void testCommitted() throws Exception {
+        final Statistics statistics = new Statistics(channel -> this.folder, Logger.getAnonymousLogger());
+        statistics.committed("#CAH", 1, this.makeSnapshot("jkcclemens", "Ribbit"));
+        statistics.committed("#cah", 2, this.makeSnapshot("Ribbit", "jkcclemens"));
+        final ChannelStatistics cs = statistics.getChannel("#cah");
+        assertNotNull(cs);
+        // The snapshots should be counted as they are, without anything being read
+        assertEquals(2, cs.getGames(null));
+        assertEquals(2, cs.getLastNumber());
+        // The counts should be saved once the batch is done
+        statistics.batchCommitted();
+        assertTrue(new File(this.folder, "stats.dat").exists());
+    }
+}
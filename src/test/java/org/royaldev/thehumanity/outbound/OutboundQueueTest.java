@@ -0,0 +1,173 @@
+package org.royaldev.thehumanity.outbound;
+
+import com.google.common.base.Ticker;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kitteh.irc.client.library.Client;
+import org.mockito.InOrder;
+import org.royaldev.thehumanity.TheHumanity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.inOrder;
+import static org.powermock.api.mockito.PowerMockito.mock;
+import static org.powermock.api.mockito.PowerMockito.when;
+
+public class OutboundQueueTest {
+
+    private FakeTicker ticker;
+    private Client client;
+    private OutboundQueue queue;
+
+    @Before
+    public void setUp() throws Exception {
+        this.ticker = new FakeTicker();
+        this.client = mock(Client.class);
+        final TheHumanity humanity = mock(TheHumanity.class);
+        when(humanity.getBot()).thenReturn(this.client);
+        // A burst of two lines, then one line every half second
+        this.queue = new OutboundQueue(humanity, 2, 2D, this.ticker);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.ticker = null;
+        this.client = null;
+        this.queue = null;
+    }
+
+    @Test
+    public void testPacing() throws Exception {
+        for (int i = 0; i < 4; i++) this.queue.sendMessage("#cah", "line " + i, Priority.NORMAL);
+        // The burst should go out at once
+        assertTrue(this.queue.sendNext());
+        assertTrue(this.queue.sendNext());
+        assertFalse(this.queue.sendNext());
+        assertEquals(2, this.queue.getQueueDepth());
+        this.ticker.advance(250L, TimeUnit.MILLISECONDS);
+        // Half a token is not enough
+        assertFalse(this.queue.sendNext());
+        this.ticker.advance(250L, TimeUnit.MILLISECONDS);
+        assertTrue(this.queue.sendNext());
+        assertFalse(this.queue.sendNext());
+        this.ticker.advance(10L, TimeUnit.SECONDS);
+        assertTrue(this.queue.sendNext());
+        // An empty queue should not take a token
+        assertFalse(this.queue.sendNext());
+        assertEquals(4L, this.queue.getSentLines());
+        // The last line waited the longest
+        assertEquals(10500L, this.queue.getMaxLatency(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void testPacking() throws Exception {
+        this.queue.sendPackedMessages("#cah", Arrays.asList("1. Dave", "2. Mike"), Priority.CRITICAL);
+        this.queue.sendPackedMessages("#other", Collections.singletonList("3. Joe"), Priority.CRITICAL);
+        this.queue.sendMessage("#cah", "not packed", Priority.CRITICAL);
+        this.queue.sendPackedMessages("#cah", Collections.singletonList("4. Ribbit"), Priority.CRITICAL);
+        assertTrue(this.queue.sendNext());
+        assertTrue(this.queue.sendNext());
+        this.ticker.advance(1L, TimeUnit.SECONDS);
+        assertTrue(this.queue.sendNext());
+        assertTrue(this.queue.sendNext());
+        // Packable lines to the same target should be joined, but only with the lines right behind them
+        final InOrder order = inOrder(this.client);
+        order.verify(this.client).sendMessage("#cah", "1. Dave" + OutboundQueue.SEPARATOR + "2. Mike");
+        order.verify(this.client).sendMessage("#other", "3. Joe");
+        order.verify(this.client).sendMessage("#cah", "not packed");
+        order.verify(this.client).sendMessage("#cah", "4. Ribbit");
+    }
+
+    @Test
+    public void testPackingLimit() throws Exception {
+        final int maxBytes = OutboundQueue.getMaxTextBytes("PRIVMSG", "#cah");
+        final char[] half = new char[maxBytes / 2];
+        Arrays.fill(half, 'a');
+        final String line = new String(half);
+        this.queue.sendPackedMessages("#cah", Arrays.asList(line, line), Priority.NORMAL);
+        assertTrue(this.queue.sendNext());
+        // Two halves and a separator do not fit in one line
+        assertEquals(1, this.queue.getQueueDepth());
+    }
+
+    @Test
+    public void testPriority() throws Exception {
+        this.queue.sendMessage("#cah", "cosmetic", Priority.COSMETIC);
+        this.queue.sendMessage("#cah", "normal", Priority.NORMAL);
+        this.queue.sendNotice("jkcclemens", "critical", Priority.CRITICAL);
+        this.queue.sendMessage("#cah", "normal again", Priority.NORMAL);
+        assertEquals(2, this.queue.getQueueDepth(Priority.NORMAL));
+        for (int i = 0; i < 4; i++) {
+            this.ticker.advance(1L, TimeUnit.SECONDS);
+            assertTrue(this.queue.sendNext());
+        }
+        // Higher priorities should go first, and the same priority in order
+        final InOrder order = inOrder(this.client);
+        order.verify(this.client).sendNotice("jkcclemens", "critical");
+        order.verify(this.client).sendMessage("#cah", "normal");
+        order.verify(this.client).sendMessage("#cah", "normal again");
+        order.verify(this.client).sendMessage("#cah", "cosmetic");
+    }
+
+    @Test
+    public void testGetMaxTextBytes() throws Exception {
+        // "PRIVMSG #cah :" and CRLF take 16 bytes, on top of the prefix reserve
+        assertEquals(OutboundQueue.LINE_LIMIT - OutboundQueue.PREFIX_RESERVE - 16, OutboundQueue.getMaxTextBytes("PRIVMSG", "#cah"));
+    }
+
+    @Test
+    public void testSplit() throws Exception {
+        // Short text should not be split
+        assertEquals(Collections.singletonList("short"), OutboundQueue.split("short", 10));
+        // Long text should be split at spaces
+        assertEquals(Arrays.asList("the quick", "brown fox", "jumps"), OutboundQueue.split("the quick brown fox jumps", 10));
+        // A word longer than the limit should be split inside the word
+        assertEquals(Arrays.asList("abcd", "efgh"), OutboundQueue.split("abcdefgh", 4));
+    }
+
+    @Test
+    public void testSplitMultibyte() throws Exception {
+        final String text = "\u00e9\u00e9\u00e9\u00e9\u00e9";
+        final List<String> pieces = OutboundQueue.split(text, 4);
+        // Every piece should fit, and no character should be cut in half
+        for (final String piece : pieces) {
+            assertTrue(piece.getBytes(StandardCharsets.UTF_8).length <= 4);
+        }
+        assertEquals(text, String.join("", pieces));
+    }
+
+    @Test
+    public void testSplitFormatted() throws Exception {
+        // Text without bold should be split as usual
+        assertEquals(Arrays.asList("the quick", "brown fox"), OutboundQueue.splitFormatted("the quick brown fox", 10));
+        // Bold that runs over a split should be started again on the next piece
+        assertEquals(Arrays.asList("\u0002the", "\u0002quick", "\u0002brown\u0002 fox"), OutboundQueue.splitFormatted("\u0002the quick brown\u0002 fox", 11));
+        // Bold that ended before the split should not be
+        assertEquals(Arrays.asList("\u0002the\u000f", "quick", "brown fox"), OutboundQueue.splitFormatted("\u0002the\u000f quick brown fox", 12));
+        for (final String piece : OutboundQueue.splitFormatted("\u0002the quick brown fox jumps", 6)) {
+            assertTrue(piece.getBytes(StandardCharsets.UTF_8).length <= 6);
+        }
+    }
+
+    private static final class FakeTicker extends Ticker {
+
+        private long nanos = 0L;
+
+        private void advance(final long time, final TimeUnit unit) {
+            this.nanos += unit.toNanos(time);
+        }
+
+        @Override
+        public long read() {
+            return this.nanos;
+        }
+    }
+}
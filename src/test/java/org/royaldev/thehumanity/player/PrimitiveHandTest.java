@@ -0,0 +1,99 @@
+package org.royaldev.thehumanity.player;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.CardHelper;
+import org.royaldev.thehumanity.cards.CardRegistry;
+import org.royaldev.thehumanity.cards.types.WhiteCard;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class PrimitiveHandTest {
+
+    private PrimitiveHand<WhiteCard> hand;
+
+    private List<WhiteCard> makeCards(final String... texts) {
+        return CardHelper.makeWhiteCards(texts).stream().map(CardRegistry::register).collect(Collectors.toList());
+    }
+
+    @Before
+    public void setUp() throws Exception {
+        this.hand = new PrimitiveHand<>(4);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.hand = null;
+    }
+
+    @Test
+    public void testAddCard() throws Exception {
+        // Make and add a card
+        final WhiteCard wc = CardRegistry.register(CardHelper.makeWhiteCard("PrimitiveHand addCard"));
+        this.hand.addCard(wc);
+        // The hand should hold the card's ID
+        assertEquals(wc.getID(), this.hand.getCardID(0));
+        // The card should be found again, and be the same instance
+        assertSame(0, this.hand.indexOf(wc));
+        assertSame(wc, this.hand.getCard(0));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddCardFull() throws Exception {
+        // Fill the hand past its capacity
+        this.hand.addCards(this.makeCards("Full 1", "Full 2", "Full 3", "Full 4", "Full 5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddCardUnregistered() throws Exception {
+        // Cards must be registered before they are added
+        this.hand.addCard(CardHelper.makeWhiteCard("PrimitiveHand unregistered"));
+    }
+
+    @Test
+    public void testAddCardsFromHand() throws Exception {
+        // Make and add some cards
+        final List<WhiteCard> cards = this.makeCards("Copy 1", "Copy 2", "Copy 3");
+        this.hand.addCards(cards);
+        // Copy the hand into another hand
+        final PrimitiveHand<WhiteCard> other = new PrimitiveHand<>();
+        other.addCards(this.hand);
+        // The cards should match
+        assertEquals(cards, other.getCards());
+        assertSame(cards.get(0), other.getCard(0));
+    }
+
+    @Test
+    public void testCopyCardIDs() throws Exception {
+        // Make and add some cards
+        final List<WhiteCard> cards = this.makeCards("IDs 1", "IDs 2");
+        this.hand.addCards(cards);
+        // Copy the IDs out
+        final int[] ids = new int[this.hand.getCapacity()];
+        assertSame(2, this.hand.copyCardIDs(ids));
+        // The IDs should be in order
+        assertEquals(cards.get(0).getID(), ids[0]);
+        assertEquals(cards.get(1).getID(), ids[1]);
+    }
+
+    @Test
+    public void testRemoveCardIDs() throws Exception {
+        // Make and add some cards
+        final List<WhiteCard> cards = this.makeCards("Remove 1", "Remove 2", "Remove 3");
+        this.hand.addCards(cards);
+        // Remove the first and last cards
+        assertTrue(this.hand.removeCardIDs(cards.get(0).getID(), cards.get(2).getID()));
+        // Only the middle card should be left
+        assertSame(1, this.hand.getSize());
+        assertEquals(cards.get(1), this.hand.getCard(0));
+        // Removing them again should change nothing
+        assertFalse(this.hand.removeCardIDs(cards.get(0).getID(), cards.get(2).getID()));
+    }
+}
@@ -0,0 +1,40 @@
+package org.royaldev.thehumanity.server.controllers;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class ResponseCacheTest {
+
+    @Test
+    public void testMatches() throws Exception {
+        final String etag = "\"abc\"";
+        // No header should never match
+        assertFalse(ResponseCache.matches(null, etag));
+        // The same tag should match, even among others or as a weak validator
+        assertTrue(ResponseCache.matches("\"abc\"", etag));
+        assertTrue(ResponseCache.matches("\"xyz\", \"abc\"", etag));
+        assertTrue(ResponseCache.matches("W/\"abc\"", etag));
+        assertTrue(ResponseCache.matches("*", etag));
+        // Other tags should not match
+        assertFalse(ResponseCache.matches("\"abd\"", etag));
+    }
+
+    @Test
+    public void testPut() throws Exception {
+        final ResponseCache rc = new ResponseCache(1024L);
+        final ResponseCache.Entry entry = rc.put("#cah:1", "{\"rounds\":5}");
+        // The entry should be cached under its key
+        assertSame(entry, rc.get("#cah:1"));
+        assertNull(rc.get("#cah:2"));
+        // The same body should get the same tag, and a different body a different tag
+        assertEquals(entry.getETag(), rc.put("#cah:2", "{\"rounds\":5}").getETag());
+        assertNotEquals(entry.getETag(), rc.put("#cah:3", "{\"rounds\":6}").getETag());
+        assertTrue(entry.getETag().startsWith("\"") && entry.getETag().endsWith("\""));
+    }
+}
@@ -0,0 +1,91 @@
+package org.royaldev.thehumanity.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.royaldev.thehumanity.util.HashedWheelTimer.Timeout;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HashedWheelTimerTest {
+
+    private HashedWheelTimer timer;
+
+    @Before
+    public void setUp() throws Exception {
+        // A small wheel makes timeouts wrap around it more than once
+        this.timer = new HashedWheelTimer("HashedWheelTimerTest", 10L, TimeUnit.MILLISECONDS, 8, Logger.getAnonymousLogger());
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.timer.stop();
+        this.timer = null;
+    }
+
+    @Test
+    public void testCancel() throws Exception {
+        final AtomicInteger runs = new AtomicInteger();
+        final Timeout t = this.timer.schedule(runs::incrementAndGet, 100L, TimeUnit.MILLISECONDS);
+        // The first cancel should succeed, and the second should not
+        assertTrue(t.cancel());
+        assertFalse(t.cancel());
+        assertTrue(t.isCancelled());
+        Thread.sleep(250L);
+        // The task should never have run
+        assertEquals(0, runs.get());
+    }
+
+    @Test
+    public void testLag() throws Exception {
+        final CountDownLatch runs = new CountDownLatch(5);
+        for (int i = 0; i < 5; i++) this.timer.schedule(runs::countDown, 20L * i, TimeUnit.MILLISECONDS);
+        assertTrue(runs.await(5L, TimeUnit.SECONDS));
+        // Every timeout should be counted, and no average can be above the maximum
+        assertEquals(5L, this.timer.getFiredTimeouts());
+        assertTrue(this.timer.getAverageLag(TimeUnit.NANOSECONDS) <= this.timer.getMaxLag(TimeUnit.NANOSECONDS));
+    }
+
+    @Test
+    public void testSchedule() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        final long start = System.nanoTime();
+        final Timeout t = this.timer.schedule(done::countDown, 200L, TimeUnit.MILLISECONDS);
+        // The task should run, but not before its delay
+        assertTrue(done.await(5L, TimeUnit.SECONDS));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) >= 200L);
+        // A fired timeout should be done but not cancelled
+        assertTrue(t.isDone());
+        assertFalse(t.isCancelled());
+    }
+
+    @Test
+    public void testScheduleAtFixedRate() throws Exception {
+        final CountDownLatch runs = new CountDownLatch(3);
+        final AtomicInteger count = new AtomicInteger();
+        final Timeout t = this.timer.scheduleAtFixedRate(() -> {
+            count.incrementAndGet();
+            runs.countDown();
+        }, 0L, 30L, TimeUnit.MILLISECONDS);
+        // The task should run repeatedly
+        assertTrue(runs.await(5L, TimeUnit.SECONDS));
+        // Fixed rate timeouts stay scheduled until cancelled
+        assertFalse(t.isDone());
+        assertTrue(t.cancel());
+        // Once cancelled, they should be done and not run again
+        assertTrue(t.isDone());
+        assertTrue(t.isCancelled());
+        assertFalse(t.cancel());
+        Thread.sleep(50L);
+        final int after = count.get();
+        Thread.sleep(150L);
+        assertEquals(after, count.get());
+    }
+}
@@ -0,0 +1,53 @@
+package org.royaldev.thehumanity.util;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class NickMatcherTest {
+
+    @Test
+    public void testAntiPing() throws Exception {
+        final NickMatcher nm = NickMatcher.of(Arrays.asList("Dave", "Mike", "X"));
+        // Every nick longer than one character should be split after its first character
+        assertEquals("D\u200bave and M\u200bike and X", nm.antiPing("Dave and Mike and X"));
+        // A message without nicks should be returned as-is
+        final String message = "Nobody here";
+        assertSame(message, nm.antiPing(message));
+    }
+
+    @Test
+    public void testAntiPingOverlapping() throws Exception {
+        final NickMatcher nm = NickMatcher.of(Arrays.asList("bob", "obi", "bo"));
+        // Every occurrence should be split, even when nicks overlap
+        assertEquals("b\u200bo\u200bbi", nm.antiPing("bobi"));
+    }
+
+    @Test
+    public void testIgnoreCase() throws Exception {
+        final NickMatcher nm = NickMatcher.of(Arrays.asList("Dave", "Mike"));
+        // Nicks should be found in any case, and keep the case of the message
+        assertEquals("d\u200bave and M\u200bIKE", nm.antiPing("dave and MIKE"));
+        assertTrue(nm.contains("DAVE"));
+        // Adding a nick in another case should change nothing
+        assertSame(nm, nm.with("mike"));
+        // Removing a nick in another case should remove it
+        final NickMatcher without = nm.without("dave");
+        assertFalse(without.contains("Dave"));
+        assertEquals("Dave", without.antiPing("Dave"));
+    }
+
+    @Test
+    public void testWithAndWithout() throws Exception {
+        final NickMatcher nm = NickMatcher.of(Arrays.asList("Dave", "Mike")).with("Bob").without("Mike");
+        // Added nicks should be split and removed ones left alone
+        assertEquals("D\u200bave Mike B\u200bob", nm.antiPing("Dave Mike Bob"));
+        // Removing a nick that is not there should return the same matcher
+        assertSame(nm, nm.without("Mike"));
+    }
+}
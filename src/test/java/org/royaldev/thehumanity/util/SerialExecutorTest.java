@@ -0,0 +1,85 @@
+package org.royaldev.thehumanity.util;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class SerialExecutorTest {
+
+    private ExecutorService pool;
+    private SerialExecutor executor;
+
+    @Before
+    public void setUp() throws Exception {
+        this.pool = Executors.newFixedThreadPool(4);
+        final Logger logger = Logger.getAnonymousLogger();
+        logger.setUseParentHandlers(false);
+        this.executor = new SerialExecutor(this.pool, logger);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        this.pool.shutdownNow();
+        this.pool = null;
+        this.executor = null;
+    }
+
+    @Test
+    public void testExecuteInOrder() throws Exception {
+        final int tasks = SerialExecutor.BATCH_SIZE * 4;
+        final List<Integer> order = Collections.synchronizedList(new ArrayList<>());
+        final CountDownLatch done = new CountDownLatch(tasks);
+        for (int i = 0; i < tasks; i++) {
+            final int number = i;
+            this.executor.execute(() -> {
+                order.add(number);
+                done.countDown();
+            });
+        }
+        // Every task should run
+        assertTrue(done.await(10L, TimeUnit.SECONDS));
+        // The tasks should have run in the order they were queued
+        for (int i = 0; i < tasks; i++) {
+            assertEquals(i, order.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testFailingTask() throws Exception {
+        final CountDownLatch done = new CountDownLatch(1);
+        this.executor.execute(() -> {
+            throw new IllegalStateException("Expected");
+        });
+        this.executor.execute(done::countDown);
+        // A failing task should not stop the ones after it
+        assertTrue(done.await(10L, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testIsInExecutor() throws Exception {
+        final boolean[] inside = new boolean[1];
+        final CountDownLatch done = new CountDownLatch(1);
+        this.executor.execute(() -> {
+            inside[0] = this.executor.isInExecutor();
+            done.countDown();
+        });
+        assertTrue(done.await(10L, TimeUnit.SECONDS));
+        // Tasks should see that they are in the executor
+        assertTrue(inside[0]);
+        // The test thread should not
+        assertFalse(this.executor.isInExecutor());
+    }
+}
@@ -0,0 +1,35 @@
+package org.royaldev.thehumanity.util.json;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.junit.Test;
+import org.royaldev.thehumanity.game.GameSnapshot.Timestamps;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class JSONMapperTest {
+
+    @Test
+    public void testGetReader() throws Exception {
+        // Readers should be shared per type
+        assertSame(JSONMapper.getReader(Timestamps.class), JSONMapper.getReader(Timestamps.class));
+        final Timestamps t = JSONMapper.getReader(Timestamps.class).readValue("{\"started\":1,\"ended\":2}");
+        assertEquals(2L, t.getEnded());
+    }
+
+    @Test
+    public void testMakeWriter() throws Exception {
+        final ObjectWriter writer = JSONMapper.makeWriter(Timestamps.class, TimestampsMixIn.class);
+        // The mix-in should apply to its own writer
+        assertEquals("{\"started\":1}", writer.writeValueAsString(new Timestamps(1L, 2L)));
+        // The shared writer should be left alone
+        assertEquals("{\"started\":1,\"ended\":2}", JSONMapper.getWriter().writeValueAsString(new Timestamps(1L, 2L)));
+    }
+
+    private interface TimestampsMixIn {
+
+        @JsonIgnore
+        long getEnded();
+    }
+}